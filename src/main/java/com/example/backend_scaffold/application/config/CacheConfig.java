@@ -1,15 +1,34 @@
 package com.example.backend_scaffold.application.config;
 
+import com.example.backend_scaffold.application.service.CacheWarmUpService;
+import com.example.backend_scaffold.infrastructure.cache.SpecCaffeineCacheManager;
+import com.example.backend_scaffold.infrastructure.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 缓存配置类
  * <p>
- * 配置Spring缓存功能，提供缓存管理器
+ * 配置Spring缓存功能，提供缓存管理器和缓存预热的就绪检查
  * </p>
  *
  * @author example
@@ -18,27 +37,76 @@ import org.springframework.context.annotation.Configuration;
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * 缓存管理器Bean名称，同时用作指标中的缓存管理器名称
+     */
+    public static final String CACHE_MANAGER = "cacheManager";
+
+    /**
+     * 未配置cache.default-spec时使用的默认规格
+     */
+    private static final String DEFAULT_SPEC = "maximumSize=1000,expireAfterWrite=10m";
+
+    /**
+     * 一级缓存未配置expireAfterWrite时二级缓存条目的默认存活时间
+     */
+    private static final Duration DEFAULT_REDIS_TTL = Duration.ofMinutes(30);
+
     /**
      * 缓存管理器
      * <p>
-     * 使用ConcurrentMapCacheManager作为默认的缓存管理器
-     * 在生产环境中，可以替换为Redis或其他分布式缓存
+     * 使用容量受限、按访问频率淘汰的Caffeine缓存，
+     * 每个缓存的规格通过cache.specs.&lt;缓存名称&gt;配置，其余缓存使用cache.default-spec。
+     * 配置中列出的缓存在启动时创建，与@Cacheable注解中的value对应。
+     * 启用Redis（cluster.redis.enabled=true）时Caffeine缓存作为一级近端缓存，Redis作为二级缓存，
+     * 节点间通过发布/订阅同步失效；cache.redis.local-only中列出的缓存不写入Redis
      * </p>
      *
+     * @param environment       环境配置
+     * @param meterRegistry     指标注册表
+     * @param connectionFactory Redis连接工厂
+     * @param redisTemplate     Redis模板
+     * @param listenerContainer 消息监听容器
      * @return 缓存管理器
      */
+    @Bean(CACHE_MANAGER)
+    public CacheManager cacheManager(Environment environment, MeterRegistry meterRegistry,
+                                     ObjectProvider<RedisConnectionFactory> connectionFactory,
+                                     ObjectProvider<StringRedisTemplate> redisTemplate,
+                                     ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        Binder binder = Binder.get(environment);
+        Map<String, String> specs = binder
+                .bind("cache.specs", Bindable.mapOf(String.class, String.class))
+                .map(bound -> (Map<String, String>) new LinkedHashMap<>(bound))
+                .orElse(Collections.emptyMap());
+        String defaultSpec = environment.getProperty("cache.default-spec", DEFAULT_SPEC);
+        SpecCaffeineCacheManager localCacheManager =
+                new SpecCaffeineCacheManager(defaultSpec, specs, meterRegistry, CACHE_MANAGER);
+        if (!environment.getProperty("cluster.redis.enabled", Boolean.class, false)) {
+            return localCacheManager;
+        }
+        Set<String> localOnlyCaches = binder.bind("cache.redis.local-only", Bindable.setOf(String.class))
+                .orElse(Collections.emptySet());
+        Duration defaultTtl = binder.bind("cache.redis.default-ttl", Duration.class).orElse(DEFAULT_REDIS_TTL);
+        return new TwoTierCacheManager(localCacheManager,
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory.getObject()),
+                localOnlyCaches, defaultTtl, redisTemplate.getObject(), listenerContainer.getObject());
+    }
+
+    /**
+     * 缓存预热健康检查
+     * <p>
+     * 预热结束（完成或超出时间预算）之前报告OUT_OF_SERVICE，
+     * 通过management.endpoint.health.group.readiness.include加入就绪探针
+     * </p>
+     *
+     * @param cacheWarmUpService 缓存预热服务
+     * @return 健康检查
+     */
     @Bean
-    public CacheManager cacheManager() {
-        // 创建基于ConcurrentMap的缓存管理器
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        
-        // 设置缓存名称，与@Cacheable注解中的value对应
-        cacheManager.setCacheNames(java.util.Arrays.asList(
-            "users", 
-            "roles", 
-            "permissions"
-        ));
-        
-        return cacheManager;
+    public HealthIndicator cacheWarmUpHealthIndicator(CacheWarmUpService cacheWarmUpService) {
+        return () -> (cacheWarmUpService.isFinished() ? Health.up() : Health.outOfService())
+                .withDetails(cacheWarmUpService.getDetails())
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.example.backend_scaffold.application.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis配置类
+ * <p>
+ * 多节点部署时，各节点通过Redis共享黑名单、二级缓存等状态，并通过发布/订阅互相通知。
+ * 仅在cluster.redis.enabled=true时启用，单节点部署无需Redis。
+ * </p>
+ *
+ * @author example
+ */
+@Configuration
+@ConditionalOnProperty(name = "cluster.redis.enabled", havingValue = "true")
+public class RedisConfig {
+
+    /**
+     * Redis消息监听容器
+     * <p>
+     * 各组件在初始化时向该容器注册自己关心的频道
+     * </p>
+     *
+     * @param connectionFactory Redis连接工厂
+     * @return 消息监听容器
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.backend_scaffold.application.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置类
+ * <p>
+ * 启用Spring定时任务，用于黑名单过滤器重建等周期性维护工作
+ * </p>
+ *
+ * @author example
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
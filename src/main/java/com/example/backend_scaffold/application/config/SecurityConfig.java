@@ -1,19 +1,29 @@
 package com.example.backend_scaffold.application.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.ExceptionTranslationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.example.backend_scaffold.infrastructure.security.BoundedPasswordEncoder;
+import com.example.backend_scaffold.infrastructure.security.CalibratedPasswordEncoder;
+import com.example.backend_scaffold.infrastructure.security.CustomPermissionEvaluator;
+import com.example.backend_scaffold.infrastructure.security.DynamicUrlAuthorizationFilter;
 import com.example.backend_scaffold.infrastructure.security.JwtAuthenticationFilter;
+import com.example.backend_scaffold.infrastructure.security.PasswordEncoderCalibration;
 
 /**
  * 安全配置类
@@ -28,17 +38,68 @@ import com.example.backend_scaffold.infrastructure.security.JwtAuthenticationFil
 @EnableMethodSecurity(securedEnabled = true, jsr250Enabled = true)
 public class SecurityConfig {
 
+    /**
+     * 密码编码器校准结果
+     * <p>
+     * 启动时测量BCrypt各强度的耗时，选取满足目标耗时的强度；目标耗时不大于0时直接使用最低强度
+     * </p>
+     *
+     * @param targetMillis 单次哈希的目标耗时（毫秒）
+     * @param minStrength  最低强度
+     * @param maxStrength  最高强度
+     * @return 校准结果
+     */
+    @Bean
+    public PasswordEncoderCalibration passwordEncoderCalibration(
+            @Value("${security.password.target-millis:250}") long targetMillis,
+            @Value("${security.password.min-strength:10}") int minStrength,
+            @Value("${security.password.max-strength:16}") int maxStrength) {
+        if (targetMillis <= 0) {
+            return PasswordEncoderCalibration.fixed(minStrength);
+        }
+        return PasswordEncoderCalibration.run(targetMillis, minStrength, maxStrength);
+    }
+
     /**
      * 密码编码器
      * <p>
-     * 使用BCrypt算法进行密码加密
+     * 使用校准强度的BCrypt算法进行密码加密，哈希在专用的有界线程池中执行，
+     * 避免登录高峰占满请求线程
      * </p>
      *
+     * @param calibration   校准结果
+     * @param threads       并发哈希数上限，不大于0时使用CPU核数
+     * @param queueCapacity 等待队列容量
+     * @param timeoutMillis 等待结果的最长时间（毫秒）
+     * @param meterRegistry 指标注册表
      * @return 密码编码器
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            PasswordEncoderCalibration calibration,
+            @Value("${security.password.hashing.threads:0}") int threads,
+            @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.hashing.timeout:5000}") long timeoutMillis,
+            MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new CalibratedPasswordEncoder(calibration), poolSize, queueCapacity, timeoutMillis, meterRegistry);
+    }
+
+    /**
+     * 方法安全表达式处理器
+     * <p>
+     * 使@PreAuthorize中的hasPermission表达式由自定义权限评估器处理；
+     * 评估器延迟注入，避免其依赖的仓储在后置处理器就绪前被提前创建
+     * </p>
+     *
+     * @param permissionEvaluator 权限评估器
+     * @return 方法安全表达式处理器
+     */
+    @Bean
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(@Lazy CustomPermissionEvaluator permissionEvaluator) {
+        DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+        handler.setPermissionEvaluator(permissionEvaluator);
+        return handler;
     }
 
     /**
@@ -61,13 +122,21 @@ public class SecurityConfig {
      */
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    /**
+     * 动态URL授权过滤器
+     */
+    private final DynamicUrlAuthorizationFilter dynamicUrlAuthorizationFilter;
+
     /**
      * 构造函数
      *
-     * @param jwtAuthenticationFilter JWT认证过滤器
+     * @param jwtAuthenticationFilter       JWT认证过滤器
+     * @param dynamicUrlAuthorizationFilter 动态URL授权过滤器
      */
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          DynamicUrlAuthorizationFilter dynamicUrlAuthorizationFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.dynamicUrlAuthorizationFilter = dynamicUrlAuthorizationFilter;
     }
     
     /**
@@ -102,6 +171,8 @@ public class SecurityConfig {
         
         // 添加JWT过滤器
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // 按权限表中的API权限进行URL授权，拒绝访问的异常由ExceptionTranslationFilter处理
+        http.addFilterAfter(dynamicUrlAuthorizationFilter, ExceptionTranslationFilter.class);
 
         return http.build();
     }
@@ -29,6 +29,16 @@ public class AuthResponse {
      */
     private String tokenType;
 
+    /**
+     * 访问令牌有效期（秒）
+     */
+    private Long expiresIn;
+
+    /**
+     * 刷新令牌，不透明且只能使用一次，每次刷新都会返回新的刷新令牌
+     */
+    private String refreshToken;
+
     /**
      * 用户ID
      */
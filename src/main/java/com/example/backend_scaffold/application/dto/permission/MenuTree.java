@@ -0,0 +1,36 @@
+package com.example.backend_scaffold.application.dto.permission;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 菜单树DTO
+ * <p>
+ * 用户可见的菜单和按钮权限树及其实体标签，构建后缓存并在拥有相同权限的用户之间共享，不应修改
+ * </p>
+ *
+ * @author example
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuTree implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 根菜单列表，子菜单和按钮在children中
+     */
+    private List<PermissionResponse> menus;
+
+    /**
+     * 强实体标签，由菜单树内容计算，带双引号
+     */
+    private String etag;
+}
@@ -0,0 +1,61 @@
+package com.example.backend_scaffold.application.dto.permission;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量权限检查请求DTO
+ * <p>
+ * 可同时按权限编码和按（目标类型，操作）检查，后者与@PreAuthorize中的hasPermission表达式规则一致，
+ * 例如（user，read）对应权限编码user:read
+ * </p>
+ *
+ * @author example
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionCheckRequest {
+
+    /**
+     * 权限编码列表
+     */
+    @Size(max = 500, message = "一次最多检查500个权限")
+    private List<String> permissions;
+
+    /**
+     * 目标类型和操作列表
+     */
+    @Valid
+    @Size(max = 500, message = "一次最多检查500个权限")
+    private List<Target> targets;
+
+    /**
+     * 目标类型和操作
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Target {
+
+        /**
+         * 目标类型，例如user
+         */
+        @NotBlank(message = "目标类型不能为空")
+        private String targetType;
+
+        /**
+         * 操作，例如read
+         */
+        @NotBlank(message = "操作不能为空")
+        private String permission;
+    }
+}
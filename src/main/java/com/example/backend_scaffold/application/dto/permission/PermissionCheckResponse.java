@@ -0,0 +1,30 @@
+package com.example.backend_scaffold.application.dto.permission;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 批量权限检查响应DTO
+ *
+ * @author example
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionCheckResponse {
+
+    /**
+     * 权限编码到检查结果的映射，按请求顺序排列，目标类型和操作按其对应的权限编码给出
+     */
+    private Map<String, Boolean> decisions;
+
+    /**
+     * 检查结果位图，URL安全的Base64编码；第N位表示请求中第N项（先permissions后targets）是否通过
+     */
+    private String bitmap;
+}
@@ -1,9 +1,11 @@
 package com.example.backend_scaffold.application.exception;
 
+import com.example.backend_scaffold.infrastructure.security.PasswordHashingRejectedException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -130,6 +132,31 @@ public class GlobalExceptionHandler {
                 .build();
     }
 
+    /**
+     * 处理密码哈希拒绝异常
+     * <p>
+     * 密码哈希线程池已满时快速返回503，并提示客户端稍后重试
+     * </p>
+     *
+     * @param ex      密码哈希拒绝异常
+     * @param request HTTP请求
+     * @return 错误响应
+     */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ApiError> handlePasswordHashingRejectedException(PasswordHashingRejectedException ex,
+                                                                           HttpServletRequest request) {
+        log.warn("Password hashing rejected: {}", ex.getMessage());
+        ApiError apiError = ApiError.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message("Service busy, please retry later")
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(apiError);
+    }
+
     /**
      * 处理参数校验异常
      *
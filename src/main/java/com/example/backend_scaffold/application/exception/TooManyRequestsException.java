@@ -0,0 +1,28 @@
+package com.example.backend_scaffold.application.exception;
+
+/**
+ * 请求过多异常类
+ * <p>
+ * 用于表示请求频率超过限制的异常
+ * </p>
+ *
+ * @author example
+ */
+public class TooManyRequestsException extends BusinessException {
+
+    /**
+     * 构造函数
+     */
+    public TooManyRequestsException() {
+        super(429, "Too many requests");
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param message 错误消息
+     */
+    public TooManyRequestsException(String message) {
+        super(429, message);
+    }
+}
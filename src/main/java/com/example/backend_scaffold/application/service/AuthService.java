@@ -6,6 +6,8 @@ import com.example.backend_scaffold.application.dto.auth.PasswordChangeRequest;
 import com.example.backend_scaffold.application.dto.auth.RegisterRequest;
 import com.example.backend_scaffold.application.dto.user.UserResponse;
 
+import java.util.Date;
+
 /**
  * 认证服务接口
  * <p>
@@ -43,16 +45,21 @@ public interface AuthService {
 
     /**
      * 刷新令牌
+     * <p>
+     * 使用刷新令牌换取新的访问令牌，刷新令牌随之轮换；已轮换的刷新令牌再次使用时撤销其所在的整个令牌族
+     * </p>
      *
      * @param refreshToken 刷新令牌
-     * @return 新的认证响应DTO
+     * @return 新的认证响应DTO，包含新的刷新令牌
      */
     AuthResponse refreshToken(String refreshToken);
 
     /**
-     * 登出
+     * 登出，同时撤销该用户的所有刷新令牌
      *
-     * @param username 用户名
+     * @param username   用户名
+     * @param token      当前请求使用的访问令牌，可为null
+     * @param expiration 访问令牌的过期时间，为null时从令牌中解析
      */
-    void logout(String username);
+    void logout(String username, String token, Date expiration);
 }
\ No newline at end of file
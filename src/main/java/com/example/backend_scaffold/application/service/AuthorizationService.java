@@ -0,0 +1,24 @@
+package com.example.backend_scaffold.application.service;
+
+import com.example.backend_scaffold.application.dto.permission.PermissionCheckRequest;
+import com.example.backend_scaffold.application.dto.permission.PermissionCheckResponse;
+
+/**
+ * 授权服务接口
+ * <p>
+ * 提供批量判断用户是否拥有权限的功能
+ * </p>
+ *
+ * @author example
+ */
+public interface AuthorizationService {
+
+    /**
+     * 批量检查用户权限，每次调用只解析一次用户的权限集合
+     *
+     * @param userId  用户ID
+     * @param request 批量权限检查请求DTO
+     * @return 批量权限检查响应DTO
+     */
+    PermissionCheckResponse checkPermissions(Long userId, PermissionCheckRequest request);
+}
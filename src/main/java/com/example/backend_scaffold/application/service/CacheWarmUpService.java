@@ -0,0 +1,34 @@
+package com.example.backend_scaffold.application.service;
+
+import java.util.Map;
+
+/**
+ * 缓存预热服务接口
+ * <p>
+ * 应用启动后并行预加载角色、权限、角色权限映射和最近活跃用户的权限集合，
+ * 避免部署后最初的请求全部未命中缓存而同时访问数据库
+ * </p>
+ *
+ * @author example
+ */
+public interface CacheWarmUpService {
+
+    /**
+     * 开始预热，立即返回，重复调用不会重新预热
+     */
+    void warmUp();
+
+    /**
+     * 预热是否已结束：全部完成、超出时间预算或未启用预热
+     *
+     * @return 是否已结束
+     */
+    boolean isFinished();
+
+    /**
+     * 获取预热状态和各阶段已预热的条目数
+     *
+     * @return 预热详情
+     */
+    Map<String, Object> getDetails();
+}
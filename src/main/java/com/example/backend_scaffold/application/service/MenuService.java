@@ -0,0 +1,22 @@
+package com.example.backend_scaffold.application.service;
+
+import com.example.backend_scaffold.application.dto.permission.MenuTree;
+
+/**
+ * 菜单服务接口
+ * <p>
+ * 提供按用户权限过滤的菜单树
+ * </p>
+ *
+ * @author example
+ */
+public interface MenuService {
+
+    /**
+     * 获取用户的菜单树
+     *
+     * @param userId 用户ID
+     * @return 用户拥有的已启用菜单和按钮权限组成的树，同级按排序号排列
+     */
+    MenuTree getMenuTree(Long userId);
+}
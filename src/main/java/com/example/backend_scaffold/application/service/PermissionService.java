@@ -82,6 +82,14 @@ public interface PermissionService {
      */
     List<PermissionResponse> getPermissionsByParentId(Long parentId);
 
+    /**
+     * 查询权限树
+     *
+     * @param rootId 根权限ID，为null时返回整棵权限树
+     * @return 根权限响应DTO列表，子权限在children中
+     */
+    List<PermissionResponse> getPermissionTree(Long rootId);
+
     /**
      * 删除权限
      *
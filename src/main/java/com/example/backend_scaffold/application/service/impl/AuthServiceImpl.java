@@ -10,10 +10,18 @@ import com.example.backend_scaffold.application.exception.EntityNotFoundExceptio
 import com.example.backend_scaffold.application.exception.UnauthorizedException;
 import com.example.backend_scaffold.application.mapper.UserMapper;
 import com.example.backend_scaffold.application.service.AuthService;
+import com.example.backend_scaffold.domain.model.entity.RefreshTokenEntity;
 import com.example.backend_scaffold.domain.model.entity.UserEntity;
 import com.example.backend_scaffold.domain.model.enums.UserStatus;
+import com.example.backend_scaffold.domain.service.RefreshTokenDomainService;
 import com.example.backend_scaffold.domain.service.UserDomainService;
+import com.example.backend_scaffold.infrastructure.security.AuthenticatedUser;
+import com.example.backend_scaffold.infrastructure.security.AuthorizationVersionService;
 import com.example.backend_scaffold.infrastructure.security.JwtTokenProvider;
+import com.example.backend_scaffold.infrastructure.security.TokenDigest;
+import com.example.backend_scaffold.infrastructure.security.TokenRevocationService;
+import com.example.backend_scaffold.infrastructure.security.VerifiedTokenCache;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,6 +33,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -45,6 +56,10 @@ public class AuthServiceImpl implements AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDomainService userDomainService;
     private final UserMapper userMapper;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenDomainService refreshTokenDomainService;
+    private final AuthorizationVersionService authorizationVersionService;
 
     @Override
     public AuthResponse login(AuthRequest authRequest) {
@@ -68,9 +83,24 @@ public class AuthServiceImpl implements AuthService {
             // 生成JWT令牌
             String token = jwtTokenProvider.createToken(authentication);
 
-            // 获取用户信息
-            UserEntity userEntity = userDomainService.findByUsername(authRequest.getUsername())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found with username: " + authRequest.getUsername()));
+            // 获取用户信息，认证主体已携带用户ID时无需再查询
+            Long userId;
+            String username;
+            if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+                userId = principal.getId();
+                username = principal.getUsername();
+            } else {
+                UserEntity userEntity = userDomainService.findByUsername(authRequest.getUsername())
+                        .orElseThrow(() -> new EntityNotFoundException("User not found with username: " + authRequest.getUsername()));
+                userId = userEntity.getId();
+                username = userEntity.getUsername();
+            }
+
+            // 记录最后登录时间，缓存预热按该时间挑选最近活跃的用户
+            recordLogin(userId);
+
+            // 签发新令牌族中的第一个刷新令牌
+            String refreshToken = issueRefreshToken(userId, username, null);
 
             log.info("User login successful: {}", authRequest.getUsername());
 
@@ -78,8 +108,10 @@ public class AuthServiceImpl implements AuthService {
             return AuthResponse.builder()
                     .token(token)
                     .tokenType("Bearer")
-                    .userId(userEntity.getId())
-                    .username(userEntity.getUsername())
+                    .expiresIn(jwtTokenProvider.getTokenValidityInMilliseconds() / 1000)
+                    .refreshToken(refreshToken)
+                    .userId(userId)
+                    .username(username)
                     .roles(roles)
                     .build();
         } catch (AuthenticationException e) {
@@ -154,50 +186,139 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public AuthResponse refreshToken(String refreshToken) {
-        // 这里简化实现，实际应该使用专门的刷新令牌
         log.info("Token refresh attempt");
 
-        // 验证令牌
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
+        // 按摘要查找刷新令牌，服务端不保存令牌明文
+        RefreshTokenEntity current = refreshTokenDomainService.findByTokenHash(TokenDigest.of(refreshToken))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        if (Boolean.TRUE.equals(current.getRevoked()) || current.isExpired(LocalDateTime.now())) {
             throw new UnauthorizedException("Invalid refresh token");
         }
 
-        // 获取用户名
-        String username = jwtTokenProvider.getUsername(refreshToken);
-
-        // 获取用户
-        UserEntity userEntity = userDomainService.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with username: " + username));
-
-        // 获取用户角色
-        List<Long> roleIds = userDomainService.getUserRoleIds(userEntity.getId());
-        List<String> roles = roleIds.stream().map(id -> "ROLE_" + id).collect(Collectors.toList());
+        // 已轮换的令牌再次出现，视为令牌被重放
+        if (current.isRotated()) {
+            throw reuseDetected(current);
+        }
 
-        // 创建新的认证对象
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // 权限取自内存中的角色权限矩阵，无需查询用户和角色；用户状态变化时刷新令牌已被撤销
+        AuthenticatedUser principal = authorizationVersionService.principal(current.getUserId(), current.getUsername());
+        String token = jwtTokenProvider.createToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
 
-        // 生成新的JWT令牌
-        String newToken = jwtTokenProvider.createToken(authentication);
+        // 轮换标记和后继令牌在同一事务中提交，令牌族不会只剩已轮换而没有后继的令牌；
+        // 并发刷新中落败同样视为重放，撤销在轮换事务结束后执行
+        String nextRefreshToken = jwtTokenProvider.createRefreshToken();
+        if (refreshTokenDomainService.rotate(current, TokenDigest.of(nextRefreshToken), refreshTokenExpiresAt()).isEmpty()) {
+            throw reuseDetected(current);
+        }
 
-        log.info("Token refresh successful for user: {}", username);
+        log.info("Token refresh successful for user: {}", current.getUsername());
 
         // 构建并返回认证响应
         return AuthResponse.builder()
-                .token(newToken)
+                .token(token)
                 .tokenType("Bearer")
-                .userId(userEntity.getId())
-                .username(userEntity.getUsername())
-                .roles(roles)
+                .expiresIn(jwtTokenProvider.getTokenValidityInMilliseconds() / 1000)
+                .refreshToken(nextRefreshToken)
+                .userId(current.getUserId())
+                .username(current.getUsername())
+                .roles(principal.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toList()))
                 .build();
     }
 
     @Override
-    public void logout(String username) {
+    public void logout(String username, String token, Date expiration) {
         log.info("User logout: {}", username);
+
+        // 撤销该用户的所有刷新令牌
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal
+                ? principal.getId() : null;
+        if (userId == null) {
+            userId = userDomainService.findByUsername(username).map(UserEntity::getId).orElse(null);
+        }
+        if (userId != null) {
+            refreshTokenDomainService.revokeAll(userId);
+        }
+
         // 清除安全上下文
         SecurityContextHolder.clearContext();
-        
-        // 实际项目中，可能还需要将令牌加入黑名单或使用Redis缓存来使令牌失效
-        // 例如：cacheService.invalidateToken(username);
+
+        // 撤销当前令牌，在其剩余有效期内拒绝再次使用
+        if (token != null) {
+            tokenRevocationService.revoke(token, expiration != null ? expiration : resolveExpiration(token));
+        }
+
+        // 清除该用户已缓存的令牌认证信息，后续请求需重新校验令牌
+        verifiedTokenCache.evictUser(username);
+    }
+
+    /**
+     * 解析令牌的过期时间
+     *
+     * @param token JWT令牌
+     * @return 过期时间，令牌无法解析时返回null，由撤销服务使用默认存活时间
+     */
+    private Date resolveExpiration(String token) {
+        try {
+            return jwtTokenProvider.getExpirationDate(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Unable to read expiration of the token being revoked: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 记录用户成功登录，记录失败只打印日志，不影响本次登录
+     *
+     * @param userId 用户ID
+     */
+    private void recordLogin(Long userId) {
+        try {
+            userDomainService.recordLogin(userId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to record login time for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 签发刷新令牌，只保存其摘要
+     *
+     * @param userId   用户ID
+     * @param username 用户名
+     * @param familyId 令牌族ID，为null时开启新的令牌族
+     * @return 刷新令牌明文
+     */
+    private String issueRefreshToken(Long userId, String username, String familyId) {
+        String refreshToken = jwtTokenProvider.createRefreshToken();
+        refreshTokenDomainService.issue(userId, username, TokenDigest.of(refreshToken), familyId, refreshTokenExpiresAt());
+        return refreshToken;
+    }
+
+    /**
+     * 计算新签发的刷新令牌的过期时间
+     *
+     * @return 过期时间
+     */
+    private LocalDateTime refreshTokenExpiresAt() {
+        return LocalDateTime.now().plus(Duration.ofMillis(jwtTokenProvider.getRefreshTokenValidityInMilliseconds()));
+    }
+
+    /**
+     * 处理刷新令牌重放：撤销整个令牌族
+     * <p>
+     * 在轮换事务之外执行，撤销独立提交，不随随后抛出的异常回滚
+     * </p>
+     *
+     * @param current 被重放的刷新令牌
+     * @return 返回给调用方的认证异常
+     */
+    private UnauthorizedException reuseDetected(RefreshTokenEntity current) {
+        log.warn("Refresh token reuse detected for user {}, revoking family {}",
+                current.getUsername(), current.getFamilyId());
+        refreshTokenDomainService.revokeFamily(current.getFamilyId());
+        return new UnauthorizedException("Refresh token has already been used");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.example.backend_scaffold.application.service.impl;
+
+import com.example.backend_scaffold.application.dto.permission.PermissionCheckRequest;
+import com.example.backend_scaffold.application.dto.permission.PermissionCheckResponse;
+import com.example.backend_scaffold.application.service.AuthorizationService;
+import com.example.backend_scaffold.infrastructure.security.AuthorityDictionary;
+import com.example.backend_scaffold.infrastructure.security.AuthorizationIndex;
+import com.example.backend_scaffold.infrastructure.security.CustomPermissionEvaluator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 授权服务实现类
+ * <p>
+ * 从{@link AuthorizationIndex}取出用户的权限位图后，逐项通过{@link AuthorityDictionary}将权限编码映射为位下标并测试，
+ * 无论检查多少项都只解析一次用户的权限集合，不访问数据库
+ * </p>
+ *
+ * @author example
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorizationServiceImpl implements AuthorizationService {
+
+    private final AuthorizationIndex authorizationIndex;
+    private final AuthorityDictionary authorityDictionary;
+
+    @Override
+    public PermissionCheckResponse checkPermissions(Long userId, PermissionCheckRequest request) {
+        List<String> codes = new ArrayList<>();
+        if (request.getPermissions() != null) {
+            codes.addAll(request.getPermissions());
+        }
+        if (request.getTargets() != null) {
+            request.getTargets().forEach(target ->
+                    codes.add(CustomPermissionEvaluator.permissionCode(target.getTargetType(), target.getPermission())));
+        }
+        log.debug("Checking {} permissions for user: {}", codes.size(), userId);
+
+        BitSet granted = authorizationIndex.permissions(userId);
+        AuthorityDictionary.Snapshot snapshot = authorityDictionary.current();
+
+        Map<String, Boolean> decisions = new LinkedHashMap<>();
+        BitSet bitmap = new BitSet(codes.size());
+        for (int i = 0; i < codes.size(); i++) {
+            String code = codes.get(i);
+            int permissionId = code != null ? snapshot.permissionId(code) : -1;
+            boolean allowed = permissionId >= 0 && granted.get(permissionId);
+            if (code != null) {
+                decisions.put(code, allowed);
+            }
+            bitmap.set(i, allowed);
+        }
+
+        return PermissionCheckResponse.builder()
+                .decisions(decisions)
+                .bitmap(AuthorityDictionary.encodeBits(bitmap))
+                .build();
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.backend_scaffold.application.service.impl;
+
+import com.example.backend_scaffold.application.service.CacheWarmUpService;
+import com.example.backend_scaffold.application.service.RoleService;
+import com.example.backend_scaffold.domain.model.enums.UserStatus;
+import com.example.backend_scaffold.domain.repository.UserRepository;
+import com.example.backend_scaffold.domain.service.PermissionHierarchyService;
+import com.example.backend_scaffold.infrastructure.security.AuthorityDictionary;
+import com.example.backend_scaffold.infrastructure.security.RolePermissionMatrix;
+import com.example.backend_scaffold.infrastructure.security.UserAuthorityCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 缓存预热服务实现类
+ * <p>
+ * 应用启动完成后在独立的线程池上并行执行三个阶段：
+ * 角色（全部角色列表、按ID和编码的单个角色、角色权限ID），
+ * 权限（权限字典和权限树），
+ * 最近登录的前N个活跃用户的角色和权限编码（同时构建角色权限矩阵）。
+ * 角色通过{@link RoleService}加载，结果与正常请求写入相同的缓存条目。
+ * </p>
+ * <p>
+ * 单个条目加载失败只记录日志，不影响其他条目和就绪状态，该条目在首次请求时正常加载。
+ * 预热在全部完成或超出cache.warm-up.timeout后结束，超时后未执行的任务被取消。
+ * 就绪探针（/actuator/health/readiness）在预热结束之前报告OUT_OF_SERVICE。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+@Service
+public class CacheWarmUpServiceImpl implements CacheWarmUpService {
+
+    /**
+     * 预热状态
+     */
+    enum State {
+        PENDING, RUNNING, COMPLETED, TIMED_OUT, DISABLED
+    }
+
+    private final RoleService roleService;
+    private final UserRepository userRepository;
+    private final UserAuthorityCache userAuthorityCache;
+    private final RolePermissionMatrix rolePermissionMatrix;
+    private final AuthorityDictionary authorityDictionary;
+    private final PermissionHierarchyService permissionHierarchyService;
+
+    /**
+     * 是否启用预热
+     */
+    private final boolean enabled;
+
+    /**
+     * 预热线程数
+     */
+    private final int parallelism;
+
+    /**
+     * 预热权限集合的活跃用户数
+     */
+    private final int topUsers;
+
+    /**
+     * 预热时间预算
+     */
+    private final Duration timeout;
+
+    /**
+     * 当前状态
+     */
+    private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+
+    /**
+     * 各阶段已预热的条目数
+     */
+    private final Map<String, AtomicInteger> warmed = new ConcurrentHashMap<>();
+
+    /**
+     * 加载失败的条目数
+     */
+    private final AtomicInteger failures = new AtomicInteger();
+
+    /**
+     * 预热线程池，预热结束后关闭
+     */
+    private volatile ExecutorService executor;
+
+    /**
+     * 开始时间（纳秒）
+     */
+    private volatile long startedAt;
+
+    /**
+     * 耗时（毫秒），预热结束前为-1
+     */
+    private volatile long elapsedMillis = -1;
+
+    /**
+     * 构造函数
+     *
+     * @param roleService                角色服务
+     * @param userRepository             用户仓储
+     * @param userAuthorityCache         用户权限缓存
+     * @param rolePermissionMatrix       角色权限矩阵
+     * @param authorityDictionary        权限字典
+     * @param permissionHierarchyService 权限层级服务
+     * @param enabled                    是否启用预热
+     * @param parallelism                预热线程数
+     * @param topUsers                   预热权限集合的活跃用户数
+     * @param timeout                    预热时间预算
+     */
+    public CacheWarmUpServiceImpl(RoleService roleService,
+                                  UserRepository userRepository,
+                                  UserAuthorityCache userAuthorityCache,
+                                  RolePermissionMatrix rolePermissionMatrix,
+                                  AuthorityDictionary authorityDictionary,
+                                  PermissionHierarchyService permissionHierarchyService,
+                                  @Value("${cache.warm-up.enabled:true}") boolean enabled,
+                                  @Value("${cache.warm-up.parallelism:4}") int parallelism,
+                                  @Value("${cache.warm-up.top-users:500}") int topUsers,
+                                  @Value("${cache.warm-up.timeout:30s}") Duration timeout) {
+        this.roleService = roleService;
+        this.userRepository = userRepository;
+        this.userAuthorityCache = userAuthorityCache;
+        this.rolePermissionMatrix = rolePermissionMatrix;
+        this.authorityDictionary = authorityDictionary;
+        this.permissionHierarchyService = permissionHierarchyService;
+        this.enabled = enabled;
+        this.parallelism = Math.max(1, parallelism);
+        this.topUsers = Math.max(0, topUsers);
+        this.timeout = timeout;
+    }
+
+    /**
+     * 应用启动完成后开始预热
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        warmUp();
+    }
+
+    @Override
+    public void warmUp() {
+        if (!enabled) {
+            state.compareAndSet(State.PENDING, State.DISABLED);
+            return;
+        }
+        if (!state.compareAndSet(State.PENDING, State.RUNNING)) {
+            return;
+        }
+        startedAt = System.nanoTime();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warm-up-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Cache warm-up started: parallelism={}, topUsers={}, timeout={}", parallelism, topUsers, timeout);
+
+        CompletableFuture.allOf(warmRoles(), warmPermissions(), warmUserAuthorities())
+                .whenComplete((ignored, e) -> finish(State.COMPLETED));
+        CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .execute(() -> finish(State.TIMED_OUT));
+    }
+
+    @Override
+    public boolean isFinished() {
+        State current = state.get();
+        return current != State.PENDING && current != State.RUNNING;
+    }
+
+    @Override
+    public Map<String, Object> getDetails() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("state", state.get().name().toLowerCase(Locale.ROOT));
+        warmed.forEach((stage, count) -> details.put(stage, count.get()));
+        details.put("failures", failures.get());
+        if (elapsedMillis >= 0) {
+            details.put("elapsedMillis", elapsedMillis);
+        }
+        return details;
+    }
+
+    /**
+     * 预热角色：全部角色列表，以及每个角色按ID、按编码的缓存和角色权限ID
+     *
+     * @return 阶段完成的Future
+     */
+    private CompletableFuture<Void> warmRoles() {
+        return fanOut("roles", roleService::getAllRoles, role -> {
+            roleService.getRoleById(role.getId());
+            roleService.getRoleByCode(role.getCode());
+            roleService.getRolePermissions(role.getId());
+        });
+    }
+
+    /**
+     * 预热权限：权限字典和权限树
+     *
+     * @return 阶段完成的Future
+     */
+    private CompletableFuture<Void> warmPermissions() {
+        return CompletableFuture.allOf(
+                task("permissions", authorityDictionary::current),
+                task("permissions", () -> permissionHierarchyService.getSubtree(null)));
+    }
+
+    /**
+     * 预热最近登录的活跃用户的角色和权限编码
+     *
+     * @return 阶段完成的Future
+     */
+    private CompletableFuture<Void> warmUserAuthorities() {
+        if (topUsers == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        PageRequest recentlyActive = PageRequest.of(0, topUsers, Sort.by(Sort.Direction.DESC, "lastLoginTime"));
+        return fanOut("userAuthorities",
+                () -> userRepository.findByStatus(UserStatus.ACTIVE, recentlyActive).getContent(),
+                user -> {
+                    Long userId = user.getId();
+                    userAuthorityCache.get(userId, () -> rolePermissionMatrix.authorities(userId));
+                });
+    }
+
+    /**
+     * 查询一组实体后为每个实体并行执行一个预热任务
+     *
+     * @param stage  阶段名称
+     * @param query  查询实体的函数
+     * @param action 预热单个实体的函数
+     * @param <T>    实体类型
+     * @return 阶段完成的Future
+     */
+    private <T> CompletableFuture<Void> fanOut(String stage, Supplier<List<T>> query, Consumer<T> action) {
+        Function<List<T>, CompletableFuture<Void>> perItem = items -> CompletableFuture.allOf(items.stream()
+                .map(item -> task(stage, () -> action.accept(item)))
+                .toArray(CompletableFuture[]::new));
+        return CompletableFuture.supplyAsync(query, executor)
+                .thenCompose(perItem)
+                .exceptionally(e -> {
+                    failures.incrementAndGet();
+                    log.warn("Cache warm-up stage '{}' failed: {}", stage, e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * 在预热线程池上执行一个预热任务，失败时只记录日志
+     *
+     * @param stage 阶段名称
+     * @param task  预热任务
+     * @return 任务完成的Future
+     */
+    private CompletableFuture<Void> task(String stage, Runnable task) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                task.run();
+                warmed.computeIfAbsent(stage, ignored -> new AtomicInteger()).incrementAndGet();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                log.debug("Cache warm-up task in stage '{}' failed: {}", stage, e.getMessage());
+            }
+        }, executor);
+    }
+
+    /**
+     * 结束预热，只有第一次调用生效
+     *
+     * @param result 结束状态
+     */
+    private void finish(State result) {
+        if (!state.compareAndSet(State.RUNNING, result)) {
+            return;
+        }
+        elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        if (result == State.TIMED_OUT) {
+            executor.shutdownNow();
+            log.warn("Cache warm-up exceeded its {} budget, continuing with partially warm caches: {}",
+                    timeout, getDetails());
+        } else {
+            executor.shutdown();
+            log.info("Cache warm-up completed: {}", getDetails());
+        }
+    }
+}
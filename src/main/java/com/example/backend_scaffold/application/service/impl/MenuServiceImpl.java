@@ -0,0 +1,144 @@
+package com.example.backend_scaffold.application.service.impl;
+
+import com.example.backend_scaffold.application.dto.permission.MenuTree;
+import com.example.backend_scaffold.application.dto.permission.PermissionResponse;
+import com.example.backend_scaffold.application.mapper.PermissionMapper;
+import com.example.backend_scaffold.application.service.MenuService;
+import com.example.backend_scaffold.domain.event.PermissionChangedEvent;
+import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
+import com.example.backend_scaffold.domain.model.enums.PermissionType;
+import com.example.backend_scaffold.domain.service.PermissionDomainService;
+import com.example.backend_scaffold.infrastructure.cache.CacheKey;
+import com.example.backend_scaffold.infrastructure.cache.CacheService;
+import com.example.backend_scaffold.infrastructure.security.AuthorityDictionary;
+import com.example.backend_scaffold.infrastructure.security.AuthorizationIndex;
+import com.example.backend_scaffold.infrastructure.util.EncryptionUtil;
+import com.example.backend_scaffold.infrastructure.util.JsonUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 菜单服务实现类
+ * <p>
+ * 菜单树只取决于用户最终拥有的权限集合，因此按权限位图缓存：角色组合相同的用户共享同一棵树，
+ * 不同角色组合得到相同权限时也共享。用户角色变更只会让其换用另一个缓存条目，
+ * 只有权限本身变更（名称、排序、父权限、启用状态等）才需要清空缓存。
+ * </p>
+ *
+ * @author example
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MenuServiceImpl implements MenuService {
+
+    /**
+     * 缓存名称
+     */
+    public static final String CACHE_NAME = "menus";
+
+    private final AuthorizationIndex authorizationIndex;
+    private final PermissionDomainService permissionDomainService;
+    private final PermissionMapper permissionMapper;
+    private final CacheService cacheService;
+
+    @Override
+    public MenuTree getMenuTree(Long userId) {
+        BitSet granted = authorizationIndex.permissions(userId);
+        String key = CacheKey.PERMISSION_MENU + AuthorityDictionary.encodeBits(granted);
+        return cacheService.get(CACHE_NAME, key, () -> buildMenuTree(granted));
+    }
+
+    /**
+     * 权限变更后清空菜单缓存
+     *
+     * @param event 权限变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionChanged(PermissionChangedEvent event) {
+        cacheService.clear(CACHE_NAME);
+    }
+
+    /**
+     * 构建菜单树
+     * <p>
+     * 权限树按先序排列，父权限总在子权限之前；父权限未被授予时，挂到最近的已授予祖先下，没有则作为根菜单
+     * </p>
+     *
+     * @param granted 权限ID位图
+     * @return 菜单树
+     */
+    private MenuTree buildMenuTree(BitSet granted) {
+        List<PermissionEntity> permissions = permissionDomainService.getSubtree(null);
+        Map<Long, PermissionEntity> byId = new HashMap<>(permissions.size() * 2);
+        permissions.forEach(permission -> byId.put(permission.getId(), permission));
+
+        Map<Long, PermissionResponse> menus = new HashMap<>();
+        List<PermissionResponse> roots = new ArrayList<>();
+        for (PermissionEntity permission : permissions) {
+            if (!isVisible(permission, granted)) {
+                continue;
+            }
+            PermissionResponse response = permissionMapper.entityToResponse(permission);
+            response.setChildren(new ArrayList<>());
+            PermissionResponse parent = nearestMenu(permission, byId, menus);
+            if (parent != null) {
+                parent.getChildren().add(response);
+            } else {
+                roots.add(response);
+            }
+            menus.put(permission.getId(), response);
+        }
+
+        String etag = "\"" + EncryptionUtil.sha256(JsonUtil.toJson(roots)) + "\"";
+        log.debug("Menu tree built: menus={}, etag={}", menus.size(), etag);
+        return MenuTree.builder()
+                .menus(roots)
+                .etag(etag)
+                .build();
+    }
+
+    /**
+     * 判断权限是否出现在菜单树中
+     *
+     * @param permission 权限实体
+     * @param granted    权限ID位图
+     * @return 是否可见
+     */
+    private boolean isVisible(PermissionEntity permission, BitSet granted) {
+        return (permission.getType() == PermissionType.MENU || permission.getType() == PermissionType.BUTTON)
+                && Boolean.TRUE.equals(permission.getIsEnabled())
+                && granted.get(Math.toIntExact(permission.getId()));
+    }
+
+    /**
+     * 查找最近的已加入菜单树的祖先
+     *
+     * @param permission 权限实体
+     * @param byId       权限ID到权限实体的映射
+     * @param menus      已加入菜单树的权限
+     * @return 祖先的菜单节点，不存在时返回null
+     */
+    private PermissionResponse nearestMenu(PermissionEntity permission, Map<Long, PermissionEntity> byId,
+                                           Map<Long, PermissionResponse> menus) {
+        Long parentId = permission.getParentId();
+        // 最多向上查找权限总数次，防止父子关系成环时死循环
+        for (int depth = 0; parentId != null && depth < byId.size(); depth++) {
+            PermissionResponse menu = menus.get(parentId);
+            if (menu != null) {
+                return menu;
+            }
+            PermissionEntity parent = byId.get(parentId);
+            parentId = parent != null ? parent.getParentId() : null;
+        }
+        return null;
+    }
+}
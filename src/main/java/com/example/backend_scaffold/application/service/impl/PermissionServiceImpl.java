@@ -16,7 +16,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 权限服务实现类
@@ -97,6 +100,31 @@ public class PermissionServiceImpl implements PermissionService {
         return permissionMapper.entitiesToResponseList(permissionEntities);
     }
 
+    @Override
+    public List<PermissionResponse> getPermissionTree(Long rootId) {
+        log.info("Getting permission tree from root: {}", rootId);
+        List<PermissionEntity> subtree = permissionDomainService.getSubtree(rootId);
+        if (rootId != null && subtree.isEmpty()) {
+            throw new EntityNotFoundException("Permission not found with id: " + rootId);
+        }
+
+        // 子树按先序排列，父权限总在子权限之前，一次遍历即可挂接到父节点
+        Map<Long, PermissionResponse> responses = new HashMap<>(subtree.size() * 2);
+        List<PermissionResponse> roots = new ArrayList<>();
+        for (PermissionEntity permissionEntity : subtree) {
+            PermissionResponse response = permissionMapper.entityToResponse(permissionEntity);
+            response.setChildren(new ArrayList<>());
+            PermissionResponse parent = responses.get(permissionEntity.getParentId());
+            if (parent != null && !permissionEntity.getId().equals(rootId)) {
+                parent.getChildren().add(response);
+            } else {
+                roots.add(response);
+            }
+            responses.put(permissionEntity.getId(), response);
+        }
+        return roots;
+    }
+
     @Override
     @Transactional
     public boolean deletePermission(Long id) {
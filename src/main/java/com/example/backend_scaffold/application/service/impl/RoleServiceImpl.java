@@ -9,21 +9,31 @@ import com.example.backend_scaffold.application.mapper.RoleMapper;
 import com.example.backend_scaffold.application.service.RoleService;
 import com.example.backend_scaffold.domain.model.entity.RoleEntity;
 import com.example.backend_scaffold.domain.service.RoleDomainService;
+import com.example.backend_scaffold.infrastructure.cache.CacheDependencyTracker;
+import com.example.backend_scaffold.infrastructure.cache.CacheKey;
+import com.example.backend_scaffold.infrastructure.cache.CacheKeyDimension;
+import com.example.backend_scaffold.infrastructure.cache.CacheService;
+import com.example.backend_scaffold.infrastructure.cache.EntityKey;
+import com.example.backend_scaffold.infrastructure.cache.EntityKeyGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * 角色服务实现类
  * <p>
- * 实现角色相关的业务逻辑
+ * 实现角色相关的业务逻辑。
+ * 角色按ID和编码两个维度缓存在同一缓存中，修改角色时直接删除该角色在各维度上的条目及其角色权限条目，
+ * 不依赖本节点的依赖记录，重启或记录被清除后仍能删除二级缓存和其他节点上的条目；
+ * 包含多个角色的列表和分页结果加载时向{@link CacheDependencyTracker}登记所包含的角色，
+ * 角色或其权限变更后只删除包含该角色的结果；新增和删除角色会改变列表内容和分页偏移，使所有列表和分页结果失效
  * </p>
  *
  * @author example
@@ -33,9 +43,31 @@ import java.util.List;
 @Slf4j
 public class RoleServiceImpl implements RoleService {
 
+    /**
+     * 单个角色缓存名称，按ID和编码缓存
+     */
+    public static final String ROLES_CACHE = "roles";
+
+    /**
+     * 全部角色列表缓存名称
+     */
+    public static final String ALL_ROLES_CACHE = "allRoles";
+
+    /**
+     * 角色权限ID缓存名称
+     */
+    public static final String ROLE_PERMISSIONS_CACHE = "rolePermissions";
+
+    /**
+     * 角色分页缓存名称
+     */
+    public static final String ROLES_PAGED_CACHE = "rolesPaged";
+
     private final RoleDomainService roleDomainService;
     private final RoleMapper roleMapper;
     private final com.example.backend_scaffold.domain.repository.RoleRepository roleRepository;
+    private final CacheDependencyTracker dependencyTracker;
+    private final CacheService cacheService;
 
     @Override
     @Transactional
@@ -43,6 +75,7 @@ public class RoleServiceImpl implements RoleService {
         try {
             RoleEntity roleEntity = roleMapper.toEntity(roleRequest);
             RoleEntity savedEntity = roleDomainService.createRole(roleEntity);
+            dependencyTracker.invalidate(EntityKey.of(CacheKey.ROLE_ALL), "role_created");
             return roleMapper.entityToResponse(savedEntity);
         } catch (RuntimeException e) {
             log.error("Failed to create role: {}", e.getMessage());
@@ -52,14 +85,16 @@ public class RoleServiceImpl implements RoleService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "roles", key = "#id")
     public RoleResponse updateRole(Long id, RoleRequest roleRequest) {
         try {
             RoleEntity existingRole = roleDomainService.findById(id)
                     .orElseThrow(() -> new EntityNotFoundException("Role not found with id: " + id));
+            // 编码可能被修改，按修改前的编码删除缓存
+            String previousCode = existingRole.getCode();
 
             RoleEntity updatedEntity = roleMapper.updateEntity(roleRequest, existingRole);
             RoleEntity savedEntity = roleDomainService.updateRole(updatedEntity);
+            evictRole(id, previousCode);
             return roleMapper.entityToResponse(savedEntity);
         } catch (EntityNotFoundException e) {
             throw e;
@@ -70,7 +105,8 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
-    @Cacheable(value = "roles", key = "#id")
+    @Cacheable(value = ROLES_CACHE, keyGenerator = EntityKeyGenerator.NAME)
+    @CacheKeyDimension(CacheKey.ROLE_ID)
     public RoleResponse getRoleById(Long id) {
         RoleEntity roleEntity = roleDomainService.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Role not found with id: " + id));
@@ -78,7 +114,8 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
-    @Cacheable(value = "roles", key = "#code")
+    @Cacheable(value = ROLES_CACHE, keyGenerator = EntityKeyGenerator.NAME)
+    @CacheKeyDimension(CacheKey.ROLE_CODE)
     public RoleResponse getRoleByCode(String code) {
         RoleEntity roleEntity = roleDomainService.findByCode(code)
                 .orElseThrow(() -> new EntityNotFoundException("Role not found with code: " + code));
@@ -86,18 +123,22 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
-    @Cacheable(value = "allRoles")
+    @Cacheable(value = ALL_ROLES_CACHE, keyGenerator = EntityKeyGenerator.NAME)
+    @CacheKeyDimension(CacheKey.ROLE_ALL)
     public List<RoleResponse> getAllRoles() {
         List<RoleEntity> roleEntities = roleDomainService.findAll();
+        dependencyTracker.record(ALL_ROLES_CACHE, EntityKey.of(CacheKey.ROLE_ALL), dependencies(roleEntities));
         return roleMapper.entitesToResponseList(roleEntities);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"roles", "allRoles", "rolePermissions"}, allEntries = true)
     public void deleteRole(Long id) {
         try {
+            String code = roleDomainService.findById(id).map(RoleEntity::getCode).orElse(null);
             roleDomainService.deleteRole(id);
+            evictRole(id, code);
+            dependencyTracker.invalidate(EntityKey.of(CacheKey.ROLE_ALL), "role_deleted");
         } catch (RuntimeException e) {
             log.error("Failed to delete role: {}", e.getMessage());
             throw new BusinessException("Failed to delete role: " + e.getMessage());
@@ -106,7 +147,6 @@ public class RoleServiceImpl implements RoleService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {"roles", "allRoles", "rolePermissions"}, allEntries = true)
     public RoleResponse assignPermissionsToRole(Long roleId, RolePermissionRequest rolePermissionRequest) {
         try {
             // 验证角色是否存在
@@ -123,6 +163,7 @@ public class RoleServiceImpl implements RoleService {
             for (Long permissionId : rolePermissionRequest.getPermissionIds()) {
                 roleDomainService.assignPermission(roleId, permissionId);
             }
+            evictRole(roleId, roleEntity.getCode());
 
             // 返回更新后的角色信息
             RoleResponse roleResponse = roleMapper.entityToResponse(roleEntity);
@@ -137,7 +178,8 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
-    @Cacheable(value = "rolePermissions", key = "#roleId")
+    @Cacheable(value = ROLE_PERMISSIONS_CACHE, keyGenerator = EntityKeyGenerator.NAME)
+    @CacheKeyDimension(CacheKey.ROLE_PERMISSIONS)
     public List<Long> getRolePermissions(Long roleId) {
         // 验证角色是否存在
         roleDomainService.findById(roleId)
@@ -147,11 +189,41 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
-    @Cacheable(value = "rolesPaged", key = "#pageable.pageNumber + '-' + #pageable.pageSize")
+    @Cacheable(value = ROLES_PAGED_CACHE, keyGenerator = EntityKeyGenerator.NAME)
+    @CacheKeyDimension(CacheKey.ROLE_PAGE)
     public Page<RoleResponse> getRoles(Pageable pageable) {
         Page<RoleEntity> rolePage = roleRepository.findAll(pageable);
+        dependencyTracker.record(ROLES_PAGED_CACHE, EntityKey.of(CacheKey.ROLE_PAGE, pageable),
+                dependencies(rolePage.getContent()));
         return rolePage.map(entity -> {
             return roleMapper.entityToResponse(entity);
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * 删除单个角色在各维度上的缓存条目
+     *
+     * @param id   角色ID
+     * @param code 角色编码，未知时为null
+     */
+    private void evictRole(Long id, String code) {
+        cacheService.evict(ROLES_CACHE, EntityKey.of(CacheKey.ROLE_ID, id));
+        if (code != null) {
+            cacheService.evict(ROLES_CACHE, EntityKey.of(CacheKey.ROLE_CODE, code));
+        }
+        cacheService.evict(ROLE_PERMISSIONS_CACHE, EntityKey.of(CacheKey.ROLE_PERMISSIONS, id));
+    }
+
+    /**
+     * 计算角色列表或分页结果依赖的实体：角色集合及其中的每个角色
+     *
+     * @param roleEntities 结果中的角色
+     * @return 依赖列表
+     */
+    private List<EntityKey> dependencies(List<RoleEntity> roleEntities) {
+        List<EntityKey> dependencies = new ArrayList<>(roleEntities.size() + 1);
+        dependencies.add(EntityKey.of(CacheKey.ROLE_ALL));
+        roleEntities.forEach(role -> dependencies.add(EntityKey.of(CacheKey.ROLE_ID, role.getId())));
+        return dependencies;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.backend_scaffold.domain.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 权限变更事件
+ * <p>
+ * 权限被创建、修改、启用、禁用或删除时发布；级联禁用时一个事件同时包含被一并禁用的后代权限
+ * </p>
+ *
+ * @author example
+ */
+@Getter
+public class PermissionChangedEvent {
+
+    /**
+     * 权限ID
+     */
+    private final Long permissionId;
+
+    /**
+     * 受影响的全部权限ID，包含permissionId本身
+     */
+    private final List<Long> permissionIds;
+
+    /**
+     * 构造函数
+     *
+     * @param permissionId 权限ID
+     */
+    public PermissionChangedEvent(Long permissionId) {
+        this(permissionId, List.of(permissionId));
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param permissionId  权限ID
+     * @param permissionIds 受影响的全部权限ID，包含permissionId本身
+     */
+    public PermissionChangedEvent(Long permissionId, List<Long> permissionIds) {
+        this.permissionId = permissionId;
+        this.permissionIds = List.copyOf(permissionIds);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.backend_scaffold.domain.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 角色变更事件
+ * <p>
+ * 角色被创建、修改、启用、禁用或删除时发布，影响拥有该角色的所有用户
+ * </p>
+ *
+ * @author example
+ */
+@Getter
+@RequiredArgsConstructor
+public class RoleChangedEvent {
+
+    /**
+     * 角色ID
+     */
+    private final Long roleId;
+}
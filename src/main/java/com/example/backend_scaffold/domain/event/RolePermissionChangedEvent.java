@@ -0,0 +1,32 @@
+package com.example.backend_scaffold.domain.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 角色权限变更事件
+ * <p>
+ * 为角色分配权限或移除角色权限时发布
+ * </p>
+ *
+ * @author example
+ */
+@Getter
+@RequiredArgsConstructor
+public class RolePermissionChangedEvent {
+
+    /**
+     * 角色ID
+     */
+    private final Long roleId;
+
+    /**
+     * 权限ID
+     */
+    private final Long permissionId;
+
+    /**
+     * true表示分配权限，false表示移除权限
+     */
+    private final boolean assigned;
+}
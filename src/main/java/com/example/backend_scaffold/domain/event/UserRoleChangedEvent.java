@@ -0,0 +1,32 @@
+package com.example.backend_scaffold.domain.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 用户角色变更事件
+ * <p>
+ * 为用户分配角色或移除用户角色时发布
+ * </p>
+ *
+ * @author example
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserRoleChangedEvent {
+
+    /**
+     * 用户ID
+     */
+    private final Long userId;
+
+    /**
+     * 角色ID
+     */
+    private final Long roleId;
+
+    /**
+     * true表示分配角色，false表示移除角色
+     */
+    private final boolean assigned;
+}
@@ -0,0 +1,28 @@
+package com.example.backend_scaffold.domain.event;
+
+import com.example.backend_scaffold.domain.model.enums.UserStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 用户状态变更事件
+ * <p>
+ * 用户被锁定、解锁、启用、禁用或删除时发布
+ * </p>
+ *
+ * @author example
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserStatusChangedEvent {
+
+    /**
+     * 用户ID
+     */
+    private final Long userId;
+
+    /**
+     * 变更后的状态
+     */
+    private final UserStatus status;
+}
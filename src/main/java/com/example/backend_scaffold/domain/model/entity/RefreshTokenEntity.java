@@ -0,0 +1,77 @@
+package com.example.backend_scaffold.domain.model.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 刷新令牌实体类
+ * <p>
+ * 服务端保存的不透明刷新令牌，只保存令牌的摘要。
+ * 每次刷新都会轮换出同一令牌族中的新令牌，旧令牌被标记为已轮换；
+ * 已轮换的令牌再次出现说明令牌可能已泄露，整个令牌族随即被撤销。
+ * </p>
+ *
+ * @author example
+ */
+@Getter
+@Setter
+public class RefreshTokenEntity extends BaseEntity {
+
+    private Long id;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 用户名，刷新时用作访问令牌的主体，无需再查询用户
+     */
+    private String username;
+
+    /**
+     * 令牌的SHA-256摘要
+     */
+    private String tokenHash;
+
+    /**
+     * 令牌族ID，同一次登录轮换出的令牌属于同一令牌族
+     */
+    private String familyId;
+
+    /**
+     * 过期时间
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * 轮换时间，未轮换时为null
+     */
+    private LocalDateTime rotatedAt;
+
+    /**
+     * 是否已撤销
+     */
+    private Boolean revoked = false;
+
+    /**
+     * 判断令牌是否已过期
+     *
+     * @param now 当前时间
+     * @return 是否已过期
+     */
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt == null || !expiresAt.isAfter(now);
+    }
+
+    /**
+     * 判断令牌是否已被轮换
+     *
+     * @return 是否已轮换
+     */
+    public boolean isRotated() {
+        return rotatedAt != null;
+    }
+}
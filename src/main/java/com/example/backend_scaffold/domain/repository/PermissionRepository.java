@@ -5,6 +5,7 @@ import com.example.backend_scaffold.domain.model.enums.PermissionType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -127,4 +128,12 @@ public interface PermissionRepository {
      * @return 是否存在
      */
     boolean existsByName(String name);
-}
\ No newline at end of file
+
+    /**
+     * 在一条语句中批量禁用权限
+     *
+     * @param ids 权限ID集合
+     * @return 实际被禁用的权限数
+     */
+    int disableByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,66 @@
+package com.example.backend_scaffold.domain.repository;
+
+import com.example.backend_scaffold.domain.model.entity.RefreshTokenEntity;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 刷新令牌仓储接口
+ * <p>
+ * 定义刷新令牌实体的存储和查询操作
+ * </p>
+ *
+ * @author example
+ */
+public interface RefreshTokenRepository {
+
+    /**
+     * 保存刷新令牌实体
+     *
+     * @param refreshTokenEntity 刷新令牌实体
+     * @return 保存后的刷新令牌实体
+     */
+    RefreshTokenEntity save(RefreshTokenEntity refreshTokenEntity);
+
+    /**
+     * 根据令牌摘要查询刷新令牌
+     *
+     * @param tokenHash 令牌摘要
+     * @return 刷新令牌实体Optional包装
+     */
+    Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+    /**
+     * 将未轮换且未撤销的刷新令牌标记为已轮换
+     *
+     * @param id        刷新令牌ID
+     * @param rotatedAt 轮换时间
+     * @return 实际更新的记录数，令牌已被并发轮换或已撤销时为0
+     */
+    int markRotated(Long id, LocalDateTime rotatedAt);
+
+    /**
+     * 撤销令牌族中的所有刷新令牌
+     *
+     * @param familyId 令牌族ID
+     * @return 实际撤销的记录数
+     */
+    int revokeByFamilyId(String familyId);
+
+    /**
+     * 撤销用户的所有刷新令牌
+     *
+     * @param userId 用户ID
+     * @return 实际撤销的记录数
+     */
+    int revokeByUserId(Long userId);
+
+    /**
+     * 删除在指定时间之前过期的刷新令牌
+     *
+     * @param before 时间点
+     * @return 删除的记录数
+     */
+    int deleteByExpiresAtBefore(LocalDateTime before);
+}
@@ -5,6 +5,7 @@ import com.example.backend_scaffold.domain.model.enums.UserStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -137,4 +138,13 @@ public interface UserRepository {
      * @return 角色和权限字符串列表，格式为：ROLE_角色名称 或 权限编码
      */
     List<String> findUserRolesAndPermissions(Long userId);
-}
\ No newline at end of file
+
+    /**
+     * 更新用户的最后登录时间
+     *
+     * @param id            用户ID
+     * @param lastLoginTime 最后登录时间
+     * @return 更新的记录数
+     */
+    int updateLastLoginTime(Long id, LocalDateTime lastLoginTime);
+}
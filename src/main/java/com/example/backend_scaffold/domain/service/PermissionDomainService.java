@@ -90,6 +90,22 @@ public interface PermissionDomainService {
      */
     List<PermissionEntity> findByParentId(Long parentId);
 
+    /**
+     * 查询权限及其全部后代，按先序排列
+     *
+     * @param id 权限ID，为null时返回整棵权限树
+     * @return 权限实体列表
+     */
+    List<PermissionEntity> getSubtree(Long id);
+
+    /**
+     * 查询权限的全部祖先，从根权限到直接父权限
+     *
+     * @param id 权限ID
+     * @return 权限实体列表
+     */
+    List<PermissionEntity> getAncestors(Long id);
+
     /**
      * 查询所有权限
      *
@@ -121,7 +137,7 @@ public interface PermissionDomainService {
     boolean enablePermission(Long id);
 
     /**
-     * 禁用权限
+     * 禁用权限，其全部后代权限一并禁用
      *
      * @param id 权限ID
      * @return 是否禁用成功
@@ -0,0 +1,37 @@
+package com.example.backend_scaffold.domain.service;
+
+import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
+
+import java.util.List;
+
+/**
+ * 权限层级服务接口
+ * <p>
+ * 维护按父权限ID构成的权限树，提供不访问数据库的子树和祖先查询
+ * </p>
+ *
+ * @author example
+ */
+public interface PermissionHierarchyService {
+
+    /**
+     * 查询权限及其全部后代，按先序排列（父权限在子权限之前，同级按排序号）
+     *
+     * @param id 权限ID，为null时返回整棵权限树
+     * @return 只读的权限实体列表，权限不存在时返回空列表
+     */
+    List<PermissionEntity> getSubtree(Long id);
+
+    /**
+     * 查询权限的全部祖先，从根权限到直接父权限
+     *
+     * @param id 权限ID
+     * @return 只读的权限实体列表，根权限或权限不存在时返回空列表
+     */
+    List<PermissionEntity> getAncestors(Long id);
+
+    /**
+     * 从数据库重建权限树
+     */
+    void rebuild();
+}
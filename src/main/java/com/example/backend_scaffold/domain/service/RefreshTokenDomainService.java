@@ -0,0 +1,71 @@
+package com.example.backend_scaffold.domain.service;
+
+import com.example.backend_scaffold.domain.model.entity.RefreshTokenEntity;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 刷新令牌领域服务接口
+ * <p>
+ * 定义刷新令牌的签发、轮换和撤销逻辑，令牌明文的生成和摘要由调用方负责
+ * </p>
+ *
+ * @author example
+ */
+public interface RefreshTokenDomainService {
+
+    /**
+     * 签发刷新令牌
+     *
+     * @param userId    用户ID
+     * @param username  用户名
+     * @param tokenHash 令牌摘要
+     * @param familyId  令牌族ID，为null时开启新的令牌族
+     * @param expiresAt 过期时间
+     * @return 保存后的刷新令牌实体
+     */
+    RefreshTokenEntity issue(Long userId, String username, String tokenHash, String familyId, LocalDateTime expiresAt);
+
+    /**
+     * 根据令牌摘要查询刷新令牌
+     *
+     * @param tokenHash 令牌摘要
+     * @return 刷新令牌实体Optional包装
+     */
+    Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+    /**
+     * 轮换刷新令牌：将当前令牌标记为已轮换，并在同一令牌族中签发后继令牌
+     * <p>
+     * 标记和签发在同一事务中完成，签发失败时标记一并回滚；并发请求中只有一个能成功
+     * </p>
+     *
+     * @param current   当前刷新令牌
+     * @param tokenHash 后继令牌摘要
+     * @param expiresAt 后继令牌过期时间
+     * @return 后继刷新令牌实体，当前令牌已被轮换或撤销时返回空
+     */
+    Optional<RefreshTokenEntity> rotate(RefreshTokenEntity current, String tokenHash, LocalDateTime expiresAt);
+
+    /**
+     * 撤销整个令牌族
+     *
+     * @param familyId 令牌族ID
+     */
+    void revokeFamily(String familyId);
+
+    /**
+     * 撤销用户的所有刷新令牌
+     *
+     * @param userId 用户ID
+     */
+    void revokeAll(Long userId);
+
+    /**
+     * 删除已过期的刷新令牌
+     *
+     * @return 删除的记录数
+     */
+    int purgeExpired();
+}
@@ -182,6 +182,13 @@ public interface UserDomainService {
      */
     boolean disableUser(Long userId);
 
+    /**
+     * 记录用户成功登录，更新最后登录时间
+     *
+     * @param userId 用户ID
+     */
+    void recordLogin(Long userId);
+
     /**
      * 验证用户密码
      *
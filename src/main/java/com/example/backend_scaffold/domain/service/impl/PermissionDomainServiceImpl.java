@@ -1,11 +1,14 @@
 package com.example.backend_scaffold.domain.service.impl;
 
+import com.example.backend_scaffold.domain.event.PermissionChangedEvent;
 import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
 import com.example.backend_scaffold.domain.model.enums.PermissionType;
 import com.example.backend_scaffold.domain.repository.PermissionRepository;
 import com.example.backend_scaffold.domain.repository.RolePermissionRepository;
 import com.example.backend_scaffold.domain.service.PermissionDomainService;
+import com.example.backend_scaffold.domain.service.PermissionHierarchyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
@@ -13,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * 权限领域服务实现类
@@ -28,6 +32,8 @@ public class PermissionDomainServiceImpl implements PermissionDomainService {
 
     private final PermissionRepository permissionRepository;
     private final RolePermissionRepository rolePermissionRepository;
+    private final PermissionHierarchyService permissionHierarchyService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -47,7 +53,9 @@ public class PermissionDomainServiceImpl implements PermissionDomainService {
             permissionEntity.setIsEnabled(true);
         }
 
-        return permissionRepository.save(permissionEntity);
+        PermissionEntity savedPermission = permissionRepository.save(permissionEntity);
+        eventPublisher.publishEvent(new PermissionChangedEvent(savedPermission.getId()));
+        return savedPermission;
     }
 
     @Override
@@ -69,7 +77,9 @@ public class PermissionDomainServiceImpl implements PermissionDomainService {
             throw new RuntimeException("Permission name already exists: " + permissionEntity.getName());
         }
 
-        return permissionRepository.save(permissionEntity);
+        PermissionEntity savedPermission = permissionRepository.save(permissionEntity);
+        eventPublisher.publishEvent(new PermissionChangedEvent(savedPermission.getId()));
+        return savedPermission;
     }
 
     @Override
@@ -85,6 +95,7 @@ public class PermissionDomainServiceImpl implements PermissionDomainService {
 
         // 删除权限
         permissionRepository.deleteById(id);
+        eventPublisher.publishEvent(new PermissionChangedEvent(id));
     }
 
     @Override
@@ -117,6 +128,16 @@ public class PermissionDomainServiceImpl implements PermissionDomainService {
         return permissionRepository.findByParentId(parentId);
     }
 
+    @Override
+    public List<PermissionEntity> getSubtree(Long id) {
+        return permissionHierarchyService.getSubtree(id);
+    }
+
+    @Override
+    public List<PermissionEntity> getAncestors(Long id) {
+        return permissionHierarchyService.getAncestors(id);
+    }
+
     @Override
     public List<PermissionEntity> findAll() {
         return permissionRepository.findAll();
@@ -144,6 +165,7 @@ public class PermissionDomainServiceImpl implements PermissionDomainService {
         if (!permission.getIsEnabled()) {
             permission.setIsEnabled(true);
             permissionRepository.save(permission);
+            eventPublisher.publishEvent(new PermissionChangedEvent(id));
             return true;
         }
         return false;
@@ -159,8 +181,15 @@ public class PermissionDomainServiceImpl implements PermissionDomainService {
 
         PermissionEntity permission = permissionOptional.get();
         if (permission.getIsEnabled()) {
-            permission.setIsEnabled(false);
-            permissionRepository.save(permission);
+            // 权限及其全部后代在一条语句中禁用
+            List<Long> ids = permissionHierarchyService.getSubtree(id).stream()
+                    .map(PermissionEntity::getId)
+                    .collect(Collectors.toList());
+            if (ids.isEmpty()) {
+                ids = List.of(id);
+            }
+            permissionRepository.disableByIdIn(ids);
+            eventPublisher.publishEvent(new PermissionChangedEvent(id, ids));
             return true;
         }
         return false;
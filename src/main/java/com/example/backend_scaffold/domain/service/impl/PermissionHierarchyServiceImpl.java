@@ -0,0 +1,206 @@
+package com.example.backend_scaffold.domain.service.impl;
+
+import com.example.backend_scaffold.domain.event.PermissionChangedEvent;
+import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
+import com.example.backend_scaffold.domain.repository.PermissionRepository;
+import com.example.backend_scaffold.domain.service.PermissionHierarchyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 权限层级服务实现类
+ * <p>
+ * 将权限树以嵌套区间的形式保存在内存中：所有权限按先序排成一个数组，
+ * 每个权限记录其子树在数组中的结束位置，子树即数组中连续的一段，祖先沿父指针向上查找。
+ * 权限树在首次查询时构建，权限变更后在事务提交后整体重建，新树构建完成后一次性替换。
+ * 父权限不存在或父子关系成环的权限作为根权限处理。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PermissionHierarchyServiceImpl implements PermissionHierarchyService {
+
+    private static final Comparator<PermissionEntity> SIBLING_ORDER = Comparator
+            .comparing(PermissionEntity::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(PermissionEntity::getId);
+
+    private final PermissionRepository permissionRepository;
+
+    /**
+     * 当前权限树
+     */
+    private volatile Snapshot snapshot;
+
+    @Override
+    public List<PermissionEntity> getSubtree(Long id) {
+        Snapshot current = current();
+        if (id == null) {
+            return current.slice(0, current.nodes.length);
+        }
+        Integer position = current.positions.get(id);
+        if (position == null) {
+            return Collections.emptyList();
+        }
+        return current.slice(position, current.ends[position]);
+    }
+
+    @Override
+    public List<PermissionEntity> getAncestors(Long id) {
+        Snapshot current = current();
+        Integer position = current.positions.get(id);
+        if (position == null) {
+            return Collections.emptyList();
+        }
+        List<PermissionEntity> ancestors = new ArrayList<>();
+        for (int parent = current.parents[position]; parent >= 0; parent = current.parents[parent]) {
+            ancestors.add(current.nodes[parent]);
+        }
+        Collections.reverse(ancestors);
+        return Collections.unmodifiableList(ancestors);
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        snapshot = build();
+    }
+
+    /**
+     * 权限变更后重建权限树
+     *
+     * @param event 权限变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionChanged(PermissionChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * 获取当前权限树，首次调用时构建
+     *
+     * @return 权限树
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = build();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 从数据库构建权限树
+     *
+     * @return 权限树
+     */
+    private Snapshot build() {
+        List<PermissionEntity> permissions = permissionRepository.findAll();
+        Map<Long, PermissionEntity> byId = new HashMap<>(permissions.size() * 2);
+        permissions.forEach(permission -> byId.put(permission.getId(), permission));
+
+        Map<Long, List<PermissionEntity>> children = new HashMap<>();
+        List<PermissionEntity> roots = new ArrayList<>();
+        for (PermissionEntity permission : permissions) {
+            Long parentId = permission.getParentId();
+            if (parentId != null && byId.containsKey(parentId) && !parentId.equals(permission.getId())) {
+                children.computeIfAbsent(parentId, key -> new ArrayList<>()).add(permission);
+            } else {
+                roots.add(permission);
+            }
+        }
+        roots.sort(SIBLING_ORDER);
+        children.values().forEach(siblings -> siblings.sort(SIBLING_ORDER));
+
+        Builder builder = new Builder(permissions.size(), children);
+        roots.forEach(root -> builder.visit(root, -1));
+        // 父子关系成环的权限不会从任何根权限到达，按排序依次作为根权限
+        List<PermissionEntity> unreached = new ArrayList<>();
+        for (PermissionEntity permission : permissions) {
+            if (!builder.positions.containsKey(permission.getId())) {
+                unreached.add(permission);
+            }
+        }
+        unreached.sort(SIBLING_ORDER);
+        for (PermissionEntity permission : unreached) {
+            if (!builder.positions.containsKey(permission.getId())) {
+                log.warn("Permission {} is part of a parent cycle, treating it as a root", permission.getId());
+                builder.visit(permission, -1);
+            }
+        }
+
+        log.info("Permission hierarchy built: permissions={}, roots={}", builder.size, roots.size());
+        return new Snapshot(builder.nodes, builder.ends, builder.parents, builder.positions);
+    }
+
+    /**
+     * 按先序遍历为权限分配位置
+     */
+    private static final class Builder {
+
+        private final PermissionEntity[] nodes;
+
+        private final int[] ends;
+
+        private final int[] parents;
+
+        private final Map<Long, Integer> positions;
+
+        private final Map<Long, List<PermissionEntity>> children;
+
+        private int size;
+
+        private Builder(int capacity, Map<Long, List<PermissionEntity>> children) {
+            this.nodes = new PermissionEntity[capacity];
+            this.ends = new int[capacity];
+            this.parents = new int[capacity];
+            this.positions = new HashMap<>(capacity * 2);
+            this.children = children;
+        }
+
+        private void visit(PermissionEntity permission, int parent) {
+            int position = size++;
+            nodes[position] = permission;
+            parents[position] = parent;
+            positions.put(permission.getId(), position);
+            for (PermissionEntity child : children.getOrDefault(permission.getId(), Collections.emptyList())) {
+                if (!positions.containsKey(child.getId())) {
+                    visit(child, position);
+                }
+            }
+            ends[position] = size;
+        }
+    }
+
+    /**
+     * 权限树快照，构建完成后不再修改
+     *
+     * @param nodes     按先序排列的权限
+     * @param ends      每个权限子树的结束位置（不含）
+     * @param parents   每个权限的父权限位置，根权限为-1
+     * @param positions 权限ID到位置的映射
+     */
+    private record Snapshot(PermissionEntity[] nodes, int[] ends, int[] parents, Map<Long, Integer> positions) {
+
+        private List<PermissionEntity> slice(int from, int to) {
+            return Collections.unmodifiableList(Arrays.asList(Arrays.copyOfRange(nodes, from, to)));
+        }
+    }
+}
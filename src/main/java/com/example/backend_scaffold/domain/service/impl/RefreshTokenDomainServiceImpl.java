@@ -0,0 +1,104 @@
+package com.example.backend_scaffold.domain.service.impl;
+
+import com.example.backend_scaffold.domain.event.UserStatusChangedEvent;
+import com.example.backend_scaffold.domain.model.entity.RefreshTokenEntity;
+import com.example.backend_scaffold.domain.model.enums.UserStatus;
+import com.example.backend_scaffold.domain.repository.RefreshTokenRepository;
+import com.example.backend_scaffold.domain.service.RefreshTokenDomainService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 刷新令牌领域服务实现类
+ * <p>
+ * 用户被锁定、禁用或删除时撤销其全部刷新令牌，刷新时无需再检查用户状态
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenDomainServiceImpl implements RefreshTokenDomainService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    @Transactional
+    public RefreshTokenEntity issue(Long userId, String username, String tokenHash, String familyId,
+                                    LocalDateTime expiresAt) {
+        RefreshTokenEntity refreshToken = new RefreshTokenEntity();
+        refreshToken.setUserId(userId);
+        refreshToken.setUsername(username);
+        refreshToken.setTokenHash(tokenHash);
+        refreshToken.setFamilyId(familyId != null ? familyId : UUID.randomUUID().toString());
+        refreshToken.setExpiresAt(expiresAt);
+        refreshToken.setRevoked(false);
+        return refreshTokenRepository.save(refreshToken);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RefreshTokenEntity> findByTokenHash(String tokenHash) {
+        return refreshTokenRepository.findByTokenHash(tokenHash);
+    }
+
+    @Override
+    @Transactional
+    public Optional<RefreshTokenEntity> rotate(RefreshTokenEntity current, String tokenHash, LocalDateTime expiresAt) {
+        if (refreshTokenRepository.markRotated(current.getId(), LocalDateTime.now()) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(issue(current.getUserId(), current.getUsername(), tokenHash, current.getFamilyId(), expiresAt));
+    }
+
+    @Override
+    @Transactional
+    public void revokeFamily(String familyId) {
+        int revoked = refreshTokenRepository.revokeByFamilyId(familyId);
+        log.info("Revoked {} refresh tokens of family {}", revoked, familyId);
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(Long userId) {
+        int revoked = refreshTokenRepository.revokeByUserId(userId);
+        log.info("Revoked {} refresh tokens of user {}", revoked, userId);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.purge-interval:3600000}")
+    public int purgeExpired() {
+        int deleted = refreshTokenRepository.deleteByExpiresAtBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired refresh tokens", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * 用户状态变更：用户不再处于正常状态时撤销其全部刷新令牌
+     * <p>
+     * 监听器在原事务提交后执行，需要开启新事务执行批量更新
+     * </p>
+     *
+     * @param event 用户状态变更事件
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        if (event.getStatus() != UserStatus.ACTIVE) {
+            revokeAll(event.getUserId());
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.backend_scaffold.domain.service.impl;
 
+import com.example.backend_scaffold.domain.event.RoleChangedEvent;
+import com.example.backend_scaffold.domain.event.RolePermissionChangedEvent;
 import com.example.backend_scaffold.domain.model.entity.RoleEntity;
 import com.example.backend_scaffold.domain.model.entity.RolePermissionEntity;
 import com.example.backend_scaffold.domain.repository.RolePermissionRepository;
 import com.example.backend_scaffold.domain.repository.RoleRepository;
 import com.example.backend_scaffold.domain.service.RoleDomainService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
@@ -29,6 +32,7 @@ public class RoleDomainServiceImpl implements RoleDomainService {
 
     private final RoleRepository roleRepository;
     private final RolePermissionRepository rolePermissionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -48,7 +52,9 @@ public class RoleDomainServiceImpl implements RoleDomainService {
             roleEntity.setIsEnabled(true);
         }
 
-        return roleRepository.save(roleEntity);
+        RoleEntity savedRole = roleRepository.save(roleEntity);
+        eventPublisher.publishEvent(new RoleChangedEvent(savedRole.getId()));
+        return savedRole;
     }
 
     @Override
@@ -75,7 +81,9 @@ public class RoleDomainServiceImpl implements RoleDomainService {
             throw new RuntimeException("Cannot change code for system role: " + existingRole.getCode());
         }
 
-        return roleRepository.save(roleEntity);
+        RoleEntity savedRole = roleRepository.save(roleEntity);
+        eventPublisher.publishEvent(new RoleChangedEvent(savedRole.getId()));
+        return savedRole;
     }
 
     @Override
@@ -95,6 +103,7 @@ public class RoleDomainServiceImpl implements RoleDomainService {
 
         // 删除角色
         roleRepository.deleteById(id);
+        eventPublisher.publishEvent(new RoleChangedEvent(id));
     }
 
     @Override
@@ -142,7 +151,9 @@ public class RoleDomainServiceImpl implements RoleDomainService {
             if (!existingRolePermission.get().getIsEnabled()) {
                 RolePermissionEntity rolePermission = existingRolePermission.get();
                 rolePermission.setIsEnabled(true);
-                return rolePermissionRepository.save(rolePermission);
+                RolePermissionEntity savedRolePermission = rolePermissionRepository.save(rolePermission);
+                eventPublisher.publishEvent(new RolePermissionChangedEvent(roleId, permissionId, true));
+                return savedRolePermission;
             }
             return existingRolePermission.get();
         }
@@ -152,13 +163,16 @@ public class RoleDomainServiceImpl implements RoleDomainService {
         rolePermission.setRoleId(roleId);
         rolePermission.setPermissionId(permissionId);
         rolePermission.setIsEnabled(true);
-        return rolePermissionRepository.save(rolePermission);
+        RolePermissionEntity savedRolePermission = rolePermissionRepository.save(rolePermission);
+        eventPublisher.publishEvent(new RolePermissionChangedEvent(roleId, permissionId, true));
+        return savedRolePermission;
     }
 
     @Override
     @Transactional
     public void removePermission(Long roleId, Long permissionId) {
         rolePermissionRepository.deleteByRoleIdAndPermissionId(roleId, permissionId);
+        eventPublisher.publishEvent(new RolePermissionChangedEvent(roleId, permissionId, false));
     }
 
     @Override
@@ -181,6 +195,7 @@ public class RoleDomainServiceImpl implements RoleDomainService {
         
         roleEntity.setIsEnabled(true);
         roleRepository.save(roleEntity);
+        eventPublisher.publishEvent(new RoleChangedEvent(roleId));
         return true;
     }
 
@@ -201,6 +216,7 @@ public class RoleDomainServiceImpl implements RoleDomainService {
         
         roleEntity.setIsEnabled(false);
         roleRepository.save(roleEntity);
+        eventPublisher.publishEvent(new RoleChangedEvent(roleId));
         return true;
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.backend_scaffold.domain.service.impl;
 
+import com.example.backend_scaffold.domain.event.UserRoleChangedEvent;
+import com.example.backend_scaffold.domain.event.UserStatusChangedEvent;
 import com.example.backend_scaffold.domain.model.entity.UserEntity;
 import com.example.backend_scaffold.domain.model.entity.UserRoleEntity;
 import com.example.backend_scaffold.domain.model.enums.UserStatus;
@@ -7,12 +9,14 @@ import com.example.backend_scaffold.domain.repository.UserRepository;
 import com.example.backend_scaffold.domain.repository.UserRoleRepository;
 import com.example.backend_scaffold.domain.service.UserDomainService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -32,6 +36,7 @@ public class UserDomainServiceImpl implements UserDomainService {
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -113,6 +118,7 @@ public class UserDomainServiceImpl implements UserDomainService {
         UserEntity userEntity = userRepository.findById(id).get();
         userEntity.setStatus(UserStatus.DELETED);
         userRepository.save(userEntity);
+        eventPublisher.publishEvent(new UserStatusChangedEvent(id, UserStatus.DELETED));
     }
 
     @Override
@@ -170,7 +176,9 @@ public class UserDomainServiceImpl implements UserDomainService {
             if (!existingUserRole.get().getIsEnabled()) {
                 UserRoleEntity userRole = existingUserRole.get();
                 userRole.setIsEnabled(true);
-                return userRoleRepository.save(userRole);
+                UserRoleEntity savedUserRole = userRoleRepository.save(userRole);
+                eventPublisher.publishEvent(new UserRoleChangedEvent(userId, roleId, true));
+                return savedUserRole;
             }
             return existingUserRole.get();
         }
@@ -180,13 +188,16 @@ public class UserDomainServiceImpl implements UserDomainService {
         userRole.setUserId(userId);
         userRole.setRoleId(roleId);
         userRole.setIsEnabled(true);
-        return userRoleRepository.save(userRole);
+        UserRoleEntity savedUserRole = userRoleRepository.save(userRole);
+        eventPublisher.publishEvent(new UserRoleChangedEvent(userId, roleId, true));
+        return savedUserRole;
     }
 
     @Override
     @Transactional
     public void removeRole(Long userId, Long roleId) {
         userRoleRepository.deleteByUserIdAndRoleId(userId, roleId);
+        eventPublisher.publishEvent(new UserRoleChangedEvent(userId, roleId, false));
     }
 
     @Override
@@ -238,6 +249,7 @@ public class UserDomainServiceImpl implements UserDomainService {
 
         userEntity.setStatus(UserStatus.LOCKED);
         userRepository.save(userEntity);
+        eventPublisher.publishEvent(new UserStatusChangedEvent(userId, UserStatus.LOCKED));
         return true;
     }
 
@@ -253,6 +265,7 @@ public class UserDomainServiceImpl implements UserDomainService {
 
         userEntity.setStatus(UserStatus.ACTIVE);
         userRepository.save(userEntity);
+        eventPublisher.publishEvent(new UserStatusChangedEvent(userId, UserStatus.ACTIVE));
         return true;
     }
 
@@ -272,6 +285,7 @@ public class UserDomainServiceImpl implements UserDomainService {
 
         userEntity.setStatus(UserStatus.ACTIVE);
         userRepository.save(userEntity);
+        eventPublisher.publishEvent(new UserStatusChangedEvent(userId, UserStatus.ACTIVE));
         return true;
     }
 
@@ -291,9 +305,16 @@ public class UserDomainServiceImpl implements UserDomainService {
 
         userEntity.setStatus(UserStatus.DISABLED);
         userRepository.save(userEntity);
+        eventPublisher.publishEvent(new UserStatusChangedEvent(userId, UserStatus.DISABLED));
         return true;
     }
 
+    @Override
+    @Transactional
+    public void recordLogin(Long userId) {
+        userRepository.updateLastLoginTime(userId, LocalDateTime.now());
+    }
+
     @Override
     public boolean verifyPassword(String rawPassword, String encodedPassword) {
         return passwordEncoder.matches(rawPassword, encodedPassword);
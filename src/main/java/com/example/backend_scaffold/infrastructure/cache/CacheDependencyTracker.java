@@ -0,0 +1,349 @@
+package com.example.backend_scaffold.infrastructure.cache;
+
+import com.example.backend_scaffold.domain.event.RoleChangedEvent;
+import com.example.backend_scaffold.domain.event.RolePermissionChangedEvent;
+import com.example.backend_scaffold.domain.event.UserRoleChangedEvent;
+import com.example.backend_scaffold.domain.event.UserStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 缓存依赖跟踪器
+ * <p>
+ * 记录每个缓存条目在加载时读取了哪些实体（如角色视图依赖角色，用户权限集合依赖用户及其角色），
+ * 实体变更时只删除依赖该实体的条目，其他条目保持命中。依赖以{@link EntityKey}表示，
+ * 如role:id:1；表示实体集合的依赖（如{@link CacheKey#ROLE_ALL}）用于列表和分页结果。
+ * </p>
+ * <p>
+ * 角色、角色权限、用户角色和用户状态变更在事务提交后自动使对应的依赖失效，
+ * 监听器在{@link com.example.backend_scaffold.infrastructure.security.RolePermissionMatrix}更新之后执行，
+ * 条目不会从旧的矩阵重建。每次失效删除的条目数以cache.evictions.dependent指标按原因和缓存名称导出。
+ * </p>
+ * <p>
+ * 依赖记录只保存在本节点。启用Redis（cluster.redis.enabled=true）时失效通过发布/订阅通知其他节点，
+ * 各节点删除自己记录的依赖条目。条目因容量或过期被淘汰后，其依赖记录按cache.dependency.prune-interval
+ * 定期清除；清除只针对记录时间早于一个间隔且已不在本节点缓存中的条目，正在加载的条目不受影响。
+ * 节点重启或记录被清除后，二级缓存和其他节点上的条目不再被跟踪，
+ * 因此只对应单个实体的条目（如按ID缓存的角色）应在修改时按键直接删除，跟踪器只用于包含多个实体的聚合结果。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+@Service
+public class CacheDependencyTracker implements MessageListener {
+
+    /**
+     * 依赖失效通知频道
+     */
+    public static final String DEPENDENCY_CHANNEL = "cache:dependency";
+
+    /**
+     * 依赖失效指标名称
+     */
+    private static final String EVICTION_METRIC = "cache.evictions.dependent";
+
+    /**
+     * 缓存服务
+     */
+    private final CacheService cacheService;
+
+    /**
+     * 指标注册表
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Redis模板，未启用Redis时为null
+     */
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 消息监听容器，未启用Redis时为null
+     */
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 本节点标识，用于忽略自己发出的通知
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 清除过期依赖记录的间隔（毫秒），同时作为记录的最短保留时间
+     */
+    private final long pruneIntervalMillis;
+
+    /**
+     * 依赖（EntityKey的字符串形式）到依赖它的缓存条目及其记录时间戳的映射
+     */
+    private final ConcurrentMap<String, ConcurrentMap<Dependent, Long>> dependents = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param cacheService        缓存服务
+     * @param meterRegistry       指标注册表
+     * @param redisEnabled        是否启用Redis
+     * @param redisTemplate       Redis模板
+     * @param listenerContainer   消息监听容器
+     * @param pruneIntervalMillis 清除过期依赖记录的间隔（毫秒）
+     */
+    public CacheDependencyTracker(
+            CacheService cacheService,
+            MeterRegistry meterRegistry,
+            @Value("${cluster.redis.enabled:false}") boolean redisEnabled,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+            @Value("${cache.dependency.prune-interval:60000}") long pruneIntervalMillis) {
+        this.cacheService = cacheService;
+        this.meterRegistry = meterRegistry;
+        this.redisTemplate = redisEnabled ? redisTemplate.getIfAvailable() : null;
+        this.listenerContainer = redisEnabled ? listenerContainer.getIfAvailable() : null;
+        this.pruneIntervalMillis = pruneIntervalMillis;
+    }
+
+    /**
+     * 初始化：订阅依赖失效通知
+     */
+    @PostConstruct
+    public void init() {
+        if (listenerContainer != null) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(DEPENDENCY_CHANNEL));
+        }
+    }
+
+    /**
+     * 记录缓存条目的依赖，应在加载条目的过程中调用
+     *
+     * @param cacheName    缓存名称
+     * @param key          缓存键
+     * @param dependencies 条目加载时读取的实体
+     */
+    public void record(String cacheName, Object key, EntityKey... dependencies) {
+        record(cacheName, key, List.of(dependencies));
+    }
+
+    /**
+     * 记录缓存条目的依赖，应在加载条目的过程中调用
+     *
+     * @param cacheName    缓存名称
+     * @param key          缓存键
+     * @param dependencies 条目加载时读取的实体
+     */
+    public void record(String cacheName, Object key, Collection<EntityKey> dependencies) {
+        Dependent dependent = new Dependent(cacheName, key);
+        long now = System.currentTimeMillis();
+        for (EntityKey dependency : dependencies) {
+            // 与清除空映射的computeIfPresent互斥，记录不会写入已被移除的映射
+            dependents.compute(dependency.toString(), (ignored, entries) -> {
+                ConcurrentMap<Dependent, Long> updated = entries != null ? entries : new ConcurrentHashMap<>();
+                updated.put(dependent, now);
+                return updated;
+            });
+        }
+    }
+
+    /**
+     * 使依赖失效：删除本节点上依赖该实体的缓存条目，并通知其他节点
+     *
+     * @param dependency 变更的实体
+     * @param cause      失效原因，用作指标标签
+     * @return 本节点删除的条目数
+     */
+    public int invalidate(EntityKey dependency, String cause) {
+        int evicted = invalidateLocal(dependency.toString(), cause);
+        publish(cause, dependency.toString());
+        return evicted;
+    }
+
+    /**
+     * 获取依赖当前记录的缓存条目数
+     *
+     * @param dependency 实体
+     * @return 条目数
+     */
+    public int dependentCount(EntityKey dependency) {
+        Map<Dependent, Long> entries = dependents.get(dependency.toString());
+        return entries != null ? entries.size() : 0;
+    }
+
+    /**
+     * 清除已不在本节点缓存中的条目的依赖记录
+     * <p>
+     * 条目因容量或过期被淘汰时不经过本跟踪器，其记录由此处定期清除。
+     * 只清除记录时间早于一个间隔的记录，加载过程中登记、尚未写入缓存的条目不会被误删；
+     * 条目重新加载时记录时间随之更新。
+     * </p>
+     *
+     * @return 清除的记录数
+     */
+    @Scheduled(fixedDelayString = "${cache.dependency.prune-interval:60000}",
+            initialDelayString = "${cache.dependency.prune-interval:60000}")
+    public int prune() {
+        long cutoff = System.currentTimeMillis() - pruneIntervalMillis;
+        int pruned = 0;
+        for (Map.Entry<String, ConcurrentMap<Dependent, Long>> dependency : dependents.entrySet()) {
+            ConcurrentMap<Dependent, Long> entries = dependency.getValue();
+            for (Map.Entry<Dependent, Long> entry : entries.entrySet()) {
+                Dependent dependent = entry.getKey();
+                if (entry.getValue() < cutoff
+                        && !cacheService.containsLocally(dependent.cacheName(), dependent.key())
+                        && entries.remove(dependent, entry.getValue())) {
+                    pruned++;
+                }
+            }
+            dependents.computeIfPresent(dependency.getKey(),
+                    (ignored, current) -> current.isEmpty() ? null : current);
+        }
+        if (pruned > 0) {
+            log.debug("Pruned {} dependency records of evicted cache entries", pruned);
+        }
+        return pruned;
+    }
+
+    /**
+     * 角色变更
+     *
+     * @param event 角色变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoleChanged(RoleChangedEvent event) {
+        invalidate(EntityKey.of(CacheKey.ROLE_ID, event.getRoleId()), "role");
+    }
+
+    /**
+     * 角色权限变更
+     *
+     * @param event 角色权限变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolePermissionChanged(RolePermissionChangedEvent event) {
+        invalidate(EntityKey.of(CacheKey.ROLE_ID, event.getRoleId()), "role_permission");
+    }
+
+    /**
+     * 用户角色变更
+     *
+     * @param event 用户角色变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRoleChanged(UserRoleChangedEvent event) {
+        invalidate(EntityKey.of(CacheKey.USER_ID, event.getUserId()), "user_role");
+    }
+
+    /**
+     * 用户状态变更
+     *
+     * @param event 用户状态变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        invalidate(EntityKey.of(CacheKey.USER_ID, event.getUserId()), "user_status");
+    }
+
+    /**
+     * 接收其他节点的依赖失效通知
+     *
+     * @param message 消息，格式为 节点标识:原因:依赖
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        // 依赖本身包含冒号，只拆分前两段
+        String[] parts = body.split(":", 3);
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed cache dependency message: {}", body);
+            return;
+        }
+        if (!nodeId.equals(parts[0])) {
+            invalidateLocal(parts[2], parts[1]);
+        }
+    }
+
+    /**
+     * 删除本节点上依赖该实体的缓存条目
+     *
+     * @param dependency 依赖的字符串形式
+     * @param cause      失效原因
+     * @return 删除的条目数
+     */
+    private int invalidateLocal(String dependency, String cause) {
+        Map<Dependent, Long> entries = dependents.remove(dependency);
+        if (entries == null) {
+            return 0;
+        }
+        for (Dependent entry : entries.keySet()) {
+            cacheService.evict(entry.cacheName(), entry.key());
+            counter(cause, entry.cacheName()).increment();
+        }
+        log.debug("Invalidated {} cache entries depending on {} ({})", entries.size(), dependency, cause);
+        return entries.size();
+    }
+
+    /**
+     * 通知其他节点依赖失效
+     *
+     * @param cause      失效原因
+     * @param dependency 依赖的字符串形式
+     */
+    private void publish(String cause, String dependency) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(DEPENDENCY_CHANNEL, nodeId + ":" + cause + ":" + dependency);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish cache dependency invalidation to Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 获取按原因和缓存名称区分的计数器
+     *
+     * @param cause     失效原因
+     * @param cacheName 缓存名称
+     * @return 计数器
+     */
+    private Counter counter(String cause, String cacheName) {
+        return Counter.builder(EVICTION_METRIC)
+                .tag("cause", cause)
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 依赖实体的缓存条目
+     *
+     * @param cacheName 缓存名称
+     * @param key       缓存键
+     */
+    private record Dependent(String cacheName, Object key) {
+    }
+}
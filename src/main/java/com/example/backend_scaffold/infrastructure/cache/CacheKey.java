@@ -3,7 +3,9 @@ package com.example.backend_scaffold.infrastructure.cache;
 /**
  * 缓存键常量类
  * <p>
- * 定义系统中使用的所有缓存键，避免硬编码和重复定义
+ * 定义系统中使用的所有缓存键，避免硬编码和重复定义。
+ * 每个键前缀由实体和查询维度组成，同一缓存中按不同维度存放的条目互不冲突，
+ * 通过{@link EntityKey}和{@link EntityKeyGenerator}使用
  * </p>
  *
  * @author example
@@ -40,6 +42,11 @@ public class CacheKey {
      */
     public static final String USER_ROLES = USER_PREFIX + "roles:";
 
+    /**
+     * 用户角色和权限编码缓存键
+     */
+    public static final String USER_AUTHORITIES = USER_PREFIX + "authorities:";
+
     /**
      * 角色缓存前缀
      */
@@ -55,6 +62,21 @@ public class CacheKey {
      */
     public static final String ROLE_NAME = ROLE_PREFIX + "name:";
 
+    /**
+     * 角色编码缓存键
+     */
+    public static final String ROLE_CODE = ROLE_PREFIX + "code:";
+
+    /**
+     * 全部角色列表缓存键
+     */
+    public static final String ROLE_ALL = ROLE_PREFIX + "all";
+
+    /**
+     * 角色分页缓存键，后接页码、每页数量和排序
+     */
+    public static final String ROLE_PAGE = ROLE_PREFIX + "page:";
+
     /**
      * 角色权限缓存键
      */
@@ -80,6 +102,11 @@ public class CacheKey {
      */
     public static final String PERMISSION_CODE = PERMISSION_PREFIX + "code:";
 
+    /**
+     * 菜单树缓存键，后接权限位图
+     */
+    public static final String PERMISSION_MENU = PERMISSION_PREFIX + "menu:";
+
     /**
      * 验证码缓存键
      */
@@ -90,6 +117,11 @@ public class CacheKey {
      */
     public static final String TOKEN_BLACKLIST = "token:blacklist:";
 
+    /**
+     * 登录尝试计数缓存键
+     */
+    public static final String LOGIN_ATTEMPT = "login:attempt:";
+
     /**
      * 系统配置缓存键
      */
@@ -0,0 +1,29 @@
+package com.example.backend_scaffold.infrastructure.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 缓存键维度注解
+ * <p>
+ * 标注在使用{@link EntityKeyGenerator}的缓存方法上，指定缓存键的维度前缀，
+ * 如{@code @CacheKeyDimension(CacheKey.ROLE_ID)}，方法参数按顺序作为查询参数
+ * </p>
+ *
+ * @author example
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheKeyDimension {
+
+    /**
+     * 维度前缀，取自{@link CacheKey}
+     *
+     * @return 维度前缀
+     */
+    String value();
+}
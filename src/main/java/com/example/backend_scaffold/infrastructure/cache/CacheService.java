@@ -1,31 +1,91 @@
 package com.example.backend_scaffold.infrastructure.cache;
 
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 缓存服务类
  * <p>
  * 提供缓存的存取方法，使用Spring Cache抽象，支持不同的缓存实现
  * </p>
+ * <p>
+ * 通过加载函数读取时，同一缓存键上并发的未命中共享同一次加载，等待者数量以cache.loads.coalesced指标导出。
+ * 底层为Caffeine缓存且配置了expireAfterWrite时，在条目剩余存活时间不足cache.refresh-ahead.ratio比例的窗口内被读取，
+ * 即在异步线程池中提前重新加载，读取方立即得到当前值，热点条目不会因过期而集中回源；
+ * 不再被读取的条目照常过期。配置了refreshAfterWrite的缓存由Caffeine自行刷新，不重复处理。
+ * </p>
  *
  * @author example
  */
+@Slf4j
 @Service
 public class CacheService {
 
+    /**
+     * 合并加载指标名称
+     */
+    private static final String COALESCED_METRIC = "cache.loads.coalesced";
+
+    /**
+     * 提前刷新指标名称
+     */
+    private static final String REFRESH_AHEAD_METRIC = "cache.refresh.ahead";
+
     private final CacheManager cacheManager;
 
+    /**
+     * 指标注册表
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 执行提前刷新的线程池
+     */
+    private final Executor executor;
+
+    /**
+     * 触发提前刷新的剩余存活时间比例，不大于0时关闭提前刷新
+     */
+    private final double refreshAheadRatio;
+
+    /**
+     * 正在进行的加载和刷新
+     */
+    private final ConcurrentMap<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
     /**
      * 构造函数
      *
-     * @param cacheManager 缓存管理器
+     * @param cacheManager      缓存管理器
+     * @param meterRegistry     指标注册表
+     * @param executor          执行提前刷新的线程池
+     * @param refreshAheadRatio 触发提前刷新的剩余存活时间比例，不大于0时关闭提前刷新
      */
-    public CacheService(CacheManager cacheManager) {
+    public CacheService(CacheManager cacheManager, MeterRegistry meterRegistry,
+                        @Qualifier("taskExecutor") Executor executor,
+                        @Value("${cache.refresh-ahead.ratio:0.2}") double refreshAheadRatio) {
         this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.executor = executor;
+        this.refreshAheadRatio = refreshAheadRatio;
     }
 
     /**
@@ -44,6 +104,9 @@ public class CacheService {
 
     /**
      * 获取缓存，如果不存在则通过valueLoader加载
+     * <p>
+     * 并发的未命中只调用一次valueLoader，临近过期的条目在后台提前重新加载
+     * </p>
      *
      * @param cacheName   缓存名称
      * @param key         缓存键
@@ -51,9 +114,17 @@ public class CacheService {
      * @param <T>         泛型参数
      * @return 缓存值
      */
+    @SuppressWarnings("unchecked")
     public <T> T get(String cacheName, Object key, Callable<T> valueLoader) {
         Cache cache = getCache(cacheName);
-        return cache.get(key, valueLoader);
+        Cache.ValueWrapper wrapper = cache.get(key);
+        if (wrapper != null) {
+            if (isExpiring(cache, key)) {
+                refreshAhead(cache, key, valueLoader, wrapper.get());
+            }
+            return (T) wrapper.get();
+        }
+        return (T) load(cache, key, valueLoader);
     }
 
     /**
@@ -89,6 +160,155 @@ public class CacheService {
         cache.clear();
     }
 
+    /**
+     * 判断条目是否存在于本节点的缓存中，不查询二级缓存，也不影响条目的访问统计
+     *
+     * @param cacheName 缓存名称
+     * @param key       缓存键
+     * @return 是否存在，无法判断时返回true
+     */
+    public boolean containsLocally(String cacheName, Object key) {
+        Cache cache = getCache(cacheName);
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            Object nativeKey = cache instanceof TwoTierCache ? TwoTierCache.toCacheKey(key) : key;
+            return caffeineCache.asMap().containsKey(nativeKey);
+        }
+        if (nativeCache instanceof Map<?, ?> map) {
+            return map.containsKey(key);
+        }
+        return true;
+    }
+
+    /**
+     * 加载未命中的条目，同一缓存键上已有加载或刷新时等待其结果
+     *
+     * @param cache       缓存
+     * @param key         缓存键
+     * @param valueLoader 值加载器
+     * @return 缓存值
+     */
+    private Object load(Cache cache, Object key, Callable<?> valueLoader) {
+        FlightKey flightKey = new FlightKey(cache.getName(), key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            counter(COALESCED_METRIC, cache.getName()).increment();
+            return await(existing);
+        }
+        try {
+            Object value = cache.get(key, valueLoader);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * 在后台重新加载条目，同一缓存键上已有加载或刷新时跳过
+     *
+     * @param cache        缓存
+     * @param key          缓存键
+     * @param valueLoader  值加载器
+     * @param currentValue 触发刷新时的值
+     */
+    private void refreshAhead(Cache cache, Object key, Callable<?> valueLoader, Object currentValue) {
+        FlightKey flightKey = new FlightKey(cache.getName(), key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(flightKey, flight) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    Object value = valueLoader.call();
+                    // 刷新期间条目被删除或替换时丢弃结果，避免覆盖更新后的数据
+                    Cache.ValueWrapper wrapper = cache.get(key);
+                    if (wrapper != null && wrapper.get() == currentValue) {
+                        cache.put(key, value);
+                    }
+                    flight.complete(value);
+                    counter(REFRESH_AHEAD_METRIC, cache.getName(), "result", "success").increment();
+                } catch (Exception e) {
+                    log.warn("Failed to refresh cache '{}' key '{}' ahead of expiry: {}",
+                            cache.getName(), key, e.getMessage());
+                    flight.completeExceptionally(new Cache.ValueRetrievalException(key, valueLoader, e));
+                    counter(REFRESH_AHEAD_METRIC, cache.getName(), "result", "failure").increment();
+                } finally {
+                    inFlight.remove(flightKey, flight);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 线程池饱和时放弃本次刷新，条目在到期前被读取时还会再次尝试
+            inFlight.remove(flightKey, flight);
+            flight.complete(currentValue);
+            counter(REFRESH_AHEAD_METRIC, cache.getName(), "result", "rejected").increment();
+        }
+    }
+
+    /**
+     * 判断条目是否进入提前刷新窗口
+     *
+     * @param cache 缓存
+     * @param key   缓存键
+     * @return 剩余存活时间是否不足配置的比例
+     */
+    @SuppressWarnings("unchecked")
+    private boolean isExpiring(Cache cache, Object key) {
+        if (refreshAheadRatio <= 0
+                || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            return false;
+        }
+        Policy<Object, Object> policy = (Policy<Object, Object>) nativeCache.policy();
+        if (policy.refreshAfterWrite().isPresent()) {
+            return false;
+        }
+        Optional<Policy.FixedExpiration<Object, Object>> expiration = policy.expireAfterWrite();
+        if (expiration.isEmpty()) {
+            return false;
+        }
+        Object nativeKey = cache instanceof TwoTierCache ? TwoTierCache.toCacheKey(key) : key;
+        Optional<Duration> age = expiration.get().ageOf(nativeKey);
+        long ttlMillis = expiration.get().getExpiresAfter().toMillis();
+        return age.isPresent() && age.get().toMillis() >= ttlMillis * (1 - refreshAheadRatio);
+    }
+
+    /**
+     * 等待其他线程的加载结果
+     *
+     * @param flight 进行中的加载
+     * @return 缓存值
+     */
+    private Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 获取按缓存名称区分的计数器
+     *
+     * @param name      指标名称
+     * @param cacheName 缓存名称
+     * @param tags      其他标签
+     * @return 计数器
+     */
+    private Counter counter(String name, String cacheName, String... tags) {
+        return Counter.builder(name).tag("cache", cacheName).tags(tags).register(meterRegistry);
+    }
+
     /**
      * 获取缓存对象
      *
@@ -102,4 +322,13 @@ public class CacheService {
         }
         return cache;
     }
-}
\ No newline at end of file
+
+    /**
+     * 进行中的加载的标识
+     *
+     * @param cacheName 缓存名称
+     * @param key       缓存键
+     */
+    private record FlightKey(String cacheName, Object key) {
+    }
+}
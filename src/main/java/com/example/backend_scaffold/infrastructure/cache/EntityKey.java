@@ -0,0 +1,57 @@
+package com.example.backend_scaffold.infrastructure.cache;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * 实体缓存键
+ * <p>
+ * 由{@link CacheKey}中的维度前缀和查询参数组成，如role:id:1、role:code:ADMIN，
+ * 同一缓存中不同维度的条目互不冲突，删除时可按实体和维度精确构造出对应的键。
+ * 字符串形式即前缀与参数的拼接，在本地缓存、Redis和节点间通知中保持一致。
+ * </p>
+ *
+ * @param dimension 维度前缀，取自{@link CacheKey}
+ * @param value     查询参数，多个参数以冒号分隔
+ * @author example
+ */
+public record EntityKey(String dimension, String value) {
+
+    /**
+     * 创建实体缓存键
+     * <p>
+     * 分页参数转换为 页码-每页数量[-排序] 形式，不同排序的分页结果分别缓存
+     * </p>
+     *
+     * @param dimension 维度前缀，取自{@link CacheKey}
+     * @param parts     查询参数
+     * @return 实体缓存键
+     */
+    public static EntityKey of(String dimension, Object... parts) {
+        String value = Arrays.stream(parts)
+                .map(EntityKey::format)
+                .collect(Collectors.joining(":"));
+        return new EntityKey(dimension, value);
+    }
+
+    @Override
+    public String toString() {
+        return dimension + value;
+    }
+
+    /**
+     * 格式化单个查询参数
+     *
+     * @param part 查询参数
+     * @return 字符串形式
+     */
+    private static String format(Object part) {
+        if (part instanceof Pageable pageable) {
+            String page = pageable.getPageNumber() + "-" + pageable.getPageSize();
+            return pageable.getSort().isSorted() ? page + "-" + pageable.getSort() : page;
+        }
+        return String.valueOf(part);
+    }
+}
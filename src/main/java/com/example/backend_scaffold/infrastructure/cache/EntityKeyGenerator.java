@@ -0,0 +1,37 @@
+package com.example.backend_scaffold.infrastructure.cache;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * 实体缓存键生成器
+ * <p>
+ * 根据方法上的{@link CacheKeyDimension}和方法参数生成{@link EntityKey}，
+ * 在缓存注解中以keyGenerator = EntityKeyGenerator.NAME引用。
+ * 方法未标注维度时抛出异常，避免不同查询维度的条目在同一缓存中互相覆盖。
+ * </p>
+ *
+ * @author example
+ */
+@Component(EntityKeyGenerator.NAME)
+public class EntityKeyGenerator implements KeyGenerator {
+
+    /**
+     * Bean名称
+     */
+    public static final String NAME = "entityKeyGenerator";
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, target.getClass());
+        CacheKeyDimension dimension = AnnotatedElementUtils.findMergedAnnotation(specificMethod, CacheKeyDimension.class);
+        if (dimension == null) {
+            throw new IllegalStateException("Missing @CacheKeyDimension on cached method " + specificMethod);
+        }
+        return EntityKey.of(dimension.value(), params);
+    }
+}
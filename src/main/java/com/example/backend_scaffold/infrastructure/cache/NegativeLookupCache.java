@@ -0,0 +1,146 @@
+package com.example.backend_scaffold.infrastructure.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 未命中查询缓存
+ * <p>
+ * 记录按用户名、邮箱、手机号、角色编码和权限编码查询时数据库中不存在的值，
+ * 短时间内重复的查询（如用户名探测、输错的用户名、注册时的重复检查）直接返回不存在，不再访问数据库。
+ * 只缓存未命中的结果，存在的实体仍然每次查询数据库。条目存活时间由cache.specs.missingKeys配置，
+ * 启用Redis时条目通过两级缓存在节点间共享。
+ * </p>
+ * <p>
+ * 保存实体时删除其各个查询维度上的未命中条目：保存时立即删除一次，事务提交后再删除一次，
+ * 避免并发查询在提交前重新写入未命中条目，保证注册和创建之后立即可以查到新实体。
+ * 查询值按小写存放，与数据库默认的不区分大小写的排序规则一致。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NegativeLookupCache {
+
+    /**
+     * 未命中查询缓存名称
+     */
+    public static final String CACHE_NAME = "missingKeys";
+
+    /**
+     * 缓存服务
+     */
+    private final CacheService cacheService;
+
+    /**
+     * 按单个维度查询实体，已知不存在时不调用查询函数
+     *
+     * @param dimension 查询维度，如{@link CacheKey#USER_NAME}
+     * @param value     查询值
+     * @param lookup    查询函数
+     * @param <T>       实体类型
+     * @return 实体
+     */
+    public <T> Optional<T> find(String dimension, String value, Supplier<Optional<T>> lookup) {
+        if (value == null) {
+            return lookup.get();
+        }
+        EntityKey key = key(dimension, value);
+        if (isMissing(key)) {
+            return Optional.empty();
+        }
+        Optional<T> result = lookup.get();
+        if (result.isEmpty()) {
+            markMissing(key);
+        }
+        return result;
+    }
+
+    /**
+     * 按单个维度检查实体是否存在，已知不存在时不调用检查函数
+     *
+     * @param dimension 查询维度，如{@link CacheKey#USER_NAME}
+     * @param value     查询值
+     * @param exists    检查函数
+     * @return 是否存在
+     */
+    public boolean exists(String dimension, String value, BooleanSupplier exists) {
+        if (value == null) {
+            return exists.getAsBoolean();
+        }
+        EntityKey key = key(dimension, value);
+        if (isMissing(key)) {
+            return false;
+        }
+        boolean result = exists.getAsBoolean();
+        if (!result) {
+            markMissing(key);
+        }
+        return result;
+    }
+
+    /**
+     * 删除实体在某个维度上的未命中条目，应在保存实体时调用
+     *
+     * @param dimension 查询维度
+     * @param values    实体在该维度上的值，null值忽略
+     */
+    public void evict(String dimension, String... values) {
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            EntityKey key = key(dimension, value);
+            cacheService.evict(CACHE_NAME, key);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        cacheService.evict(CACHE_NAME, key);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * 是否已知不存在
+     *
+     * @param key 缓存键
+     * @return 是否已知不存在
+     */
+    private boolean isMissing(EntityKey key) {
+        return Boolean.TRUE.equals(cacheService.get(CACHE_NAME, key, Boolean.class));
+    }
+
+    /**
+     * 记录未命中
+     *
+     * @param key 缓存键
+     */
+    private void markMissing(EntityKey key) {
+        cacheService.put(CACHE_NAME, key, Boolean.TRUE);
+        log.debug("Cached missing lookup {}", key);
+    }
+
+    /**
+     * 计算缓存键
+     *
+     * @param dimension 查询维度
+     * @param value     查询值
+     * @return 缓存键
+     */
+    private static EntityKey key(String dimension, String value) {
+        return EntityKey.of(dimension, value.toLowerCase(Locale.ROOT));
+    }
+}
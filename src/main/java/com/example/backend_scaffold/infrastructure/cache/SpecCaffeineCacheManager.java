@@ -0,0 +1,213 @@
+package com.example.backend_scaffold.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按缓存名称分别配置的Caffeine缓存管理器
+ * <p>
+ * 每个缓存使用独立的Caffeine规格（如maximumSize=1000,expireAfterWrite=10m,refreshAfterWrite=1m），
+ * 未单独配置的缓存使用默认规格，容量受限并按访问频率淘汰。
+ * 所有缓存都记录统计信息，命中、未命中、淘汰和加载耗时以cache.*指标导出到Micrometer。
+ * </p>
+ * <p>
+ * 配置了refreshAfterWrite的缓存在条目写入超过刷新间隔后的首次读取时，返回旧值并在后台重新加载。
+ * 重新加载使用最近一次通过{@link Cache#get(Object, Callable)}写入该条目时的加载函数；
+ * 没有加载函数的条目（如非同步的@Cacheable写入）在刷新时被移除，下次读取时重新加载。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+public class SpecCaffeineCacheManager extends CaffeineCacheManager {
+
+    /**
+     * 刷新间隔配置项名称
+     */
+    private static final String REFRESH_AFTER_WRITE = "refreshAfterWrite";
+
+    /**
+     * 默认规格
+     */
+    private final String defaultSpec;
+
+    /**
+     * 指标注册表
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 指标中的缓存管理器名称
+     */
+    private final String managerName;
+
+    /**
+     * 配置了写入后刷新的原生缓存到其重新加载函数表的映射
+     */
+    private final Map<com.github.benmanes.caffeine.cache.Cache<Object, Object>, ReloadingCacheLoader> reloaders =
+            new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param defaultSpec   未单独配置的缓存使用的默认规格
+     * @param specs         缓存名称到规格的映射，其中的缓存在启动时创建
+     * @param meterRegistry 指标注册表
+     * @param managerName   指标中的缓存管理器名称
+     */
+    public SpecCaffeineCacheManager(String defaultSpec, Map<String, String> specs, MeterRegistry meterRegistry,
+                                    String managerName) {
+        CaffeineSpec.parse(defaultSpec);
+        this.defaultSpec = defaultSpec;
+        this.meterRegistry = meterRegistry;
+        this.managerName = managerName;
+        specs.forEach((name, spec) -> registerCustomCache(name, build(spec)));
+    }
+
+    @Override
+    protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createNativeCaffeineCache(String name) {
+        log.info("Creating cache '{}' with default spec: {}", name, defaultSpec);
+        return build(defaultSpec);
+    }
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name, "cache.manager", managerName);
+        ReloadingCacheLoader loader = reloaders.get(cache);
+        if (loader != null && cache instanceof LoadingCache<Object, Object> loadingCache) {
+            return new RefreshingCaffeineCache(name, loadingCache, isAllowNullValues(), loader);
+        }
+        return new CaffeineCache(name, cache, isAllowNullValues());
+    }
+
+    /**
+     * 按规格构建Caffeine缓存
+     *
+     * @param spec 规格
+     * @return Caffeine缓存
+     */
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> build(String spec) {
+        Caffeine<Object, Object> builder = Caffeine.from(CaffeineSpec.parse(spec)).recordStats();
+        if (!spec.contains(REFRESH_AFTER_WRITE)) {
+            return builder.build();
+        }
+        ReloadingCacheLoader loader = new ReloadingCacheLoader();
+        LoadingCache<Object, Object> cache = builder
+                .evictionListener((key, value, cause) -> loader.forget(key))
+                .build(loader);
+        reloaders.put(cache, loader);
+        return cache;
+    }
+
+    /**
+     * 重新加载函数表
+     * <p>
+     * 记录每个条目的加载函数，供refreshAfterWrite到期后的后台重新加载使用。
+     * 条目被淘汰、过期或显式清除时同时移除其加载函数。
+     * </p>
+     */
+    private static final class ReloadingCacheLoader implements CacheLoader<Object, Object> {
+
+        /**
+         * 缓存键到加载函数的映射
+         */
+        private final ConcurrentMap<Object, Callable<?>> loaders = new ConcurrentHashMap<>();
+
+        /**
+         * 记录加载函数
+         *
+         * @param key    缓存键
+         * @param loader 返回存储值的加载函数
+         */
+        private void remember(Object key, Callable<?> loader) {
+            loaders.put(key, loader);
+        }
+
+        /**
+         * 移除加载函数
+         *
+         * @param key 缓存键
+         */
+        private void forget(Object key) {
+            loaders.remove(key);
+        }
+
+        /**
+         * 移除全部加载函数
+         */
+        private void forgetAll() {
+            loaders.clear();
+        }
+
+        @Override
+        public Object load(Object key) throws Exception {
+            Callable<?> loader = loaders.get(key);
+            return loader != null ? loader.call() : null;
+        }
+
+        @Override
+        public Object reload(Object key, Object oldValue) throws Exception {
+            // 没有加载函数时返回null，条目被移除
+            return load(key);
+        }
+    }
+
+    /**
+     * 支持写入后刷新的Spring缓存适配
+     */
+    private static final class RefreshingCaffeineCache extends CaffeineCache {
+
+        private final ReloadingCacheLoader loader;
+
+        private RefreshingCaffeineCache(String name, LoadingCache<Object, Object> cache, boolean allowNullValues,
+                                        ReloadingCacheLoader loader) {
+            super(name, cache, allowNullValues);
+            this.loader = loader;
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            loader.remember(key, () -> toStoreValue(valueLoader.call()));
+            return super.get(key, valueLoader);
+        }
+
+        @Override
+        public void evict(Object key) {
+            super.evict(key);
+            loader.forget(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean present = super.evictIfPresent(key);
+            loader.forget(key);
+            return present;
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            loader.forgetAll();
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean notEmpty = super.invalidate();
+            loader.forgetAll();
+            return notEmpty;
+        }
+    }
+}
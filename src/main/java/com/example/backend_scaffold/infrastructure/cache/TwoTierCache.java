@@ -0,0 +1,256 @@
+package com.example.backend_scaffold.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * 两级缓存
+ * <p>
+ * 一级为本节点的近端缓存，二级为Redis。读取先查一级缓存，未命中时查Redis并回填一级缓存，
+ * 两级均未命中时才调用加载函数，加载结果同时写入两级缓存。
+ * 写入和删除同时作用于两级缓存，并通过{@link TwoTierCacheManager}通知其他节点删除各自的一级缓存条目。
+ * </p>
+ * <p>
+ * 两级缓存中的键统一转换为字符串，Redis中的键为"缓存名称::键"，值使用JDK序列化。
+ * Redis不可用或值无法序列化时只使用一级缓存，不影响调用方。
+ * 未配置二级缓存的缓存只使用一级缓存，但删除仍会通知其他节点。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+public class TwoTierCache implements Cache {
+
+    /**
+     * 缓存名称
+     */
+    private final String name;
+
+    /**
+     * 一级缓存
+     */
+    private final Cache local;
+
+    /**
+     * 二级缓存，只使用一级缓存时为null
+     */
+    private final RedisCacheWriter remote;
+
+    /**
+     * 二级缓存值序列化器
+     */
+    private final RedisSerializer<Object> serializer;
+
+    /**
+     * 二级缓存条目的存活时间
+     */
+    private final Duration ttl;
+
+    /**
+     * 所属的缓存管理器，用于通知其他节点
+     */
+    private final TwoTierCacheManager manager;
+
+    /**
+     * 二级缓存中的键前缀
+     */
+    private final String keyPrefix;
+
+    /**
+     * 构造函数
+     *
+     * @param local      一级缓存
+     * @param remote     二级缓存，为null时只使用一级缓存
+     * @param serializer 二级缓存值序列化器
+     * @param ttl        二级缓存条目的存活时间
+     * @param manager    所属的缓存管理器
+     */
+    TwoTierCache(Cache local, RedisCacheWriter remote, RedisSerializer<Object> serializer, Duration ttl,
+                 TwoTierCacheManager manager) {
+        this.name = local.getName();
+        this.local = local;
+        this.remote = remote;
+        this.serializer = serializer;
+        this.ttl = ttl;
+        this.manager = manager;
+        this.keyPrefix = CacheKeyPrefix.simple().compute(name);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String cacheKey = toCacheKey(key);
+        ValueWrapper wrapper = local.get(cacheKey);
+        if (wrapper != null) {
+            return wrapper;
+        }
+        Object value = getRemote(cacheKey);
+        if (value == null) {
+            return null;
+        }
+        local.put(cacheKey, value);
+        return new SimpleValueWrapper(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = toCacheKey(key);
+        // 一级缓存保证同一节点上同一个键只加载一次
+        return local.get(cacheKey, () -> {
+            Object value = getRemote(cacheKey);
+            if (value != null) {
+                return (T) value;
+            }
+            T loaded = valueLoader.call();
+            putRemote(cacheKey, loaded);
+            return loaded;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = toCacheKey(key);
+        putRemote(cacheKey, value);
+        local.put(cacheKey, value);
+        manager.publishEvict(name, cacheKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = toCacheKey(key);
+        removeRemote(cacheKey);
+        local.evict(cacheKey);
+        manager.publishEvict(name, cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        if (remote != null) {
+            try {
+                remote.clean(name, (keyPrefix + "*").getBytes(StandardCharsets.UTF_8));
+            } catch (RuntimeException e) {
+                log.warn("Failed to clear cache '{}' in Redis: {}", name, e.getMessage());
+            }
+        }
+        local.clear();
+        manager.publishClear(name);
+    }
+
+    /**
+     * 删除一级缓存条目，用于响应其他节点的通知
+     *
+     * @param cacheKey 字符串形式的缓存键
+     */
+    void evictLocal(String cacheKey) {
+        local.evict(cacheKey);
+    }
+
+    /**
+     * 清空一级缓存，用于响应其他节点的通知
+     */
+    void clearLocal() {
+        local.clear();
+    }
+
+    /**
+     * 将缓存键转换为字符串，两级缓存和节点间通知使用同一形式
+     *
+     * @param key 缓存键
+     * @return 字符串形式的缓存键
+     */
+    static String toCacheKey(Object key) {
+        return key instanceof String string ? string : String.valueOf(key);
+    }
+
+    /**
+     * 查询二级缓存
+     *
+     * @param cacheKey 字符串形式的缓存键
+     * @return 缓存值，未命中或Redis不可用时返回null
+     */
+    private Object getRemote(String cacheKey) {
+        if (remote == null) {
+            return null;
+        }
+        try {
+            byte[] bytes = remote.get(name, remoteKey(cacheKey));
+            return bytes != null ? serializer.deserialize(bytes) : null;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read cache '{}' key '{}' from Redis: {}", name, cacheKey, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 写入二级缓存，null值只保存在一级缓存中
+     *
+     * @param cacheKey 字符串形式的缓存键
+     * @param value    缓存值
+     */
+    private void putRemote(String cacheKey, Object value) {
+        if (remote == null || value == null) {
+            return;
+        }
+        try {
+            remote.put(name, remoteKey(cacheKey), serializer.serialize(value), ttl);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write cache '{}' key '{}' to Redis: {}", name, cacheKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 删除二级缓存条目
+     *
+     * @param cacheKey 字符串形式的缓存键
+     */
+    private void removeRemote(String cacheKey) {
+        if (remote == null) {
+            return;
+        }
+        try {
+            remote.remove(name, remoteKey(cacheKey));
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict cache '{}' key '{}' from Redis: {}", name, cacheKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 计算Redis中的键
+     *
+     * @param cacheKey 字符串形式的缓存键
+     * @return Redis中的键
+     */
+    private byte[] remoteKey(String cacheKey) {
+        return (keyPrefix + cacheKey).getBytes(StandardCharsets.UTF_8);
+    }
+}
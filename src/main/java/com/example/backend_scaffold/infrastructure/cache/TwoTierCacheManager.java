@@ -0,0 +1,214 @@
+package com.example.backend_scaffold.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 两级缓存管理器
+ * <p>
+ * 将本地缓存管理器中的每个缓存包装为{@link TwoTierCache}：本地缓存作为一级近端缓存，Redis作为二级缓存。
+ * 二级缓存条目的存活时间取一级缓存的expireAfterWrite，未配置时使用默认存活时间。
+ * 指定为仅本地的缓存（如依赖本节点内存状态、带后台刷新的缓存）不写入Redis。
+ * </p>
+ * <p>
+ * 任一节点写入或删除缓存条目后，通过Redis发布/订阅通知其他节点删除对应的一级缓存条目，
+ * 其他节点下次读取时从Redis或数据源获取最新值。节点忽略自己发出的通知。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    /**
+     * 缓存失效通知频道
+     */
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+    /**
+     * 删除单个条目的消息类型
+     */
+    private static final String EVICT_SCOPE = "e";
+
+    /**
+     * 清空缓存的消息类型
+     */
+    private static final String CLEAR_SCOPE = "c";
+
+    /**
+     * 本地缓存管理器
+     */
+    private final CacheManager localCacheManager;
+
+    /**
+     * Redis缓存读写器
+     */
+    private final RedisCacheWriter cacheWriter;
+
+    /**
+     * 仅使用本地缓存的缓存名称
+     */
+    private final Set<String> localOnlyCaches;
+
+    /**
+     * 一级缓存未配置expireAfterWrite时二级缓存条目的存活时间
+     */
+    private final Duration defaultTtl;
+
+    /**
+     * Redis模板，用于发布失效通知
+     */
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 二级缓存值序列化器
+     */
+    private final RedisSerializer<Object> serializer = RedisSerializer.java(getClass().getClassLoader());
+
+    /**
+     * 本节点标识，用于忽略自己发出的通知
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 缓存名称到两级缓存的映射
+     */
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param localCacheManager 本地缓存管理器
+     * @param cacheWriter       Redis缓存读写器
+     * @param localOnlyCaches   仅使用本地缓存的缓存名称
+     * @param defaultTtl        一级缓存未配置expireAfterWrite时二级缓存条目的存活时间
+     * @param redisTemplate     Redis模板
+     * @param listenerContainer 消息监听容器
+     */
+    public TwoTierCacheManager(CacheManager localCacheManager, RedisCacheWriter cacheWriter,
+                               Set<String> localOnlyCaches, Duration defaultTtl,
+                               StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer) {
+        this.localCacheManager = localCacheManager;
+        this.cacheWriter = cacheWriter;
+        this.localOnlyCaches = Set.copyOf(localOnlyCaches);
+        this.defaultTtl = defaultTtl;
+        this.redisTemplate = redisTemplate;
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache local = localCacheManager.getCache(name);
+        if (local == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> {
+            boolean localOnly = localOnlyCaches.contains(key);
+            log.info("Creating two-tier cache '{}'{}", key, localOnly ? " (local only)" : "");
+            return new TwoTierCache(local, localOnly ? null : cacheWriter, serializer, ttl(local), this);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return localCacheManager.getCacheNames();
+    }
+
+    /**
+     * 接收其他节点的缓存失效通知
+     *
+     * @param message 消息，格式为 节点标识:类型:缓存名称[:缓存键]
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        // 缓存键本身可能包含冒号，只拆分前三段
+        String[] parts = body.split(":", 4);
+        if (parts.length < 3) {
+            log.warn("Ignoring malformed cache invalidation message: {}", body);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoTierCache cache = (TwoTierCache) getCache(parts[2]);
+        if (cache == null) {
+            return;
+        }
+        if (EVICT_SCOPE.equals(parts[1]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        } else if (CLEAR_SCOPE.equals(parts[1])) {
+            cache.clearLocal();
+        } else {
+            log.warn("Ignoring malformed cache invalidation message: {}", body);
+        }
+    }
+
+    /**
+     * 通知其他节点删除一级缓存条目
+     *
+     * @param cacheName 缓存名称
+     * @param cacheKey  字符串形式的缓存键
+     */
+    void publishEvict(String cacheName, String cacheKey) {
+        publish(EVICT_SCOPE + ":" + cacheName + ":" + cacheKey);
+    }
+
+    /**
+     * 通知其他节点清空一级缓存
+     *
+     * @param cacheName 缓存名称
+     */
+    void publishClear(String cacheName) {
+        publish(CLEAR_SCOPE + ":" + cacheName);
+    }
+
+    /**
+     * 发布失效通知
+     *
+     * @param payload 不含节点标识的消息内容
+     */
+    private void publish(String payload) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + ":" + payload);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish cache invalidation to Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 计算二级缓存条目的存活时间
+     *
+     * @param local 一级缓存
+     * @return 一级缓存的expireAfterWrite，未配置时为默认存活时间
+     */
+    private Duration ttl(Cache local) {
+        if (local.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return caffeine.policy().expireAfterWrite()
+                    .map(expiration -> expiration.getExpiresAfter())
+                    .orElse(defaultTtl);
+        }
+        return defaultTtl;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.backend_scaffold.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 刷新令牌JPA实体类
+ * <p>
+ * 用于存储刷新令牌摘要及其轮换状态的JPA实体，负责与数据库交互
+ * </p>
+ *
+ * @author example
+ */
+@Entity
+@Table(name = "refresh_tokens", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"token_hash"}, name = "uk_refresh_token_hash")
+}, indexes = {
+        @Index(columnList = "family_id", name = "idx_refresh_token_family"),
+        @Index(columnList = "user_id", name = "idx_refresh_token_user"),
+        @Index(columnList = "expires_at", name = "idx_refresh_token_expires")
+})
+@Getter
+@Setter
+public class RefreshTokenJpaEntity extends BaseJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 用户ID
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * 用户名
+     */
+    @Column(name = "username", nullable = false, length = 50)
+    private String username;
+
+    /**
+     * 令牌的SHA-256摘要
+     */
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    /**
+     * 令牌族ID
+     */
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    /**
+     * 过期时间
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * 轮换时间
+     */
+    @Column(name = "rotated_at")
+    private LocalDateTime rotatedAt;
+
+    /**
+     * 是否已撤销
+     */
+    @Column(name = "revoked", nullable = false)
+    private Boolean revoked = false;
+}
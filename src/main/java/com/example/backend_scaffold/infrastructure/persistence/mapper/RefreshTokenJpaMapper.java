@@ -0,0 +1,81 @@
+package com.example.backend_scaffold.infrastructure.persistence.mapper;
+
+import com.example.backend_scaffold.domain.model.entity.RefreshTokenEntity;
+import com.example.backend_scaffold.infrastructure.persistence.entity.RefreshTokenJpaEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * 刷新令牌JPA映射器
+ * <p>
+ * 负责在领域实体和JPA实体之间进行转换
+ * </p>
+ *
+ * @author example
+ */
+@Component
+public class RefreshTokenJpaMapper {
+
+    /**
+     * 将JPA实体转换为领域实体
+     *
+     * @param jpaEntity JPA实体
+     * @return 领域实体
+     */
+    public RefreshTokenEntity toDomainEntity(RefreshTokenJpaEntity jpaEntity) {
+        if (jpaEntity == null) {
+            return null;
+        }
+
+        RefreshTokenEntity refreshTokenEntity = new RefreshTokenEntity();
+        refreshTokenEntity.setId(jpaEntity.getId());
+        refreshTokenEntity.setUserId(jpaEntity.getUserId());
+        refreshTokenEntity.setUsername(jpaEntity.getUsername());
+        refreshTokenEntity.setTokenHash(jpaEntity.getTokenHash());
+        refreshTokenEntity.setFamilyId(jpaEntity.getFamilyId());
+        refreshTokenEntity.setExpiresAt(jpaEntity.getExpiresAt());
+        refreshTokenEntity.setRotatedAt(jpaEntity.getRotatedAt());
+        refreshTokenEntity.setRevoked(jpaEntity.getRevoked());
+
+        // 设置基础字段
+        refreshTokenEntity.setCreatedAt(jpaEntity.getCreatedAt());
+        refreshTokenEntity.setCreatedBy(jpaEntity.getCreatedBy());
+        refreshTokenEntity.setUpdatedAt(jpaEntity.getUpdatedAt());
+        refreshTokenEntity.setUpdatedBy(jpaEntity.getUpdatedBy());
+        refreshTokenEntity.setVersion(jpaEntity.getVersion());
+        refreshTokenEntity.setIsDeleted(jpaEntity.getIsDeleted());
+
+        return refreshTokenEntity;
+    }
+
+    /**
+     * 将领域实体转换为JPA实体
+     *
+     * @param domainEntity 领域实体
+     * @return JPA实体
+     */
+    public RefreshTokenJpaEntity toJpaEntity(RefreshTokenEntity domainEntity) {
+        if (domainEntity == null) {
+            return null;
+        }
+
+        RefreshTokenJpaEntity jpaEntity = new RefreshTokenJpaEntity();
+        jpaEntity.setId(domainEntity.getId());
+        jpaEntity.setUserId(domainEntity.getUserId());
+        jpaEntity.setUsername(domainEntity.getUsername());
+        jpaEntity.setTokenHash(domainEntity.getTokenHash());
+        jpaEntity.setFamilyId(domainEntity.getFamilyId());
+        jpaEntity.setExpiresAt(domainEntity.getExpiresAt());
+        jpaEntity.setRotatedAt(domainEntity.getRotatedAt());
+        jpaEntity.setRevoked(domainEntity.getRevoked());
+
+        // 设置基础字段
+        jpaEntity.setCreatedAt(domainEntity.getCreatedAt());
+        jpaEntity.setCreatedBy(domainEntity.getCreatedBy());
+        jpaEntity.setUpdatedAt(domainEntity.getUpdatedAt());
+        jpaEntity.setUpdatedBy(domainEntity.getUpdatedBy());
+        jpaEntity.setVersion(domainEntity.getVersion());
+        jpaEntity.setIsDeleted(domainEntity.getIsDeleted());
+
+        return jpaEntity;
+    }
+}
@@ -3,10 +3,12 @@ package com.example.backend_scaffold.infrastructure.persistence.repository;
 import com.example.backend_scaffold.domain.model.enums.PermissionType;
 import com.example.backend_scaffold.infrastructure.persistence.entity.PermissionJpaEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -105,4 +107,14 @@ public interface PermissionJpaRepository extends JpaRepository<PermissionJpaEnti
      */
     @Query("SELECT DISTINCT p FROM PermissionJpaEntity p JOIN RolePermissionJpaEntity rp ON p.id = rp.permissionId JOIN UserRoleJpaEntity ur ON rp.roleId = ur.roleId WHERE ur.userId = :userId AND ur.isEnabled = true AND rp.isEnabled = true AND p.isEnabled = true")
     List<PermissionJpaEntity> findByUserId(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    /**
+     * 批量禁用权限
+     *
+     * @param ids 权限ID集合
+     * @return 更新的记录数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PermissionJpaEntity p SET p.isEnabled = false, p.updatedAt = CURRENT_TIMESTAMP WHERE p.id IN :ids AND p.isEnabled = true")
+    int disableByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,75 @@
+package com.example.backend_scaffold.infrastructure.persistence.repository;
+
+import com.example.backend_scaffold.infrastructure.persistence.entity.RefreshTokenJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 刷新令牌JPA仓储
+ * <p>
+ * 提供刷新令牌实体的数据访问操作
+ * </p>
+ *
+ * @author example
+ */
+@Repository
+public interface RefreshTokenJpaRepository extends JpaRepository<RefreshTokenJpaEntity, Long> {
+
+    /**
+     * 根据令牌摘要查询刷新令牌
+     *
+     * @param tokenHash 令牌摘要
+     * @return 刷新令牌实体Optional包装
+     */
+    Optional<RefreshTokenJpaEntity> findByTokenHash(String tokenHash);
+
+    /**
+     * 将未轮换且未撤销的刷新令牌标记为已轮换
+     *
+     * @param id        刷新令牌ID
+     * @param rotatedAt 轮换时间
+     * @return 更新的记录数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshTokenJpaEntity rt SET rt.rotatedAt = :rotatedAt, rt.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE rt.id = :id AND rt.rotatedAt IS NULL AND rt.revoked = false")
+    int markRotated(@Param("id") Long id, @Param("rotatedAt") LocalDateTime rotatedAt);
+
+    /**
+     * 撤销令牌族中的所有刷新令牌
+     *
+     * @param familyId 令牌族ID
+     * @return 更新的记录数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshTokenJpaEntity rt SET rt.revoked = true, rt.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE rt.familyId = :familyId AND rt.revoked = false")
+    int revokeByFamilyId(@Param("familyId") String familyId);
+
+    /**
+     * 撤销用户的所有刷新令牌
+     *
+     * @param userId 用户ID
+     * @return 更新的记录数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshTokenJpaEntity rt SET rt.revoked = true, rt.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE rt.userId = :userId AND rt.revoked = false")
+    int revokeByUserId(@Param("userId") Long userId);
+
+    /**
+     * 删除在指定时间之前过期的刷新令牌
+     *
+     * @param before 时间点
+     * @return 删除的记录数
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshTokenJpaEntity rt WHERE rt.expiresAt < :before")
+    int deleteByExpiresAtBefore(@Param("before") LocalDateTime before);
+}
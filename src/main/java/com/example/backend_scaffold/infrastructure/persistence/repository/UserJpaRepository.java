@@ -6,10 +6,12 @@ import com.example.backend_scaffold.domain.model.enums.UserStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -124,4 +126,15 @@ public interface UserJpaRepository extends JpaRepository<UserJpaEntity, Long> {
      */
     @Query("SELECT r FROM RoleJpaEntity r JOIN UserRoleJpaEntity ur ON r.id = ur.roleId WHERE ur.userId = :userId AND ur.isEnabled = true AND r.isEnabled = true")
     List<RoleJpaEntity> findRolesByUserId(@Param("userId") Long userId);
+
+    /**
+     * 更新用户的最后登录时间，不加载和保存整个用户
+     *
+     * @param id            用户ID
+     * @param lastLoginTime 最后登录时间
+     * @return 更新的记录数
+     */
+    @Modifying
+    @Query("UPDATE UserJpaEntity u SET u.lastLoginTime = :lastLoginTime WHERE u.id = :id")
+    int updateLastLoginTime(@Param("id") Long id, @Param("lastLoginTime") LocalDateTime lastLoginTime);
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.example.backend_scaffold.infrastructure.persistence.repository_impl;
 import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
 import com.example.backend_scaffold.domain.model.enums.PermissionType;
 import com.example.backend_scaffold.domain.repository.PermissionRepository;
+import com.example.backend_scaffold.infrastructure.cache.CacheKey;
+import com.example.backend_scaffold.infrastructure.cache.NegativeLookupCache;
 import com.example.backend_scaffold.infrastructure.persistence.entity.PermissionJpaEntity;
 import com.example.backend_scaffold.infrastructure.persistence.mapper.PermissionJpaMapper;
 import com.example.backend_scaffold.infrastructure.persistence.repository.PermissionJpaRepository;
@@ -10,6 +12,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -27,16 +30,20 @@ public class PermissionRepositoryImpl implements PermissionRepository {
 
     private final PermissionJpaRepository permissionJpaRepository;
     private final PermissionJpaMapper permissionJpaMapper;
+    private final NegativeLookupCache negativeLookupCache;
 
-    public PermissionRepositoryImpl(PermissionJpaRepository permissionJpaRepository, PermissionJpaMapper permissionJpaMapper) {
+    public PermissionRepositoryImpl(PermissionJpaRepository permissionJpaRepository, PermissionJpaMapper permissionJpaMapper,
+                                    NegativeLookupCache negativeLookupCache) {
         this.permissionJpaRepository = permissionJpaRepository;
         this.permissionJpaMapper = permissionJpaMapper;
+        this.negativeLookupCache = negativeLookupCache;
     }
 
     @Override
     public PermissionEntity save(PermissionEntity permissionEntity) {
         PermissionJpaEntity jpaEntity = permissionJpaMapper.toJpaEntity(permissionEntity);
         PermissionJpaEntity savedJpaEntity = permissionJpaRepository.save(jpaEntity);
+        negativeLookupCache.evict(CacheKey.PERMISSION_CODE, savedJpaEntity.getCode());
         return permissionJpaMapper.toDomainEntity(savedJpaEntity);
     }
 
@@ -48,7 +55,7 @@ public class PermissionRepositoryImpl implements PermissionRepository {
 
     @Override
     public Optional<PermissionEntity> findByCode(String code) {
-        return permissionJpaRepository.findByCode(code)
+        return negativeLookupCache.find(CacheKey.PERMISSION_CODE, code, () -> permissionJpaRepository.findByCode(code))
                 .map(permissionJpaMapper::toDomainEntity);
     }
 
@@ -105,7 +112,7 @@ public class PermissionRepositoryImpl implements PermissionRepository {
 
     @Override
     public boolean existsByCode(String code) {
-        return permissionJpaRepository.findByCode(code).isPresent();
+        return findByCode(code).isPresent();
     }
 
     @Override
@@ -128,4 +135,12 @@ public class PermissionRepositoryImpl implements PermissionRepository {
                     .collect(Collectors.toList());
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public int disableByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return permissionJpaRepository.disableByIdIn(ids);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.backend_scaffold.infrastructure.persistence.repository_impl;
+
+import com.example.backend_scaffold.domain.model.entity.RefreshTokenEntity;
+import com.example.backend_scaffold.domain.repository.RefreshTokenRepository;
+import com.example.backend_scaffold.infrastructure.persistence.entity.RefreshTokenJpaEntity;
+import com.example.backend_scaffold.infrastructure.persistence.mapper.RefreshTokenJpaMapper;
+import com.example.backend_scaffold.infrastructure.persistence.repository.RefreshTokenJpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 刷新令牌仓储实现类
+ * <p>
+ * 实现刷新令牌仓储接口，提供刷新令牌实体的存储和查询操作
+ * </p>
+ *
+ * @author example
+ */
+@Repository
+public class RefreshTokenRepositoryImpl implements RefreshTokenRepository {
+
+    private final RefreshTokenJpaRepository refreshTokenJpaRepository;
+    private final RefreshTokenJpaMapper refreshTokenJpaMapper;
+
+    public RefreshTokenRepositoryImpl(RefreshTokenJpaRepository refreshTokenJpaRepository,
+                                      RefreshTokenJpaMapper refreshTokenJpaMapper) {
+        this.refreshTokenJpaRepository = refreshTokenJpaRepository;
+        this.refreshTokenJpaMapper = refreshTokenJpaMapper;
+    }
+
+    @Override
+    public RefreshTokenEntity save(RefreshTokenEntity refreshTokenEntity) {
+        RefreshTokenJpaEntity jpaEntity = refreshTokenJpaMapper.toJpaEntity(refreshTokenEntity);
+        RefreshTokenJpaEntity savedEntity = refreshTokenJpaRepository.save(jpaEntity);
+        return refreshTokenJpaMapper.toDomainEntity(savedEntity);
+    }
+
+    @Override
+    public Optional<RefreshTokenEntity> findByTokenHash(String tokenHash) {
+        return refreshTokenJpaRepository.findByTokenHash(tokenHash)
+                .map(refreshTokenJpaMapper::toDomainEntity);
+    }
+
+    @Override
+    public int markRotated(Long id, LocalDateTime rotatedAt) {
+        return refreshTokenJpaRepository.markRotated(id, rotatedAt);
+    }
+
+    @Override
+    public int revokeByFamilyId(String familyId) {
+        return refreshTokenJpaRepository.revokeByFamilyId(familyId);
+    }
+
+    @Override
+    public int revokeByUserId(Long userId) {
+        return refreshTokenJpaRepository.revokeByUserId(userId);
+    }
+
+    @Override
+    public int deleteByExpiresAtBefore(LocalDateTime before) {
+        return refreshTokenJpaRepository.deleteByExpiresAtBefore(before);
+    }
+}
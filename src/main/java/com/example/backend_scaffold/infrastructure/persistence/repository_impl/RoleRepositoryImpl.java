@@ -2,6 +2,8 @@ package com.example.backend_scaffold.infrastructure.persistence.repository_impl;
 
 import com.example.backend_scaffold.domain.model.entity.RoleEntity;
 import com.example.backend_scaffold.domain.repository.RoleRepository;
+import com.example.backend_scaffold.infrastructure.cache.CacheKey;
+import com.example.backend_scaffold.infrastructure.cache.NegativeLookupCache;
 import com.example.backend_scaffold.infrastructure.persistence.entity.RoleJpaEntity;
 import com.example.backend_scaffold.infrastructure.persistence.mapper.RoleJpaMapper;
 import com.example.backend_scaffold.infrastructure.persistence.repository.RoleJpaRepository;
@@ -26,16 +28,20 @@ public class RoleRepositoryImpl implements RoleRepository {
 
     private final RoleJpaRepository roleJpaRepository;
     private final RoleJpaMapper roleJpaMapper;
+    private final NegativeLookupCache negativeLookupCache;
 
-    public RoleRepositoryImpl(RoleJpaRepository roleJpaRepository, RoleJpaMapper roleJpaMapper) {
+    public RoleRepositoryImpl(RoleJpaRepository roleJpaRepository, RoleJpaMapper roleJpaMapper,
+                              NegativeLookupCache negativeLookupCache) {
         this.roleJpaRepository = roleJpaRepository;
         this.roleJpaMapper = roleJpaMapper;
+        this.negativeLookupCache = negativeLookupCache;
     }
 
     @Override
     public RoleEntity save(RoleEntity roleEntity) {
         RoleJpaEntity jpaEntity = roleJpaMapper.toJpaEntity(roleEntity);
         RoleJpaEntity savedEntity = roleJpaRepository.save(jpaEntity);
+        negativeLookupCache.evict(CacheKey.ROLE_CODE, savedEntity.getCode());
         return roleJpaMapper.toDomainEntity(savedEntity);
     }
 
@@ -47,7 +53,7 @@ public class RoleRepositoryImpl implements RoleRepository {
 
     @Override
     public Optional<RoleEntity> findByCode(String code) {
-        return roleJpaRepository.findByCode(code)
+        return negativeLookupCache.find(CacheKey.ROLE_CODE, code, () -> roleJpaRepository.findByCode(code))
                 .map(roleJpaMapper::toDomainEntity);
     }
 
@@ -84,7 +90,7 @@ public class RoleRepositoryImpl implements RoleRepository {
 
     @Override
     public boolean existsByCode(String code) {
-        return roleJpaRepository.existsByCode(code);
+        return negativeLookupCache.exists(CacheKey.ROLE_CODE, code, () -> roleJpaRepository.existsByCode(code));
     }
 
     @Override
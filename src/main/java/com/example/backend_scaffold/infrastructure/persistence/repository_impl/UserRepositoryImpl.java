@@ -4,6 +4,8 @@ import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
 import com.example.backend_scaffold.domain.model.entity.UserEntity;
 import com.example.backend_scaffold.domain.model.enums.UserStatus;
 import com.example.backend_scaffold.domain.repository.UserRepository;
+import com.example.backend_scaffold.infrastructure.cache.CacheKey;
+import com.example.backend_scaffold.infrastructure.cache.NegativeLookupCache;
 import com.example.backend_scaffold.infrastructure.persistence.entity.PermissionJpaEntity;
 import com.example.backend_scaffold.infrastructure.persistence.entity.RoleJpaEntity;
 import com.example.backend_scaffold.infrastructure.persistence.entity.UserJpaEntity;
@@ -15,6 +17,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -34,21 +37,28 @@ public class UserRepositoryImpl implements UserRepository {
     private final PermissionJpaRepository permissionJpaRepository;
     private final UserJpaMapper userJpaMapper;
     private final PermissionJpaMapper permissionJpaMapper;
+    private final NegativeLookupCache negativeLookupCache;
 
     public UserRepositoryImpl(UserJpaRepository userJpaRepository, 
                              PermissionJpaRepository permissionJpaRepository,
                              UserJpaMapper userJpaMapper,
-                             PermissionJpaMapper permissionJpaMapper) {
+                             PermissionJpaMapper permissionJpaMapper,
+                             NegativeLookupCache negativeLookupCache) {
         this.userJpaRepository = userJpaRepository;
         this.permissionJpaRepository = permissionJpaRepository;
         this.userJpaMapper = userJpaMapper;
         this.permissionJpaMapper = permissionJpaMapper;
+        this.negativeLookupCache = negativeLookupCache;
     }
 
     @Override
     public UserEntity save(UserEntity userEntity) {
         UserJpaEntity jpaEntity = userJpaMapper.toJpaEntity(userEntity);
         UserJpaEntity savedEntity = userJpaRepository.save(jpaEntity);
+        // 新建或修改后的用户名、邮箱和手机号不再是未命中的查询
+        negativeLookupCache.evict(CacheKey.USER_NAME, savedEntity.getUsername());
+        negativeLookupCache.evict(CacheKey.USER_EMAIL, savedEntity.getEmail());
+        negativeLookupCache.evict(CacheKey.USER_PHONE, savedEntity.getPhone());
         return userJpaMapper.toDomainEntity(savedEntity);
     }
 
@@ -60,19 +70,19 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public Optional<UserEntity> findByUsername(String username) {
-        return userJpaRepository.findByUsername(username)
+        return negativeLookupCache.find(CacheKey.USER_NAME, username, () -> userJpaRepository.findByUsername(username))
                 .map(userJpaMapper::toDomainEntity);
     }
 
     @Override
     public Optional<UserEntity> findByEmail(String email) {
-        return userJpaRepository.findByEmail(email)
+        return negativeLookupCache.find(CacheKey.USER_EMAIL, email, () -> userJpaRepository.findByEmail(email))
                 .map(userJpaMapper::toDomainEntity);
     }
 
     @Override
     public Optional<UserEntity> findByPhone(String phone) {
-        return userJpaRepository.findByPhone(phone)
+        return negativeLookupCache.find(CacheKey.USER_PHONE, phone, () -> userJpaRepository.findByPhone(phone))
                 .map(userJpaMapper::toDomainEntity);
     }
 
@@ -109,17 +119,17 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public boolean existsByUsername(String username) {
-        return userJpaRepository.existsByUsername(username);
+        return negativeLookupCache.exists(CacheKey.USER_NAME, username, () -> userJpaRepository.existsByUsername(username));
     }
 
     @Override
     public boolean existsByEmail(String email) {
-        return userJpaRepository.existsByEmail(email);
+        return negativeLookupCache.exists(CacheKey.USER_EMAIL, email, () -> userJpaRepository.existsByEmail(email));
     }
 
     @Override
     public boolean existsByPhone(String phone) {
-        return userJpaRepository.existsByPhone(phone);
+        return negativeLookupCache.exists(CacheKey.USER_PHONE, phone, () -> userJpaRepository.existsByPhone(phone));
     }
 
     @Override
@@ -169,4 +179,9 @@ public class UserRepositoryImpl implements UserRepository {
         
         return authorities;
     }
-}
\ No newline at end of file
+
+    @Override
+    public int updateLastLoginTime(Long id, LocalDateTime lastLoginTime) {
+        return userJpaRepository.updateLastLoginTime(id, lastLoginTime);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * 已认证用户
+ * <p>
+ * 在Spring Security的User之上携带用户ID、角色ID和权限ID位图，
+ * 使方法安全表达式（如#id == authentication.principal.id）和控制器无需查询数据库即可识别调用者。
+ * 登录时由{@link UserDetailsServiceImpl}根据角色权限矩阵构建，之后由{@link JwtTokenProvider}根据令牌声明重建。
+ * 位图反映的是授权版本对应时刻的权限，版本过期时由{@link AuthorizationVersionService}重建，
+ * 实时的权限判断仍以{@link AuthorizationIndex}为准。
+ * </p>
+ *
+ * @author example
+ */
+public class AuthenticatedUser extends User {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户ID，由不含用户ID声明的旧令牌构建时为null
+     */
+    private final Long id;
+
+    /**
+     * 角色ID，升序
+     */
+    private final long[] roleIds;
+
+    /**
+     * 权限ID位图，第N位表示ID为N的权限
+     */
+    private final BitSet permissions;
+
+    /**
+     * 授权版本，见{@link AuthorizationVersionService}
+     */
+    private final long authorizationVersion;
+
+    /**
+     * 构造函数
+     *
+     * @param id                   用户ID
+     * @param username             用户名
+     * @param password             密码哈希，由令牌构建时为空串
+     * @param enabled              是否启用
+     * @param accountNonLocked     是否未锁定
+     * @param authorities          权限对象
+     * @param roleIds              角色ID位图
+     * @param permissions          权限ID位图
+     * @param authorizationVersion 角色和权限对应的授权版本，旧令牌中不存在时为0
+     */
+    public AuthenticatedUser(Long id, String username, String password, boolean enabled, boolean accountNonLocked,
+                             Collection<? extends GrantedAuthority> authorities, BitSet roleIds, BitSet permissions,
+                             long authorizationVersion) {
+        super(username, password, enabled, true, true, accountNonLocked, authorities);
+        this.id = id;
+        this.roleIds = roleIds.stream().asLongStream().toArray();
+        this.permissions = (BitSet) permissions.clone();
+        this.authorizationVersion = authorizationVersion;
+    }
+
+    /**
+     * 获取用户ID
+     *
+     * @return 用户ID，旧令牌中不存在时返回null
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * 获取角色ID
+     *
+     * @return 升序的角色ID数组副本
+     */
+    public long[] getRoleIds() {
+        return roleIds.clone();
+    }
+
+    /**
+     * 判断是否拥有指定角色
+     *
+     * @param roleId 角色ID
+     * @return 是否拥有
+     */
+    public boolean hasRole(long roleId) {
+        return Arrays.binarySearch(roleIds, roleId) >= 0;
+    }
+
+    /**
+     * 获取权限ID位图
+     *
+     * @return 权限ID位图副本
+     */
+    public BitSet getPermissions() {
+        return (BitSet) permissions.clone();
+    }
+
+    /**
+     * 判断是否拥有指定ID的权限
+     *
+     * @param permissionId 权限ID
+     * @return 是否拥有
+     */
+    public boolean hasPermission(int permissionId) {
+        return permissionId >= 0 && permissions.get(permissionId);
+    }
+
+    /**
+     * 获取授权版本
+     *
+     * @return 角色和权限对应的授权版本
+     */
+    public long getAuthorizationVersion() {
+        return authorizationVersion;
+    }
+}
@@ -0,0 +1,422 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.domain.event.PermissionChangedEvent;
+import com.example.backend_scaffold.domain.event.RoleChangedEvent;
+import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
+import com.example.backend_scaffold.domain.model.entity.RoleEntity;
+import com.example.backend_scaffold.domain.repository.PermissionRepository;
+import com.example.backend_scaffold.domain.repository.RoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * 权限字典
+ * <p>
+ * 维护权限编码、角色编码与数据库ID之间的映射，用于在令牌中以位图形式紧凑地表示权限。
+ * 权限和角色的ID是稳定的数据库主键，位图中第N位表示ID为N的权限或角色。
+ * 字典按内容计算版本号，并保留最近若干个版本，使旧版本签发的令牌仍能按签发时的字典解码。
+ * 权限或角色变更后立即重新加载；遇到未知编码或未知ID时也会重新加载字典，此时重新加载的频率受最小间隔限制。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+@Component
+public class AuthorityDictionary {
+
+    /**
+     * 角色权限前缀
+     */
+    public static final String ROLE_PREFIX = "ROLE_";
+
+    /**
+     * 保留的历史版本数
+     */
+    private static final int MAX_VERSIONS = 8;
+
+    /**
+     * 两次重新加载之间的最小间隔（毫秒）
+     */
+    private static final long MIN_RELOAD_INTERVAL_MILLIS = 5000L;
+
+    private static final Base64.Encoder BITS_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder BITS_DECODER = Base64.getUrlDecoder();
+
+    private final PermissionRepository permissionRepository;
+
+    private final RoleRepository roleRepository;
+
+    /**
+     * 版本号到字典快照的映射，按插入顺序淘汰最旧的版本
+     */
+    private final Map<String, Snapshot> versions = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+            return size() > MAX_VERSIONS;
+        }
+    };
+
+    /**
+     * 当前字典快照
+     */
+    private volatile Snapshot current;
+
+    /**
+     * 上次加载时间
+     */
+    private volatile long lastLoadedAt;
+
+    /**
+     * 构造函数
+     *
+     * @param permissionRepository 权限仓储
+     * @param roleRepository       角色仓储
+     */
+    public AuthorityDictionary(PermissionRepository permissionRepository, RoleRepository roleRepository) {
+        this.permissionRepository = permissionRepository;
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * 获取当前字典快照，首次调用时加载
+     *
+     * @return 字典快照
+     */
+    public Snapshot current() {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = current;
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 重新加载字典
+     *
+     * @return 新的字典快照
+     */
+    public synchronized Snapshot refresh() {
+        return load();
+    }
+
+    /**
+     * 权限变更后重新加载字典
+     *
+     * @param event 权限变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionChanged(PermissionChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * 角色变更后重新加载字典
+     *
+     * @param event 角色变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoleChanged(RoleChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * 将权限编码集合编码为紧凑形式
+     * <p>
+     * 字典中不存在的编码会触发一次重新加载，仍无法映射的编码放入unmapped原样保留
+     * </p>
+     *
+     * @param authorities 权限编码集合
+     * @return 紧凑编码结果
+     */
+    public CompactAuthorities encode(Collection<String> authorities) {
+        Snapshot snapshot = current();
+        CompactAuthorities encoded = snapshot.encode(authorities);
+        if (!encoded.unmapped().isEmpty()) {
+            Snapshot reloaded = reloadIfStale();
+            if (reloaded != snapshot) {
+                encoded = reloaded.encode(authorities);
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * 将紧凑形式解码为权限编码列表
+     *
+     * @param version        字典版本号
+     * @param permissionBits 权限位图
+     * @param roleBits       角色位图
+     * @return 权限编码列表
+     */
+    public List<String> decode(String version, String permissionBits, String roleBits) {
+        BitSet permissions = decodeBits(permissionBits);
+        BitSet roles = decodeBits(roleBits);
+
+        Snapshot snapshot = snapshot(version);
+        if (snapshot == null || !snapshot.covers(permissions, roles)) {
+            Snapshot reloaded = reloadIfStale();
+            Snapshot matched = snapshot(version);
+            snapshot = matched != null ? matched : reloaded;
+        }
+        return snapshot.decode(permissions, roles);
+    }
+
+    /**
+     * 将位图编码为URL安全的Base64字符串
+     *
+     * @param bits 位图
+     * @return Base64字符串
+     */
+    public static String encodeBits(BitSet bits) {
+        return BITS_ENCODER.encodeToString(bits.toByteArray());
+    }
+
+    /**
+     * 将URL安全的Base64字符串解码为位图
+     *
+     * @param encoded Base64字符串
+     * @return 位图
+     */
+    public static BitSet decodeBits(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return new BitSet();
+        }
+        return BitSet.valueOf(BITS_DECODER.decode(encoded));
+    }
+
+    /**
+     * 根据版本号查找字典快照
+     *
+     * @param version 版本号
+     * @return 字典快照，不存在时返回null
+     */
+    private Snapshot snapshot(String version) {
+        Snapshot snapshot = current();
+        if (snapshot.version().equals(version)) {
+            return snapshot;
+        }
+        synchronized (this) {
+            return versions.get(version);
+        }
+    }
+
+    /**
+     * 距上次加载超过最小间隔时重新加载字典
+     *
+     * @return 当前字典快照
+     */
+    private synchronized Snapshot reloadIfStale() {
+        if (System.currentTimeMillis() - lastLoadedAt < MIN_RELOAD_INTERVAL_MILLIS) {
+            return current();
+        }
+        return load();
+    }
+
+    /**
+     * 从仓储加载字典，调用方需持有锁
+     *
+     * @return 新的字典快照
+     */
+    private Snapshot load() {
+        Map<Integer, String> permissions = new TreeMap<>();
+        for (PermissionEntity permission : permissionRepository.findAll()) {
+            if (permission.getId() != null && permission.getCode() != null) {
+                permissions.put(Math.toIntExact(permission.getId()), permission.getCode());
+            }
+        }
+        Map<Integer, String> roles = new TreeMap<>();
+        for (RoleEntity role : roleRepository.findAll()) {
+            if (role.getId() != null && role.getCode() != null) {
+                roles.put(Math.toIntExact(role.getId()), ROLE_PREFIX + role.getCode());
+            }
+        }
+
+        Snapshot snapshot = new Snapshot(permissions, roles);
+        Snapshot previous = current;
+        if (previous == null || !previous.version().equals(snapshot.version())) {
+            versions.put(snapshot.version(), snapshot);
+            current = snapshot;
+            log.info("Authority dictionary loaded: version={}, permissions={}, roles={}",
+                    snapshot.version(), permissions.size(), roles.size());
+        }
+        lastLoadedAt = System.currentTimeMillis();
+        return current;
+    }
+
+    /**
+     * 紧凑编码结果
+     *
+     * @param version        字典版本号
+     * @param permissionBits 权限位图
+     * @param roleBits       角色位图
+     * @param unmapped       无法映射的编码
+     */
+    public record CompactAuthorities(String version, String permissionBits, String roleBits, List<String> unmapped) {
+    }
+
+    /**
+     * 字典快照，不可变
+     */
+    public static final class Snapshot {
+
+        private final String version;
+
+        private final Map<String, Integer> permissionIds = new HashMap<>();
+
+        private final Map<String, Integer> roleIds = new HashMap<>();
+
+        private final String[] permissionCodes;
+
+        private final String[] roleAuthorities;
+
+        private Snapshot(Map<Integer, String> permissions, Map<Integer, String> roles) {
+            this.permissionCodes = toArray(permissions, permissionIds);
+            this.roleAuthorities = toArray(roles, roleIds);
+            this.version = computeVersion(permissions, roles);
+        }
+
+        /**
+         * 获取版本号
+         *
+         * @return 版本号
+         */
+        public String version() {
+            return version;
+        }
+
+        /**
+         * 根据权限编码获取权限ID
+         *
+         * @param code 权限编码
+         * @return 权限ID，不存在时返回-1
+         */
+        public int permissionId(String code) {
+            Integer id = permissionIds.get(code);
+            return id != null ? id : -1;
+        }
+
+        /**
+         * 根据权限ID获取权限编码
+         *
+         * @param id 权限ID
+         * @return 权限编码，不存在时返回null
+         */
+        public String permissionCode(int id) {
+            return id >= 0 && id < permissionCodes.length ? permissionCodes[id] : null;
+        }
+
+        /**
+         * 根据角色权限（ROLE_前缀）获取角色ID
+         *
+         * @param authority 角色权限
+         * @return 角色ID，不存在时返回-1
+         */
+        public int roleId(String authority) {
+            Integer id = roleIds.get(authority);
+            return id != null ? id : -1;
+        }
+
+        /**
+         * 根据角色ID获取角色权限（ROLE_前缀）
+         *
+         * @param id 角色ID
+         * @return 角色权限，不存在时返回null
+         */
+        public String roleAuthority(int id) {
+            return id >= 0 && id < roleAuthorities.length ? roleAuthorities[id] : null;
+        }
+
+        private CompactAuthorities encode(Collection<String> authorities) {
+            BitSet permissions = new BitSet();
+            BitSet roles = new BitSet();
+            List<String> unmapped = new ArrayList<>();
+            for (String authority : authorities) {
+                int id = permissionId(authority);
+                if (id >= 0) {
+                    permissions.set(id);
+                    continue;
+                }
+                id = roleId(authority);
+                if (id >= 0) {
+                    roles.set(id);
+                    continue;
+                }
+                unmapped.add(authority);
+            }
+            return new CompactAuthorities(version, encodeBits(permissions), encodeBits(roles),
+                    unmapped.isEmpty() ? Collections.emptyList() : unmapped);
+        }
+
+        private boolean covers(BitSet permissions, BitSet roles) {
+            for (int id = permissions.nextSetBit(0); id >= 0; id = permissions.nextSetBit(id + 1)) {
+                if (permissionCode(id) == null) {
+                    return false;
+                }
+            }
+            for (int id = roles.nextSetBit(0); id >= 0; id = roles.nextSetBit(id + 1)) {
+                if (roleAuthority(id) == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private List<String> decode(BitSet permissions, BitSet roles) {
+            List<String> codes = new ArrayList<>(permissions.cardinality() + roles.cardinality());
+            for (int id = permissions.nextSetBit(0); id >= 0; id = permissions.nextSetBit(id + 1)) {
+                String code = permissionCode(id);
+                if (code != null) {
+                    codes.add(code);
+                }
+            }
+            for (int id = roles.nextSetBit(0); id >= 0; id = roles.nextSetBit(id + 1)) {
+                String authority = roleAuthority(id);
+                if (authority != null) {
+                    codes.add(authority);
+                }
+            }
+            return codes;
+        }
+
+        private static String[] toArray(Map<Integer, String> byId, Map<String, Integer> index) {
+            int length = byId.isEmpty() ? 0 : ((TreeMap<Integer, String>) byId).lastKey() + 1;
+            String[] codes = new String[length];
+            byId.forEach((id, code) -> {
+                codes[id] = code;
+                index.putIfAbsent(code, id);
+            });
+            return codes;
+        }
+
+        private static String computeVersion(Map<Integer, String> permissions, Map<Integer, String> roles) {
+            CRC32 crc = new CRC32();
+            permissions.forEach((id, code) -> crc.update(("p" + id + "=" + code + ";").getBytes(StandardCharsets.UTF_8)));
+            roles.forEach((id, code) -> crc.update(("r" + id + "=" + code + ";").getBytes(StandardCharsets.UTF_8)));
+            return Long.toHexString(crc.getValue());
+        }
+    }
+}
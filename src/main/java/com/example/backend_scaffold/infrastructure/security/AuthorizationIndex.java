@@ -0,0 +1,207 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.domain.event.PermissionChangedEvent;
+import com.example.backend_scaffold.domain.event.RoleChangedEvent;
+import com.example.backend_scaffold.domain.event.RolePermissionChangedEvent;
+import com.example.backend_scaffold.domain.event.UserRoleChangedEvent;
+import com.example.backend_scaffold.domain.event.UserStatusChangedEvent;
+import com.example.backend_scaffold.domain.model.entity.UserEntity;
+import com.example.backend_scaffold.domain.model.entity.UserRoleEntity;
+import com.example.backend_scaffold.domain.repository.UserRepository;
+import com.example.backend_scaffold.domain.repository.UserRoleRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.BitSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 授权索引
+ * <p>
+ * 按用户ID保存用户有效权限的位图，位图中第N位表示ID为N的权限，
+ * 权限编码到ID的映射由{@link AuthorityDictionary}提供。
+ * 权限检查只需一次哈希查找和一次位测试，不访问数据库；
+ * 条目在首次检查时由{@link RolePermissionMatrix}计算，并随领域事件在事务提交后失效。
+ * 以用户ID而不是用户名为键，用户改名后旧用户名被其他人注册时不会继承原用户的权限。
+ * </p>
+ *
+ * @author example
+ */
+@Component
+public class AuthorizationIndex {
+
+    private final UserRepository userRepository;
+
+    private final UserRoleRepository userRoleRepository;
+
+    private final RolePermissionMatrix rolePermissionMatrix;
+
+    private final AuthorityDictionary authorityDictionary;
+
+    /**
+     * 用户ID到有效权限位图的映射，位图创建后不再修改
+     */
+    private final Cache<Long, BitSet> entries;
+
+    /**
+     * 构造函数
+     *
+     * @param userRepository       用户仓储
+     * @param userRoleRepository   用户角色仓储
+     * @param rolePermissionMatrix 角色权限矩阵
+     * @param authorityDictionary  权限字典
+     * @param maximumSize          最多索引的用户数
+     */
+    public AuthorizationIndex(UserRepository userRepository,
+                              UserRoleRepository userRoleRepository,
+                              RolePermissionMatrix rolePermissionMatrix,
+                              AuthorityDictionary authorityDictionary,
+                              @Value("${security.authorization-index.maximum-size:10000}") long maximumSize) {
+        this.userRepository = userRepository;
+        this.userRoleRepository = userRoleRepository;
+        this.rolePermissionMatrix = rolePermissionMatrix;
+        this.authorityDictionary = authorityDictionary;
+        this.entries = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * 获取认证信息对应的用户ID
+     * <p>
+     * 主体为{@link AuthenticatedUser}时直接取其用户ID；
+     * 不含用户ID声明的旧令牌按用户名查询数据库
+     * </p>
+     *
+     * @param authentication 认证信息
+     * @return 用户ID，用户不存在时返回null
+     */
+    public Long userId(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user && user.getId() != null) {
+            return user.getId();
+        }
+        return userRepository.findByUsername(authentication.getName()).map(UserEntity::getId).orElse(null);
+    }
+
+    /**
+     * 判断用户是否拥有指定权限
+     *
+     * @param userId         用户ID，可为null
+     * @param permissionCode 权限编码
+     * @return 是否拥有权限
+     */
+    public boolean hasPermission(Long userId, String permissionCode) {
+        if (userId == null) {
+            return false;
+        }
+        int permissionId = authorityDictionary.current().permissionId(permissionCode);
+        return permissionId >= 0 && entry(userId).get(permissionId);
+    }
+
+    /**
+     * 获取用户有效权限位图的副本
+     *
+     * @param userId 用户ID，可为null
+     * @return 权限位图，用户不存在时返回空位图
+     */
+    public BitSet permissions(Long userId) {
+        return userId != null ? (BitSet) entry(userId).clone() : new BitSet();
+    }
+
+    /**
+     * 清除指定用户的索引条目
+     *
+     * @param userId 用户ID
+     */
+    public void evict(Long userId) {
+        entries.invalidate(userId);
+    }
+
+    /**
+     * 清除拥有指定角色的所有用户的索引条目
+     *
+     * @param roleId 角色ID
+     */
+    public void evictRole(Long roleId) {
+        Set<Long> userIds = userRoleRepository.findByRoleId(roleId).stream()
+                .map(UserRoleEntity::getUserId)
+                .collect(Collectors.toSet());
+        entries.invalidateAll(userIds);
+    }
+    /**
+     * 清空索引
+     */
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * 用户角色变更
+     *
+     * @param event 用户角色变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRoleChanged(UserRoleChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    /**
+     * 用户状态变更
+     *
+     * @param event 用户状态变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    /**
+     * 角色权限变更
+     *
+     * @param event 角色权限变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolePermissionChanged(RolePermissionChangedEvent event) {
+        evictRole(event.getRoleId());
+    }
+
+    /**
+     * 角色变更
+     *
+     * @param event 角色变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoleChanged(RoleChangedEvent event) {
+        evictRole(event.getRoleId());
+    }
+
+    /**
+     * 权限变更
+     *
+     * @param event 权限变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionChanged(PermissionChangedEvent event) {
+        clear();
+    }
+
+    /**
+     * 获取或构建用户的有效权限位图
+     *
+     * @param userId 用户ID
+     * @return 有效权限位图，不可修改
+     */
+    private BitSet entry(Long userId) {
+        BitSet entry = entries.getIfPresent(userId);
+        if (entry != null) {
+            return entry;
+        }
+        return entries.get(userId, rolePermissionMatrix::effectivePermissions);
+    }
+}
@@ -0,0 +1,449 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.domain.event.PermissionChangedEvent;
+import com.example.backend_scaffold.domain.event.RoleChangedEvent;
+import com.example.backend_scaffold.domain.event.RolePermissionChangedEvent;
+import com.example.backend_scaffold.domain.event.UserRoleChangedEvent;
+import com.example.backend_scaffold.domain.event.UserStatusChangedEvent;
+import com.example.backend_scaffold.domain.service.PermissionHierarchyService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 授权版本服务
+ * <p>
+ * 为每个用户和每个角色维护授权版本号，令牌签发时记录用户当时的授权版本，
+ * 请求时比较令牌版本与用户当前版本即可在O(1)内判断令牌中的权限是否已过期，
+ * 只有过期的令牌才从{@link RolePermissionMatrix}重建权限，不访问数据库。
+ * </p>
+ * <p>
+ * 版本号取自单调递增的序列，序列以启动时的时间戳为起点，重启前签发的令牌在重启后各重建一次。
+ * 角色版本变化时，持有该角色的用户版本同步推进，读操作只需查询用户版本和全局版本；
+ * 权限本身变更时推进全局版本，所有令牌各重建一次。
+ * 启用Redis（cluster.redis.enabled=true）时版本变化通过发布/订阅通知其他节点。
+ * 其他节点收到通知后先从数据库重新加载本地矩阵中受影响的用户或角色（全局变化时重建矩阵和权限字典），
+ * 并删除受影响用户的权限缓存和{@link AuthorizationIndex}条目，再推进版本，
+ * 保证过期令牌按变化之后的矩阵重建，URL授权和方法安全检查也不再使用变化之前的权限。
+ * 全局变化（权限本身变更）时还重建{@link UrlPermissionRouter}和权限树，
+ * 权限的URL、方法或父子关系在所有节点上同时生效。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+@Service
+public class AuthorizationVersionService implements MessageListener {
+
+    /**
+     * 版本变化通知频道
+     */
+    public static final String VERSION_CHANNEL = "auth:version";
+
+    /**
+     * 用户版本消息前缀
+     */
+    private static final String USER_SCOPE = "u";
+
+    /**
+     * 角色版本消息前缀
+     */
+    private static final String ROLE_SCOPE = "r";
+
+    /**
+     * 全局版本消息前缀
+     */
+    private static final String GLOBAL_SCOPE = "g";
+
+    /**
+     * 角色权限矩阵
+     */
+    private final RolePermissionMatrix rolePermissionMatrix;
+
+    /**
+     * 权限对象注册表
+     */
+    private final GrantedAuthorityRegistry authorityRegistry;
+
+    /**
+     * 权限字典
+     */
+    private final AuthorityDictionary authorityDictionary;
+
+    /**
+     * 用户权限缓存
+     */
+    private final UserAuthorityCache userAuthorityCache;
+
+    /**
+     * 授权索引
+     */
+    private final AuthorizationIndex authorizationIndex;
+
+    /**
+     * URL权限路由表
+     */
+    private final UrlPermissionRouter urlPermissionRouter;
+
+    /**
+     * 权限层级服务
+     */
+    private final PermissionHierarchyService permissionHierarchyService;
+
+    /**
+     * Redis模板，未启用Redis时为null
+     */
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 消息监听容器，未启用Redis时为null
+     */
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 本节点标识，用于忽略自己发出的通知
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 版本序列
+     */
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * 全局版本，所有用户的版本不低于该值
+     */
+    private final AtomicLong globalVersion = new AtomicLong(sequence.get());
+
+    /**
+     * 用户ID到用户版本的映射，只记录启动后发生过变化的用户
+     */
+    private final ConcurrentMap<Long, Long> userVersions = new ConcurrentHashMap<>();
+
+    /**
+     * 角色ID到角色版本的映射，只记录启动后发生过变化的角色
+     */
+    private final ConcurrentMap<Long, Long> roleVersions = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param rolePermissionMatrix       角色权限矩阵
+     * @param authorityRegistry          权限对象注册表
+     * @param authorityDictionary        权限字典
+     * @param userAuthorityCache         用户权限缓存
+     * @param authorizationIndex         授权索引
+     * @param urlPermissionRouter        URL权限路由表
+     * @param permissionHierarchyService 权限层级服务
+     * @param redisEnabled               是否启用Redis
+     * @param redisTemplate              Redis模板
+     * @param listenerContainer          消息监听容器
+     */
+    public AuthorizationVersionService(
+            RolePermissionMatrix rolePermissionMatrix,
+            GrantedAuthorityRegistry authorityRegistry,
+            AuthorityDictionary authorityDictionary,
+            UserAuthorityCache userAuthorityCache,
+            AuthorizationIndex authorizationIndex,
+            UrlPermissionRouter urlPermissionRouter,
+            PermissionHierarchyService permissionHierarchyService,
+            @Value("${cluster.redis.enabled:false}") boolean redisEnabled,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        this.rolePermissionMatrix = rolePermissionMatrix;
+        this.authorityRegistry = authorityRegistry;
+        this.authorityDictionary = authorityDictionary;
+        this.userAuthorityCache = userAuthorityCache;
+        this.authorizationIndex = authorizationIndex;
+        this.urlPermissionRouter = urlPermissionRouter;
+        this.permissionHierarchyService = permissionHierarchyService;
+        this.redisTemplate = redisEnabled ? redisTemplate.getIfAvailable() : null;
+        this.listenerContainer = redisEnabled ? listenerContainer.getIfAvailable() : null;
+    }
+
+    /**
+     * 初始化：订阅版本变化通知
+     */
+    @PostConstruct
+    public void init() {
+        if (listenerContainer != null) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(VERSION_CHANNEL));
+        }
+    }
+
+    /**
+     * 获取用户当前的授权版本
+     * <p>
+     * 签发令牌时应在读取权限之前获取版本，读取期间发生的变化会在下次请求时被识别
+     * </p>
+     *
+     * @param userId 用户ID
+     * @return 授权版本
+     */
+    public long version(Long userId) {
+        long global = globalVersion.get();
+        if (userId == null) {
+            return global;
+        }
+        Long user = userVersions.get(userId);
+        return user != null ? Math.max(user, global) : global;
+    }
+
+    /**
+     * 获取角色当前的授权版本
+     *
+     * @param roleId 角色ID
+     * @return 授权版本
+     */
+    public long roleVersion(Long roleId) {
+        Long role = roleVersions.get(roleId);
+        return role != null ? Math.max(role, globalVersion.get()) : globalVersion.get();
+    }
+
+    /**
+     * 判断认证信息中的权限是否已过期
+     *
+     * @param authentication 认证信息
+     * @return 是否已过期，主体不携带用户ID的旧令牌始终返回false
+     */
+    public boolean isStale(Authentication authentication) {
+        return authentication.getPrincipal() instanceof AuthenticatedUser user
+                && user.getId() != null
+                && user.getAuthorizationVersion() < version(user.getId());
+    }
+
+    /**
+     * 根据角色权限矩阵重建过期的认证信息
+     *
+     * @param authentication 过期的认证信息
+     * @return 携带当前权限和当前版本的认证信息
+     */
+    public Authentication refresh(Authentication authentication) {
+        AuthenticatedUser stale = (AuthenticatedUser) authentication.getPrincipal();
+        AuthenticatedUser principal = principal(stale.getId(), stale.getUsername());
+        log.debug("Refreshed stale authorities of user {} to version {}", principal.getId(),
+                principal.getAuthorizationVersion());
+        if (authentication instanceof JwtAuthenticationToken jwt) {
+            return new JwtAuthenticationToken(principal, jwt.getToken(), principal.getAuthorities(),
+                    jwt.getExpiration());
+        }
+        return new UsernamePasswordAuthenticationToken(principal, authentication.getCredentials(),
+                principal.getAuthorities());
+    }
+
+    /**
+     * 根据角色权限矩阵构建携带当前权限和当前版本的主体对象，不访问数据库
+     *
+     * @param userId   用户ID
+     * @param username 用户名
+     * @return 主体对象
+     */
+    public AuthenticatedUser principal(Long userId, String username) {
+        long version = version(userId);
+        List<GrantedAuthority> authorities = authorityRegistry.intern(rolePermissionMatrix.authorities(userId));
+        return new AuthenticatedUser(userId, username, "", true, true, authorities,
+                rolePermissionMatrix.roles(userId), rolePermissionMatrix.effectivePermissions(userId), version);
+    }
+
+    /**
+     * 推进用户版本
+     *
+     * @param userId 用户ID
+     */
+    public void bumpUser(Long userId) {
+        long version = sequence.incrementAndGet();
+        applyUser(userId, version);
+        publish(USER_SCOPE, userId, version);
+    }
+
+    /**
+     * 推进角色版本，并推进持有该角色的所有用户的版本
+     *
+     * @param roleId 角色ID
+     */
+    public void bumpRole(Long roleId) {
+        long version = sequence.incrementAndGet();
+        applyRole(roleId, version);
+        publish(ROLE_SCOPE, roleId, version);
+    }
+
+    /**
+     * 推进全局版本，所有令牌在下次请求时重建权限
+     */
+    public void bumpGlobal() {
+        long version = sequence.incrementAndGet();
+        globalVersion.accumulateAndGet(version, Math::max);
+        publish(GLOBAL_SCOPE, 0L, version);
+    }
+
+    /**
+     * 用户角色变更
+     *
+     * @param event 用户角色变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRoleChanged(UserRoleChangedEvent event) {
+        bumpUser(event.getUserId());
+    }
+
+    /**
+     * 用户状态变更
+     *
+     * @param event 用户状态变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        bumpUser(event.getUserId());
+    }
+
+    /**
+     * 角色权限变更
+     *
+     * @param event 角色权限变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolePermissionChanged(RolePermissionChangedEvent event) {
+        bumpRole(event.getRoleId());
+    }
+
+    /**
+     * 角色变更
+     *
+     * @param event 角色变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoleChanged(RoleChangedEvent event) {
+        bumpRole(event.getRoleId());
+    }
+
+    /**
+     * 权限变更
+     *
+     * @param event 权限变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionChanged(PermissionChangedEvent event) {
+        bumpGlobal();
+    }
+
+    /**
+     * 接收其他节点的版本变化通知
+     *
+     * @param message 消息，格式为 节点标识:范围:ID:版本
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split(":");
+        if (parts.length != 4) {
+            log.warn("Ignoring malformed authorization version message: {}", body);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            long id = Long.parseLong(parts[2]);
+            long version = Long.parseLong(parts[3]);
+            // 本地序列不落后于其他节点，之后签发的版本总能覆盖已知的变化
+            sequence.accumulateAndGet(version, Math::max);
+            // 先把变化应用到本地矩阵，再推进版本，过期令牌才会按变化之后的矩阵重建
+            switch (parts[1]) {
+                case USER_SCOPE -> {
+                    rolePermissionMatrix.reloadUser(id);
+                    userAuthorityCache.evict(id);
+                    authorizationIndex.evict(id);
+                    applyUser(id, version);
+                }
+                case ROLE_SCOPE -> {
+                    authorityDictionary.refresh();
+                    rolePermissionMatrix.reloadRole(id);
+                    for (Long userId : rolePermissionMatrix.usersWithRole(id)) {
+                        userAuthorityCache.evict(userId);
+                        authorizationIndex.evict(userId);
+                    }
+                    applyRole(id, version);
+                }
+                case GLOBAL_SCOPE -> {
+                    authorityDictionary.refresh();
+                    rolePermissionMatrix.rebuild();
+                    userAuthorityCache.clear();
+                    authorizationIndex.clear();
+                    urlPermissionRouter.rebuild();
+                    permissionHierarchyService.rebuild();
+                    globalVersion.accumulateAndGet(version, Math::max);
+                }
+                default -> log.warn("Ignoring authorization version message with unknown scope: {}", body);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed authorization version message: {}", body);
+        }
+    }
+
+    /**
+     * 在本地记录用户版本
+     *
+     * @param userId  用户ID
+     * @param version 版本
+     */
+    private void applyUser(Long userId, long version) {
+        userVersions.merge(userId, version, Math::max);
+    }
+
+    /**
+     * 在本地记录角色版本，并推进持有该角色的用户的版本
+     *
+     * @param roleId  角色ID
+     * @param version 版本
+     */
+    private void applyRole(Long roleId, long version) {
+        roleVersions.merge(roleId, version, Math::max);
+        List<Long> userIds = rolePermissionMatrix.usersWithRole(roleId);
+        userIds.forEach(userId -> applyUser(userId, version));
+        log.debug("Authorization version of role {} advanced to {}, {} users affected", roleId, version, userIds.size());
+    }
+
+    /**
+     * 通知其他节点版本变化
+     *
+     * @param scope   范围
+     * @param id      用户或角色ID
+     * @param version 版本
+     */
+    private void publish(String scope, Long id, long version) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(VERSION_CHANNEL, nodeId + ":" + scope + ":" + id + ":" + version);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish authorization version to Redis: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 有界密码编码器
+ * <p>
+ * 将BCrypt等计算密集的密码哈希放到专用的固定大小线程池中执行，限制同时进行的哈希数量。
+ * 线程池和等待队列均有上限，队列已满时立即拒绝而不是排队等待，
+ * 因此登录高峰最多占用有限数量的请求线程，其余请求线程仍可处理普通接口。
+ * 被拒绝或等待超时的调用抛出{@link PasswordHashingRejectedException}。
+ * 队列深度、活跃线程数、拒绝次数和执行耗时以auth.password.hashing为前缀导出。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    /**
+     * 指标名前缀
+     */
+    private static final String METRIC_PREFIX = "auth.password.hashing";
+
+    /**
+     * 实际执行哈希的编码器
+     */
+    private final PasswordEncoder delegate;
+
+    /**
+     * 哈希线程池
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 等待结果的最长时间（毫秒）
+     */
+    private final long timeoutMillis;
+
+    /**
+     * 拒绝次数
+     */
+    private final Counter rejected;
+
+    /**
+     * 哈希执行耗时
+     */
+    private final Timer timer;
+
+    /**
+     * 构造函数
+     *
+     * @param delegate      实际执行哈希的编码器
+     * @param threads       并发哈希数上限
+     * @param queueCapacity 等待队列容量
+     * @param timeoutMillis 等待结果的最长时间（毫秒）
+     * @param meterRegistry 指标注册表
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder(METRIC_PREFIX + ".queue", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Password hashing tasks rejected because the pool was saturated or timed out")
+                .register(meterRegistry);
+        this.timer = Timer.builder(METRIC_PREFIX)
+                .description("Password hashing execution time")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 关闭线程池
+     */
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * 在哈希线程池中执行任务并等待结果
+     *
+     * @param task 哈希任务
+     * @param <T>  结果类型
+     * @return 任务结果
+     */
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.debug("Password hashing rejected: active={}, queued={}", executor.getActiveCount(), executor.getQueue().size());
+            throw new PasswordHashingRejectedException("Password hashing capacity exhausted", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * 哈希线程工厂，线程名以password-hash-开头
+     */
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
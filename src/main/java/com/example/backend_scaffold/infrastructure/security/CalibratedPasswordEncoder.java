@@ -0,0 +1,74 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 校准的密码编码器
+ * <p>
+ * 使用启动时校准得到的强度进行BCrypt哈希。强度低于校准结果的已有哈希
+ * 会通过{@link #upgradeEncoding(String)}报告需要更新，
+ * 用户下次登录成功时由认证提供者使用当前强度重新哈希并保存。
+ * 强度更高的哈希保持不变，在较慢的节点上校准出较低强度时不会降低已有哈希的强度。
+ * </p>
+ *
+ * @author example
+ */
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    /**
+     * BCrypt哈希格式，第二组为强度
+     */
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([aby])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    /**
+     * 当前强度的BCrypt编码器
+     */
+    private final BCryptPasswordEncoder delegate;
+
+    /**
+     * 校准结果
+     */
+    private final PasswordEncoderCalibration calibration;
+
+    /**
+     * 构造函数
+     *
+     * @param calibration 校准结果
+     */
+    public CalibratedPasswordEncoder(PasswordEncoderCalibration calibration) {
+        this.calibration = calibration;
+        this.delegate = new BCryptPasswordEncoder(calibration.getStrength());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * 判断已有哈希是否需要重新编码
+     *
+     * @param encodedPassword 已有哈希
+     * @return 强度低于当前校准强度时返回true
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            return false;
+        }
+        return Integer.parseInt(matcher.group(2)) < calibration.getStrength();
+    }
+}
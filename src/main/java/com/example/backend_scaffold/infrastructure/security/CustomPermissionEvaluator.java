@@ -1,6 +1,5 @@
 package com.example.backend_scaffold.infrastructure.security;
 
-import com.example.backend_scaffold.domain.repository.UserRepository;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
@@ -10,7 +9,8 @@ import java.io.Serializable;
 /**
  * 权限评估器
  * <p>
- * 实现Spring Security的PermissionEvaluator接口，用于评估用户是否有权限执行特定操作
+ * 实现Spring Security的PermissionEvaluator接口，用于评估用户是否有权限执行特定操作。
+ * 权限检查由内存中的{@link AuthorizationIndex}完成，不访问数据库
  * </p>
  *
  * @author example
@@ -19,17 +19,17 @@ import java.io.Serializable;
 public class CustomPermissionEvaluator implements PermissionEvaluator {
 
     /**
-     * 用户仓储
+     * 授权索引
      */
-    private final UserRepository userRepository;
+    private final AuthorizationIndex authorizationIndex;
 
     /**
      * 构造函数
      *
-     * @param userRepository 用户仓储
+     * @param authorizationIndex 授权索引
      */
-    public CustomPermissionEvaluator(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public CustomPermissionEvaluator(AuthorizationIndex authorizationIndex) {
+        this.authorizationIndex = authorizationIndex;
     }
 
     /**
@@ -46,17 +46,17 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
             return false;
         }
 
-        // 获取用户名
-        String username = authentication.getName();
+        // 获取用户ID
+        Long userId = authorizationIndex.userId(authentication);
         
         // 获取目标对象类型
-        String targetType = targetDomainObject.getClass().getSimpleName().toLowerCase();
+        String targetType = targetDomainObject.getClass().getSimpleName();
         
         // 构建权限字符串，例如：user:read
-        String permissionString = targetType + ":" + permission.toString().toLowerCase();
+        String permissionString = permissionCode(targetType, permission);
         
         // 检查用户是否有指定权限
-        return userRepository.hasPermission(username, permissionString);
+        return authorizationIndex.hasPermission(userId, permissionString);
     }
 
     /**
@@ -74,13 +74,24 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
             return false;
         }
 
-        // 获取用户名
-        String username = authentication.getName();
+        // 获取用户ID
+        Long userId = authorizationIndex.userId(authentication);
         
         // 构建权限字符串，例如：user:read
-        String permissionString = targetType.toLowerCase() + ":" + permission.toString().toLowerCase();
+        String permissionString = permissionCode(targetType, permission);
         
         // 检查用户是否有指定权限
-        return userRepository.hasPermission(username, permissionString);
+        return authorizationIndex.hasPermission(userId, permissionString);
     }
-}
\ No newline at end of file
+
+    /**
+     * 根据目标类型和操作构建权限编码，例如（User，read）对应user:read
+     *
+     * @param targetType 目标类型
+     * @param permission 操作
+     * @return 权限编码
+     */
+    public static String permissionCode(String targetType, Object permission) {
+        return targetType.toLowerCase() + ":" + permission.toString().toLowerCase();
+    }
+}
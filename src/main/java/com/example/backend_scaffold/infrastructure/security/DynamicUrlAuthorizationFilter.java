@@ -0,0 +1,116 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 动态URL授权过滤器
+ * <p>
+ * 根据权限表中API类型权限配置的URL和方法对请求进行授权：
+ * 通过{@link UrlPermissionRouter}找到访问该URL所需的权限编码，由{@link AuthorizationIndex}判断当前用户是否拥有其中之一，
+ * 整个过程不访问数据库。没有对应API权限的URL以及未认证的请求直接放行，交由后续的授权规则处理。
+ * 过滤器位于ExceptionTranslationFilter之后，拒绝访问时抛出的异常会被转换为403响应。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+@Component
+public class DynamicUrlAuthorizationFilter extends OncePerRequestFilter {
+
+    /**
+     * 是否启用
+     */
+    private final boolean enabled;
+
+    /**
+     * URL权限路由表
+     */
+    private final UrlPermissionRouter urlPermissionRouter;
+
+    /**
+     * 授权索引
+     */
+    private final AuthorizationIndex authorizationIndex;
+
+    /**
+     * 构造函数
+     *
+     * @param enabled             是否启用
+     * @param urlPermissionRouter URL权限路由表
+     * @param authorizationIndex  授权索引
+     */
+    public DynamicUrlAuthorizationFilter(@Value("${security.url-authorization.enabled:true}") boolean enabled,
+                                         UrlPermissionRouter urlPermissionRouter,
+                                         AuthorizationIndex authorizationIndex) {
+        this.enabled = enabled;
+        this.urlPermissionRouter = urlPermissionRouter;
+        this.authorizationIndex = authorizationIndex;
+    }
+
+    /**
+     * 未启用时不过滤
+     *
+     * @param request HTTP请求
+     * @return 是否跳过
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    /**
+     * 过滤请求
+     *
+     * @param request     HTTP请求
+     * @param response    HTTP响应
+     * @param filterChain 过滤器链
+     * @throws ServletException Servlet异常
+     * @throws IOException      IO异常
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            List<String> required = urlPermissionRouter.match(request.getMethod(), path);
+            if (!required.isEmpty() && !isGranted(authorizationIndex.userId(authentication), required)) {
+                log.debug("Access denied to {} {} for {}, requires any of {}",
+                        request.getMethod(), path, authentication.getName(), required);
+                throw new AccessDeniedException("Access denied");
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 判断用户是否拥有任意一个所需权限
+     *
+     * @param userId   用户ID
+     * @param required 所需权限编码
+     * @return 是否拥有
+     */
+    private boolean isGranted(Long userId, List<String> required) {
+        for (String code : required) {
+            if (authorizationIndex.hasPermission(userId, code)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 权限对象注册表
+ * <p>
+ * 以享元方式共享GrantedAuthority实例。系统中不同的权限编码只有几百个，
+ * 令牌中的权限串也只有少量不同组合，因此按权限编码驻留权限对象，
+ * 按整个权限串缓存解析后的不可变列表，按用户缓存主体对象，
+ * 令牌转换为认证信息时在命中的情况下不再产生新的集合和权限对象。
+ * </p>
+ *
+ * @author example
+ */
+@Component
+public class GrantedAuthorityRegistry {
+
+    /**
+     * 权限串分隔符
+     */
+    private static final char SEPARATOR = ',';
+
+    /**
+     * 权限编码到共享权限对象的映射
+     */
+    private final ConcurrentMap<String, GrantedAuthority> authorities = new ConcurrentHashMap<>();
+
+    /**
+     * 权限串到解析结果的缓存
+     */
+    private final Cache<String, List<GrantedAuthority>> parsedAuthorities;
+
+    /**
+     * 用户名到主体对象的缓存
+     */
+    private final Cache<String, PrincipalEntry> principals;
+
+    /**
+     * 构造函数
+     *
+     * @param maximumSize 权限串缓存和主体缓存的最大条目数
+     */
+    public GrantedAuthorityRegistry(@Value("${jwt.authority-cache.maximum-size:4096}") long maximumSize) {
+        this.parsedAuthorities = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.principals = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * 获取共享的权限对象
+     *
+     * @param code 权限编码
+     * @return 权限对象
+     */
+    public GrantedAuthority intern(String code) {
+        GrantedAuthority authority = authorities.get(code);
+        if (authority != null) {
+            return authority;
+        }
+        return authorities.computeIfAbsent(code, SimpleGrantedAuthority::new);
+    }
+
+    /**
+     * 获取一组权限编码对应的共享权限对象列表
+     *
+     * @param codes 权限编码
+     * @return 不可变的权限对象列表
+     */
+    public List<GrantedAuthority> intern(Collection<String> codes) {
+        List<GrantedAuthority> result = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            result.add(intern(code));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * 解析逗号分隔的权限串
+     *
+     * @param joined 逗号分隔的权限串
+     * @return 不可变的权限对象列表，相同的权限串返回同一实例
+     */
+    public List<GrantedAuthority> parse(String joined) {
+        if (joined == null || joined.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<GrantedAuthority> cached = parsedAuthorities.getIfPresent(joined);
+        if (cached != null) {
+            return cached;
+        }
+        return parsedAuthorities.get(joined, this::split);
+    }
+
+    /**
+     * 按缓存键获取共享的权限对象列表，未命中时通过解码函数得到权限编码
+     *
+     * @param key     缓存键，相同的键必须对应相同的权限集合
+     * @param decoder 解码函数
+     * @return 不可变的权限对象列表，相同的键返回同一实例
+     */
+    public List<GrantedAuthority> parse(String key, Function<String, Collection<String>> decoder) {
+        List<GrantedAuthority> cached = parsedAuthorities.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        return parsedAuthorities.get(key, k -> intern(decoder.apply(k)));
+    }
+
+    /**
+     * 获取共享的主体对象
+     * <p>
+     * 同一用户在用户ID、授权版本和权限列表未变化时复用同一个主体对象
+     * </p>
+     *
+     * @param userId               用户ID
+     * @param username             用户名
+     * @param authorizationVersion 授权版本
+     * @param authorities          解析得到的权限对象列表
+     * @param factory              未命中时创建主体对象
+     * @return 主体对象
+     */
+    public AuthenticatedUser principal(Long userId, String username, long authorizationVersion,
+                                       List<GrantedAuthority> authorities, Supplier<AuthenticatedUser> factory) {
+        PrincipalEntry entry = principals.getIfPresent(username);
+        if (entry != null && entry.authorities() == authorities
+                && entry.principal().getAuthorizationVersion() == authorizationVersion
+                && Objects.equals(entry.principal().getId(), userId)) {
+            return entry.principal();
+        }
+        AuthenticatedUser principal = factory.get();
+        principals.put(username, new PrincipalEntry(authorities, principal));
+        return principal;
+    }
+
+    /**
+     * 拆分权限串，忽略空白项
+     *
+     * @param joined 逗号分隔的权限串
+     * @return 不可变的权限对象列表
+     */
+    private List<GrantedAuthority> split(String joined) {
+        List<GrantedAuthority> result = new ArrayList<>();
+        int start = 0;
+        int length = joined.length();
+        while (start <= length) {
+            int end = joined.indexOf(SEPARATOR, start);
+            if (end < 0) {
+                end = length;
+            }
+            String code = joined.substring(start, end).trim();
+            if (!code.isEmpty()) {
+                result.add(intern(code));
+            }
+            start = end + 1;
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * 主体缓存条目
+     *
+     * @param authorities 构建主体时使用的权限对象列表
+     * @param principal   主体对象
+     */
+    private record PrincipalEntry(List<GrantedAuthority> authorities, AuthenticatedUser principal) {
+    }
+}
@@ -28,13 +28,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     private final JwtTokenProvider jwtTokenProvider;
 
+    /**
+     * 已验证令牌缓存
+     */
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * 令牌撤销服务
+     */
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * 授权版本服务
+     */
+    private final AuthorizationVersionService authorizationVersionService;
+
     /**
      * 构造函数
      *
-     * @param jwtTokenProvider JWT令牌提供者
+     * @param jwtTokenProvider            JWT令牌提供者
+     * @param verifiedTokenCache          已验证令牌缓存
+     * @param tokenRevocationService      令牌撤销服务
+     * @param authorizationVersionService 授权版本服务
      */
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, VerifiedTokenCache verifiedTokenCache,
+                                   TokenRevocationService tokenRevocationService,
+                                   AuthorizationVersionService authorizationVersionService) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.authorizationVersionService = authorizationVersionService;
     }
 
     /**
@@ -53,15 +76,55 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = resolveToken(request);
 
         // 验证令牌并设置认证信息
-        if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-            Authentication authentication = jwtTokenProvider.getAuthentication(token);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (StringUtils.hasText(token)) {
+            Authentication authentication = authenticate(token);
+            if (authentication != null) {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
         // 继续过滤器链
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 根据令牌获取认证信息
+     * <p>
+     * 已撤销的令牌直接拒绝；其余令牌优先使用已验证令牌缓存，
+     * 未命中时一次解析完成签名校验和声明提取，并写入缓存。
+     * 令牌中的授权版本落后于用户当前版本时，从角色权限矩阵重建权限并替换缓存
+     * </p>
+     *
+     * @param token JWT令牌
+     * @return 认证信息，令牌无效或已撤销时返回null
+     */
+    private Authentication authenticate(String token) {
+        String digest = TokenDigest.of(token);
+        if (tokenRevocationService.isRevoked(digest)) {
+            return null;
+        }
+
+        Authentication authentication = verifiedTokenCache.get(digest);
+        if (authentication != null) {
+            if (authorizationVersionService.isStale(authentication)) {
+                authentication = authorizationVersionService.refresh(authentication);
+                verifiedTokenCache.replace(digest, authentication);
+            }
+            return authentication;
+        }
+
+        TokenValidationResult result = jwtTokenProvider.validateAndParse(token);
+        if (!result.isValid()) {
+            return null;
+        }
+        authentication = jwtTokenProvider.getAuthentication(token, result.getClaims());
+        if (authorizationVersionService.isStale(authentication)) {
+            authentication = authorizationVersionService.refresh(authentication);
+        }
+        verifiedTokenCache.put(digest, authentication, result.getClaims().getExpiration());
+        return authentication;
+    }
+
     /**
      * 从请求中解析令牌
      *
@@ -0,0 +1,58 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * JWT认证信息
+ * <p>
+ * 由{@link JwtTokenProvider}根据已校验的令牌构建，凭证为原始令牌，
+ * 同时携带过滤器校验时解析出的过期时间，登出撤销令牌时无需再次解析
+ * </p>
+ *
+ * @author example
+ */
+public class JwtAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 令牌过期时间，令牌不含exp声明时为null
+     */
+    private final Date expiration;
+
+    /**
+     * 构造函数
+     *
+     * @param principal   主体对象
+     * @param token       JWT令牌
+     * @param authorities 权限对象
+     * @param expiration  令牌过期时间
+     */
+    public JwtAuthenticationToken(Object principal, String token, Collection<? extends GrantedAuthority> authorities,
+                                  Date expiration) {
+        super(principal, token, authorities);
+        this.expiration = expiration;
+    }
+
+    /**
+     * 获取JWT令牌
+     *
+     * @return JWT令牌
+     */
+    public String getToken() {
+        return (String) getCredentials();
+    }
+
+    /**
+     * 获取令牌过期时间
+     *
+     * @return 令牌过期时间，令牌不含exp声明时返回null
+     */
+    public Date getExpiration() {
+        return expiration;
+    }
+}
@@ -1,22 +1,27 @@
 package com.example.backend_scaffold.infrastructure.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.security.Key;
-import java.util.Arrays;
-import java.util.Collection;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.Date;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -35,27 +40,100 @@ public class JwtTokenProvider {
      */
     private final Key key;
 
+    /**
+     * 预构建的令牌解析器，线程安全，所有请求共享
+     */
+    private final JwtParser jwtParser;
+
     /**
      * 令牌有效期（毫秒）
      */
     private final long tokenValidityInMilliseconds;
 
+    /**
+     * 刷新令牌有效期（毫秒）
+     */
+    private final long refreshTokenValidityInMilliseconds;
+
+    /**
+     * 刷新令牌随机数生成器
+     */
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * 权限对象注册表
+     */
+    private final GrantedAuthorityRegistry authorityRegistry;
+
+    /**
+     * 权限字典，用于紧凑权限声明
+     */
+    private final AuthorityDictionary authorityDictionary;
+
+    /**
+     * 是否使用紧凑权限声明
+     */
+    private final boolean compactAuthorities;
+
     /**
      * 权限声明键
      */
     private static final String AUTHORITIES_KEY = "auth";
 
+    /**
+     * 用户ID声明键
+     */
+    private static final String USER_ID_KEY = "uid";
+
+    /**
+     * 授权版本声明键
+     */
+    private static final String AUTHORIZATION_VERSION_KEY = "av";
+
+    /**
+     * 紧凑权限声明：权限位图键
+     */
+    private static final String PERMISSION_BITS_KEY = "pb";
+
+    /**
+     * 紧凑权限声明：角色位图键
+     */
+    private static final String ROLE_BITS_KEY = "rb";
+
+    /**
+     * 紧凑权限声明：字典版本键
+     */
+    private static final String DICTIONARY_VERSION_KEY = "dv";
+
+    /**
+     * 刷新令牌的随机字节数
+     */
+    private static final int REFRESH_TOKEN_BYTES = 32;
+
     /**
      * 构造函数
      *
-     * @param secret               JWT密钥
-     * @param tokenValidityInSeconds JWT令牌有效期（秒）
+     * @param secret                 JWT密钥
+     * @param expiration             JWT令牌有效期（毫秒）
+     * @param refreshTokenExpiration 刷新令牌有效期（毫秒）
+     * @param compactAuthorities     是否使用紧凑权限声明
+     * @param authorityRegistry      权限对象注册表
+     * @param authorityDictionary    权限字典
      */
     public JwtTokenProvider(
         @Value("${jwt.secret}") String secret,
-        @Value("${jwt.expiration}") long expiration) {
+        @Value("${jwt.expiration}") long expiration,
+        @Value("${jwt.refresh-token.expiration:1209600000}") long refreshTokenExpiration,
+        @Value("${jwt.compact-authorities:false}") boolean compactAuthorities,
+        GrantedAuthorityRegistry authorityRegistry,
+        AuthorityDictionary authorityDictionary) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
         this.tokenValidityInMilliseconds = expiration;
+        this.refreshTokenValidityInMilliseconds = refreshTokenExpiration;
+        this.compactAuthorities = compactAuthorities;
+        this.authorityRegistry = authorityRegistry;
+        this.authorityDictionary = authorityDictionary;
     }
 
     /**
@@ -65,21 +143,99 @@ public class JwtTokenProvider {
      * @return JWT令牌
      */
     public String createToken(Authentication authentication) {
-        String authorities = authentication.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
-
         long now = (new Date()).getTime();
         Date validity = new Date(now + this.tokenValidityInMilliseconds);
 
-        return Jwts.builder()
-                .setSubject(authentication.getName())
-                .claim(AUTHORITIES_KEY, authorities)
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(authentication.getName());
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user && user.getId() != null) {
+            builder.claim(USER_ID_KEY, user.getId())
+                    .claim(AUTHORIZATION_VERSION_KEY, user.getAuthorizationVersion());
+        }
+
+        if (compactAuthorities) {
+            List<String> codes = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.toList());
+            AuthorityDictionary.CompactAuthorities compact = authorityDictionary.encode(codes);
+            builder.claim(DICTIONARY_VERSION_KEY, compact.version())
+                    .claim(PERMISSION_BITS_KEY, compact.permissionBits())
+                    .claim(ROLE_BITS_KEY, compact.roleBits());
+            // 字典中不存在的权限仍以原始形式保留
+            if (!compact.unmapped().isEmpty()) {
+                builder.claim(AUTHORITIES_KEY, String.join(",", compact.unmapped()));
+            }
+        } else {
+            String authorities = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.joining(","));
+            builder.claim(AUTHORITIES_KEY, authorities);
+        }
+
+        return builder
                 .signWith(key, SignatureAlgorithm.HS512)
                 .setExpiration(validity)
                 .compact();
     }
 
+    /**
+     * 创建不透明的刷新令牌
+     * <p>
+     * 刷新令牌只是随机串，不携带任何声明，服务端只保存其摘要，见{@link TokenDigest}
+     * </p>
+     *
+     * @return URL安全的Base64编码刷新令牌
+     */
+    public String createRefreshToken() {
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * 获取访问令牌有效期
+     *
+     * @return 有效期（毫秒）
+     */
+    public long getTokenValidityInMilliseconds() {
+        return tokenValidityInMilliseconds;
+    }
+
+    /**
+     * 获取刷新令牌有效期
+     *
+     * @return 有效期（毫秒）
+     */
+    public long getRefreshTokenValidityInMilliseconds() {
+        return refreshTokenValidityInMilliseconds;
+    }
+
+    /**
+     * 校验令牌并解析声明
+     * <p>
+     * 只做一次签名校验和解析，成功时返回声明，失败时返回具体的失败类型
+     * </p>
+     *
+     * @param token JWT令牌
+     * @return 校验结果
+     */
+    public TokenValidationResult validateAndParse(String token) {
+        if (!StringUtils.hasText(token)) {
+            return TokenValidationResult.failure(TokenValidationResult.Status.EMPTY);
+        }
+        try {
+            return TokenValidationResult.valid(jwtParser.parseClaimsJws(token).getBody());
+        } catch (ExpiredJwtException e) {
+            return TokenValidationResult.failure(TokenValidationResult.Status.EXPIRED);
+        } catch (SecurityException e) {
+            return TokenValidationResult.failure(TokenValidationResult.Status.INVALID_SIGNATURE);
+        } catch (UnsupportedJwtException e) {
+            return TokenValidationResult.failure(TokenValidationResult.Status.UNSUPPORTED);
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenValidationResult.failure(TokenValidationResult.Status.MALFORMED);
+        }
+    }
+
     /**
      * 获取认证信息
      *
@@ -87,21 +243,84 @@ public class JwtTokenProvider {
      * @return 认证信息
      */
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return getAuthentication(token, jwtParser.parseClaimsJws(token).getBody());
+    }
 
-        Collection<? extends GrantedAuthority> authorities =
-                Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-                        .filter(auth -> !auth.trim().isEmpty())
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
+    /**
+     * 根据已校验的声明构建认证信息，不再重复校验签名
+     *
+     * @param token  JWT令牌
+     * @param claims 已校验的令牌声明
+     * @return 认证信息
+     */
+    public Authentication getAuthentication(String token, Claims claims) {
+        List<GrantedAuthority> authorities = resolveAuthorities(claims);
 
-        User principal = new User(claims.getSubject(), "", authorities);
+        Long userId = claims.get(USER_ID_KEY, Long.class);
+        Long version = claims.get(AUTHORIZATION_VERSION_KEY, Long.class);
+        long authorizationVersion = version != null ? version : 0L;
+        String username = claims.getSubject();
+        AuthenticatedUser principal = authorityRegistry.principal(userId, username, authorizationVersion, authorities,
+                () -> createPrincipal(userId, username, authorizationVersion, authorities));
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        return new JwtAuthenticationToken(principal, token, authorities, claims.getExpiration());
+    }
+
+    /**
+     * 根据声明创建主体对象，角色ID和权限位图由权限字典从权限列表映射得到
+     *
+     * @param userId               用户ID，旧令牌中不存在时为null
+     * @param username             用户名
+     * @param authorizationVersion 授权版本，旧令牌中不存在时为0
+     * @param authorities          权限对象列表
+     * @return 主体对象
+     */
+    private AuthenticatedUser createPrincipal(Long userId, String username, long authorizationVersion,
+                                              List<GrantedAuthority> authorities) {
+        AuthorityDictionary.Snapshot snapshot = authorityDictionary.current();
+        BitSet roleIds = new BitSet();
+        BitSet permissionIds = new BitSet();
+        for (GrantedAuthority authority : authorities) {
+            String code = authority.getAuthority();
+            if (code.startsWith(AuthorityDictionary.ROLE_PREFIX)) {
+                int roleId = snapshot.roleId(code);
+                if (roleId >= 0) {
+                    roleIds.set(roleId);
+                }
+            } else {
+                int permissionId = snapshot.permissionId(code);
+                if (permissionId >= 0) {
+                    permissionIds.set(permissionId);
+                }
+            }
+        }
+        return new AuthenticatedUser(userId, username, "", true, true, authorities, roleIds, permissionIds,
+                authorizationVersion);
+    }
+
+    /**
+     * 从声明中解析权限，同时兼容紧凑格式和逗号分隔格式
+     *
+     * @param claims 令牌声明
+     * @return 权限对象列表
+     */
+    private List<GrantedAuthority> resolveAuthorities(Claims claims) {
+        String joined = claims.get(AUTHORITIES_KEY, String.class);
+        String version = claims.get(DICTIONARY_VERSION_KEY, String.class);
+        if (version == null) {
+            return authorityRegistry.parse(joined);
+        }
+
+        String permissionBits = claims.get(PERMISSION_BITS_KEY, String.class);
+        String roleBits = claims.get(ROLE_BITS_KEY, String.class);
+        String cacheKey = version + ":" + permissionBits + ":" + roleBits + ":" + (joined != null ? joined : "");
+        return authorityRegistry.parse(cacheKey, k -> {
+            List<String> codes = authorityDictionary.decode(version, permissionBits, roleBits);
+            if (StringUtils.hasText(joined)) {
+                codes.addAll(StringUtils.commaDelimitedListToSet(joined));
+            }
+            return codes;
+        });
     }
 
     /**
@@ -111,12 +330,7 @@ public class JwtTokenProvider {
      * @return 是否有效
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return validateAndParse(token).isValid();
     }
 
     /**
@@ -126,12 +340,7 @@ public class JwtTokenProvider {
      * @return 用户名
      */
     public String getUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
     }
 
     /**
@@ -141,11 +350,6 @@ public class JwtTokenProvider {
      * @return 过期时间
      */
     public Date getExpirationDate(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
+        return jwtParser.parseClaimsJws(token).getBody().getExpiration();
     }
-}
\ No newline at end of file
+}
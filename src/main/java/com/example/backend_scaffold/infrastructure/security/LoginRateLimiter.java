@@ -0,0 +1,308 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.infrastructure.cache.CacheKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录限流器
+ * <p>
+ * 分别按用户名和客户端IP维护令牌桶，在查询数据库和计算密码哈希之前拒绝过于频繁的登录尝试。
+ * 用户名去除首尾空白并转为小写后作为限流键，大小写或空白不同的同一用户名共用一个桶；
+ * 被用户名维度拒绝的尝试归还已取得的IP令牌，不占用同一IP下其他用户的登录机会。
+ * 令牌桶按键的哈希分散到多个分段中，每个分段独立加锁并按最近最少使用淘汰，内存占用有上限。
+ * 启用Redis（cluster.redis.enabled=true）时，本地放行的请求还需通过Redis中按固定窗口计数的全局限制，
+ * 使限制在多个节点之间同样生效；计数和设置过期时间在同一个Lua脚本中原子执行，计数键不会因过期时间设置失败而永久存在。
+ * Redis不可用时仅使用本地限制。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+    /**
+     * 计数加一，并为新建或缺少过期时间的计数键设置窗口长度，返回加一后的计数
+     */
+    static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local count = redis.call('INCR', KEYS[1]) "
+                    + "if count == 1 or redis.call('PTTL', KEYS[1]) < 0 then "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[1]) end "
+                    + "return count", Long.class);
+
+    /**
+     * 计数减一，只作用于仍在窗口内且计数为正的键，不新建键也不改变过期时间
+     */
+    static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('PTTL', KEYS[1]) > 0 and tonumber(redis.call('GET', KEYS[1])) > 0 then "
+                    + "return redis.call('DECR', KEYS[1]) end "
+                    + "return 0", Long.class);
+
+    /**
+     * 是否启用
+     */
+    private final boolean enabled;
+
+    /**
+     * 按用户名的令牌桶
+     */
+    private final StripedTokenBuckets usernameBuckets;
+
+    /**
+     * 按客户端IP的令牌桶
+     */
+    private final StripedTokenBuckets ipBuckets;
+
+    /**
+     * Redis模板，未启用Redis时为null
+     */
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 被拒绝的用户名维度尝试次数
+     */
+    private final Counter usernameRejected;
+
+    /**
+     * 被拒绝的IP维度尝试次数
+     */
+    private final Counter ipRejected;
+
+    /**
+     * 构造函数
+     *
+     * @param enabled              是否启用
+     * @param usernameCapacity     每个用户名的桶容量
+     * @param usernameRefillMillis 用户名桶完全补满所需时间（毫秒）
+     * @param ipCapacity           每个IP的桶容量
+     * @param ipRefillMillis       IP桶完全补满所需时间（毫秒）
+     * @param stripes              分段数
+     * @param maxEntries           每个维度最多保留的桶数量
+     * @param redisEnabled         是否启用Redis
+     * @param redisTemplate        Redis模板
+     * @param meterRegistry        指标注册表
+     */
+    public LoginRateLimiter(
+            @Value("${security.login-throttle.enabled:true}") boolean enabled,
+            @Value("${security.login-throttle.username.capacity:5}") int usernameCapacity,
+            @Value("${security.login-throttle.username.refill-period:60000}") long usernameRefillMillis,
+            @Value("${security.login-throttle.ip.capacity:30}") int ipCapacity,
+            @Value("${security.login-throttle.ip.refill-period:60000}") long ipRefillMillis,
+            @Value("${security.login-throttle.stripes:16}") int stripes,
+            @Value("${security.login-throttle.max-entries:100000}") int maxEntries,
+            @Value("${cluster.redis.enabled:false}") boolean redisEnabled,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.usernameBuckets = new StripedTokenBuckets("user", usernameCapacity, usernameRefillMillis, stripes, maxEntries);
+        this.ipBuckets = new StripedTokenBuckets("ip", ipCapacity, ipRefillMillis, stripes, maxEntries);
+        this.redisTemplate = redisEnabled ? redisTemplate.getIfAvailable() : null;
+        this.usernameRejected = Counter.builder("auth.login.throttled").tag("key", "username").register(meterRegistry);
+        this.ipRejected = Counter.builder("auth.login.throttled").tag("key", "ip").register(meterRegistry);
+    }
+
+    /**
+     * 尝试获取一次登录机会
+     *
+     * @param username 用户名
+     * @param clientIp 客户端IP，可为null
+     * @return 是否放行
+     */
+    public boolean tryAcquire(String username, String clientIp) {
+        if (!enabled) {
+            return true;
+        }
+        if (clientIp != null && !tryAcquire(ipBuckets, clientIp)) {
+            ipRejected.increment();
+            log.debug("Login throttled for ip {}", clientIp);
+            return false;
+        }
+        if (username != null && !tryAcquire(usernameBuckets, normalize(username))) {
+            if (clientIp != null) {
+                release(ipBuckets, clientIp);
+            }
+            usernameRejected.increment();
+            log.debug("Login throttled for username {}", username);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 规范化用户名限流键
+     *
+     * @param username 用户名
+     * @return 去除首尾空白并转为小写的用户名
+     */
+    private static String normalize(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 依次检查本地令牌桶和Redis全局计数
+     *
+     * @param buckets 令牌桶
+     * @param key     限流键
+     * @return 是否放行
+     */
+    private boolean tryAcquire(StripedTokenBuckets buckets, String key) {
+        if (!buckets.tryAcquire(key)) {
+            return false;
+        }
+        if (redisTemplate == null) {
+            return true;
+        }
+        String redisKey = CacheKey.LOGIN_ATTEMPT + buckets.name + ":" + key;
+        try {
+            Long count = redisTemplate.execute(INCREMENT_SCRIPT, List.of(redisKey),
+                    String.valueOf(buckets.refillMillis));
+            return count == null || count <= buckets.capacity;
+        } catch (RuntimeException e) {
+            log.warn("Failed to check login attempts in Redis: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 归还一次已取得的登录机会：本地令牌桶加回一个令牌，Redis全局计数在窗口未过期时减一
+     *
+     * @param buckets 令牌桶
+     * @param key     限流键
+     */
+    private void release(StripedTokenBuckets buckets, String key) {
+        buckets.release(key);
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(CacheKey.LOGIN_ATTEMPT + buckets.name + ":" + key));
+        } catch (RuntimeException e) {
+            log.warn("Failed to release login attempt in Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 分段令牌桶集合
+     */
+    private static final class StripedTokenBuckets {
+
+        /**
+         * 维度名称，用于Redis键
+         */
+        private final String name;
+
+        /**
+         * 桶容量
+         */
+        private final int capacity;
+
+        /**
+         * 完全补满所需时间（毫秒）
+         */
+        private final long refillMillis;
+
+        /**
+         * 每纳秒补充的令牌数
+         */
+        private final double tokensPerNano;
+
+        /**
+         * 分段
+         */
+        private final Stripe[] stripes;
+
+        private StripedTokenBuckets(String name, int capacity, long refillMillis, int stripes, int maxEntries) {
+            this.name = name;
+            this.capacity = capacity;
+            this.refillMillis = refillMillis;
+            this.tokensPerNano = (double) capacity / TimeUnit.MILLISECONDS.toNanos(refillMillis);
+            int stripeCount = Integer.highestOneBit(Math.max(stripes, 1));
+            int entriesPerStripe = Math.max(maxEntries / stripeCount, 1);
+            this.stripes = new Stripe[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                this.stripes[i] = new Stripe(entriesPerStripe);
+            }
+        }
+
+        private boolean tryAcquire(String key) {
+            Stripe stripe = stripe(key);
+            long now = System.nanoTime();
+            synchronized (stripe) {
+                TokenBucket bucket = stripe.get(key);
+                if (bucket == null) {
+                    bucket = new TokenBucket(capacity, now);
+                    stripe.put(key, bucket);
+                }
+                bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+                bucket.updatedAt = now;
+                if (bucket.tokens < 1) {
+                    return false;
+                }
+                bucket.tokens -= 1;
+                return true;
+            }
+        }
+
+        private void release(String key) {
+            Stripe stripe = stripe(key);
+            synchronized (stripe) {
+                TokenBucket bucket = stripe.get(key);
+                if (bucket != null) {
+                    bucket.tokens = Math.min(capacity, bucket.tokens + 1);
+                }
+            }
+        }
+
+        private Stripe stripe(String key) {
+            int hash = key.hashCode();
+            return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+        }
+    }
+
+    /**
+     * 分段，按访问顺序淘汰最久未使用的桶，访问需持有分段锁
+     */
+    private static final class Stripe extends LinkedHashMap<String, TokenBucket> {
+
+        private final int maxEntries;
+
+        private Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    /**
+     * 令牌桶
+     */
+    private static final class TokenBucket {
+
+        private double tokens;
+
+        private long updatedAt;
+
+        private TokenBucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 密码编码器校准结果
+ * <p>
+ * 启动时在当前硬件上依次测量各个BCrypt强度的单次哈希耗时，
+ * 选取耗时不超过目标时间的最大强度，强度不低于配置的下限。
+ * 强度每加1耗时约翻倍，超过目标时间后即停止测量。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+public final class PasswordEncoderCalibration {
+
+    /**
+     * 每个强度测量的次数，取最小值以排除偶发抖动
+     */
+    private static final int SAMPLES = 3;
+
+    private final int strength;
+
+    private final long targetMillis;
+
+    private final int minStrength;
+
+    private final int maxStrength;
+
+    private final Map<Integer, Long> measuredMillis;
+
+    private final Instant calibratedAt;
+
+    private PasswordEncoderCalibration(int strength, long targetMillis, int minStrength, int maxStrength,
+                                       Map<Integer, Long> measuredMillis) {
+        this.strength = strength;
+        this.targetMillis = targetMillis;
+        this.minStrength = minStrength;
+        this.maxStrength = maxStrength;
+        this.measuredMillis = Collections.unmodifiableMap(measuredMillis);
+        this.calibratedAt = Instant.now();
+    }
+
+    /**
+     * 执行校准
+     *
+     * @param targetMillis 单次哈希的目标耗时（毫秒）
+     * @param minStrength  最低强度
+     * @param maxStrength  最高强度
+     * @return 校准结果
+     */
+    public static PasswordEncoderCalibration run(long targetMillis, int minStrength, int maxStrength) {
+        if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+            throw new IllegalArgumentException("BCrypt strength range must be within [4, 31]");
+        }
+
+        Map<Integer, Long> measured = new LinkedHashMap<>();
+        int chosen = minStrength;
+        // 预热，避免首次测量包含类加载和JIT的开销
+        new BCryptPasswordEncoder(4).encode("calibration");
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            long millis = measure(candidate);
+            measured.put(candidate, millis);
+            if (millis > targetMillis) {
+                break;
+            }
+            chosen = candidate;
+        }
+
+        PasswordEncoderCalibration calibration =
+                new PasswordEncoderCalibration(chosen, targetMillis, minStrength, maxStrength, measured);
+        log.info("Password encoder calibrated: strength={}, target={}ms, measured={}", chosen, targetMillis, measured);
+        return calibration;
+    }
+
+    /**
+     * 创建固定强度的校准结果，不进行测量
+     *
+     * @param strength BCrypt强度
+     * @return 校准结果
+     */
+    public static PasswordEncoderCalibration fixed(int strength) {
+        return new PasswordEncoderCalibration(strength, 0, strength, strength, new LinkedHashMap<>());
+    }
+
+    /**
+     * 获取选定的BCrypt强度
+     *
+     * @return BCrypt强度
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * 获取目标耗时（毫秒）
+     *
+     * @return 目标耗时
+     */
+    public long getTargetMillis() {
+        return targetMillis;
+    }
+
+    /**
+     * 获取最低强度
+     *
+     * @return 最低强度
+     */
+    public int getMinStrength() {
+        return minStrength;
+    }
+
+    /**
+     * 获取最高强度
+     *
+     * @return 最高强度
+     */
+    public int getMaxStrength() {
+        return maxStrength;
+    }
+
+    /**
+     * 获取各强度的实测耗时（毫秒）
+     *
+     * @return 强度到耗时的映射
+     */
+    public Map<Integer, Long> getMeasuredMillis() {
+        return measuredMillis;
+    }
+
+    /**
+     * 获取校准时间
+     *
+     * @return 校准时间
+     */
+    public Instant getCalibratedAt() {
+        return calibratedAt;
+    }
+
+    /**
+     * 测量指定强度的单次哈希耗时
+     *
+     * @param strength BCrypt强度
+     * @return 多次测量中的最小耗时（毫秒）
+     */
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 密码编码器监控端点
+ * <p>
+ * 通过/actuator/passwordencoder查看启动时的BCrypt强度校准结果
+ * </p>
+ *
+ * @author example
+ */
+@Component
+@Endpoint(id = "passwordencoder")
+public class PasswordEncoderEndpoint {
+
+    /**
+     * 校准结果
+     */
+    private final PasswordEncoderCalibration calibration;
+
+    /**
+     * 构造函数
+     *
+     * @param calibration 校准结果
+     */
+    public PasswordEncoderEndpoint(PasswordEncoderCalibration calibration) {
+        this.calibration = calibration;
+    }
+
+    /**
+     * 获取校准结果
+     *
+     * @return 校准结果
+     */
+    @ReadOperation
+    public Map<String, Object> calibration() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("algorithm", "bcrypt");
+        result.put("strength", calibration.getStrength());
+        result.put("targetMillis", calibration.getTargetMillis());
+        result.put("minStrength", calibration.getMinStrength());
+        result.put("maxStrength", calibration.getMaxStrength());
+        result.put("measuredMillis", calibration.getMeasuredMillis());
+        result.put("calibratedAt", calibration.getCalibratedAt().toString());
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+/**
+ * 密码哈希拒绝异常
+ * <p>
+ * 密码哈希线程池已满或等待超时时抛出，表示服务暂时过载，调用方应稍后重试
+ * </p>
+ *
+ * @author example
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    /**
+     * 构造函数
+     *
+     * @param message 错误消息
+     */
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param message 错误消息
+     * @param cause   异常原因
+     */
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,423 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.domain.event.PermissionChangedEvent;
+import com.example.backend_scaffold.domain.event.RoleChangedEvent;
+import com.example.backend_scaffold.domain.event.RolePermissionChangedEvent;
+import com.example.backend_scaffold.domain.event.UserRoleChangedEvent;
+import com.example.backend_scaffold.domain.event.UserStatusChangedEvent;
+import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
+import com.example.backend_scaffold.domain.model.entity.RoleEntity;
+import com.example.backend_scaffold.domain.model.entity.RolePermissionEntity;
+import com.example.backend_scaffold.domain.model.entity.UserRoleEntity;
+import com.example.backend_scaffold.domain.model.enums.UserStatus;
+import com.example.backend_scaffold.domain.repository.PermissionRepository;
+import com.example.backend_scaffold.domain.repository.RolePermissionRepository;
+import com.example.backend_scaffold.domain.repository.RoleRepository;
+import com.example.backend_scaffold.domain.repository.UserRoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 角色权限矩阵
+ * <p>
+ * 在进程内物化“用户-角色”和“角色-权限”两张关联表：每个用户对应一个角色ID位图，
+ * 每个角色对应一个权限ID位图，另有已启用角色和已启用权限的掩码。
+ * 用户的有效权限由其已启用角色的权限位图按位或、再与已启用权限掩码按位与得到，
+ * 替代每次认证时的三表连接查询。
+ * 矩阵在应用启动后整体构建一次，之后随领域事件在事务提交后增量更新；
+ * 其他节点上的变更由{@link AuthorizationVersionService}收到通知后重新加载受影响的用户或角色。
+ * 位图发布后不再修改，更新时复制并替换，读操作无需加锁。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+@Component
+public class RolePermissionMatrix {
+
+    private static final BitSet EMPTY = new BitSet();
+
+    private final RoleRepository roleRepository;
+
+    private final PermissionRepository permissionRepository;
+
+    private final RolePermissionRepository rolePermissionRepository;
+
+    private final UserRoleRepository userRoleRepository;
+
+    private final AuthorityDictionary authorityDictionary;
+
+    /**
+     * 用户ID到角色ID位图的映射
+     */
+    private volatile Map<Long, BitSet> userRoles = new ConcurrentHashMap<>();
+
+    /**
+     * 角色ID到权限ID位图的映射
+     */
+    private volatile Map<Long, BitSet> rolePermissions = new ConcurrentHashMap<>();
+
+    /**
+     * 已启用角色的掩码
+     */
+    private volatile BitSet enabledRoles = EMPTY;
+
+    /**
+     * 已启用权限的掩码
+     */
+    private volatile BitSet enabledPermissions = EMPTY;
+
+    /**
+     * 是否已构建
+     */
+    private volatile boolean loaded;
+
+    /**
+     * 构造函数
+     *
+     * @param roleRepository           角色仓储
+     * @param permissionRepository     权限仓储
+     * @param rolePermissionRepository 角色权限仓储
+     * @param userRoleRepository       用户角色仓储
+     * @param authorityDictionary      权限字典
+     */
+    public RolePermissionMatrix(RoleRepository roleRepository,
+                                PermissionRepository permissionRepository,
+                                RolePermissionRepository rolePermissionRepository,
+                                UserRoleRepository userRoleRepository,
+                                AuthorityDictionary authorityDictionary) {
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+        this.rolePermissionRepository = rolePermissionRepository;
+        this.userRoleRepository = userRoleRepository;
+        this.authorityDictionary = authorityDictionary;
+    }
+
+    /**
+     * 应用启动完成后构建矩阵
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureLoaded();
+    }
+
+    /**
+     * 获取用户的已启用角色ID位图
+     *
+     * @param userId 用户ID
+     * @return 角色ID位图，只读
+     */
+    public BitSet roles(Long userId) {
+        ensureLoaded();
+        BitSet roles = (BitSet) userRoles.getOrDefault(userId, EMPTY).clone();
+        roles.and(enabledRoles);
+        return roles;
+    }
+
+    /**
+     * 获取用户关联的角色ID位图，不论角色是否启用
+     *
+     * @param userId 用户ID
+     * @return 新的角色ID位图
+     */
+    public BitSet assignedRoles(Long userId) {
+        ensureLoaded();
+        return (BitSet) userRoles.getOrDefault(userId, EMPTY).clone();
+    }
+
+    /**
+     * 计算用户的有效权限ID位图
+     *
+     * @param userId 用户ID
+     * @return 新的权限ID位图
+     */
+    public BitSet effectivePermissions(Long userId) {
+        BitSet roles = roles(userId);
+        BitSet permissions = new BitSet();
+        for (int roleId = roles.nextSetBit(0); roleId >= 0; roleId = roles.nextSetBit(roleId + 1)) {
+            BitSet granted = rolePermissions.get((long) roleId);
+            if (granted != null) {
+                permissions.or(granted);
+            }
+        }
+        permissions.and(enabledPermissions);
+        return permissions;
+    }
+
+    /**
+     * 获取关联了指定角色的用户，不论角色是否启用
+     *
+     * @param roleId 角色ID
+     * @return 用户ID列表
+     */
+    public List<Long> usersWithRole(Long roleId) {
+        ensureLoaded();
+        int bit = Math.toIntExact(roleId);
+        List<Long> userIds = new ArrayList<>();
+        userRoles.forEach((userId, roles) -> {
+            if (roles.get(bit)) {
+                userIds.add(userId);
+            }
+        });
+        return userIds;
+    }
+
+    /**
+     * 获取用户的角色和权限编码
+     * <p>
+     * 结果与{@code UserRepository.findUserRolesAndPermissions}一致：权限编码在前，带ROLE_前缀的角色编码在后
+     * </p>
+     *
+     * @param userId 用户ID
+     * @return 角色和权限编码列表
+     */
+    public List<String> authorities(Long userId) {
+        BitSet roles = roles(userId);
+        BitSet permissions = effectivePermissions(userId);
+        AuthorityDictionary.Snapshot snapshot = authorityDictionary.current();
+
+        List<String> authorities = new ArrayList<>(permissions.cardinality() + roles.cardinality());
+        for (int id = permissions.nextSetBit(0); id >= 0; id = permissions.nextSetBit(id + 1)) {
+            String code = snapshot.permissionCode(id);
+            if (code != null) {
+                authorities.add(code);
+            }
+        }
+        for (int id = roles.nextSetBit(0); id >= 0; id = roles.nextSetBit(id + 1)) {
+            String authority = snapshot.roleAuthority(id);
+            if (authority != null) {
+                authorities.add(authority);
+            }
+        }
+        return authorities;
+    }
+
+    /**
+     * 从数据库整体重建矩阵
+     */
+    public synchronized void rebuild() {
+        BitSet roleMask = new BitSet();
+        Map<Long, BitSet> permissionsByRole = new ConcurrentHashMap<>();
+        Map<Long, BitSet> rolesByUser = new ConcurrentHashMap<>();
+
+        for (RoleEntity role : roleRepository.findAll()) {
+            int roleId = Math.toIntExact(role.getId());
+            if (Boolean.TRUE.equals(role.getIsEnabled())) {
+                roleMask.set(roleId);
+            }
+            permissionsByRole.put(role.getId(), loadRolePermissions(role.getId()));
+            for (UserRoleEntity userRole : userRoleRepository.findByRoleId(role.getId())) {
+                if (Boolean.TRUE.equals(userRole.getIsEnabled())) {
+                    rolesByUser.computeIfAbsent(userRole.getUserId(), id -> new BitSet()).set(roleId);
+                }
+            }
+        }
+
+        BitSet permissionMask = new BitSet();
+        for (PermissionEntity permission : permissionRepository.findAll()) {
+            if (Boolean.TRUE.equals(permission.getIsEnabled())) {
+                permissionMask.set(Math.toIntExact(permission.getId()));
+            }
+        }
+
+        rolePermissions = permissionsByRole;
+        userRoles = rolesByUser;
+        enabledRoles = roleMask;
+        enabledPermissions = permissionMask;
+        loaded = true;
+        log.info("Role-permission matrix built: roles={}, users={}, permissions={}",
+                permissionsByRole.size(), rolesByUser.size(), permissionMask.cardinality());
+    }
+
+    /**
+     * 用户角色变更
+     *
+     * @param event 用户角色变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserRoleChanged(UserRoleChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        if (event.isAssigned() && !rolePermissions.containsKey(event.getRoleId())) {
+            // 矩阵中还没有该角色（如角色变更事件丢失），先加载其启用状态和权限
+            reloadRole(event.getRoleId());
+        }
+        int roleId = Math.toIntExact(event.getRoleId());
+        userRoles.compute(event.getUserId(), (userId, current) -> {
+            BitSet updated = current != null ? (BitSet) current.clone() : new BitSet();
+            updated.set(roleId, event.isAssigned());
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    /**
+     * 用户状态变更，用户被删除时其角色关联同时被删除
+     *
+     * @param event 用户状态变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserStatusChanged(UserStatusChangedEvent event) {
+        if (loaded && event.getStatus() == UserStatus.DELETED) {
+            userRoles.remove(event.getUserId());
+        }
+    }
+
+    /**
+     * 角色权限变更
+     *
+     * @param event 角色权限变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRolePermissionChanged(RolePermissionChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        if (!rolePermissions.containsKey(event.getRoleId())) {
+            // 矩阵中还没有该角色，整体加载，加载结果已包含本次变更
+            reloadRole(event.getRoleId());
+            return;
+        }
+        int permissionId = Math.toIntExact(event.getPermissionId());
+        rolePermissions.compute(event.getRoleId(), (roleId, current) -> {
+            BitSet updated = current != null ? (BitSet) current.clone() : new BitSet();
+            updated.set(permissionId, event.isAssigned());
+            return updated;
+        });
+    }
+
+    /**
+     * 角色变更：新建、修改、启用、禁用或删除角色后重新加载该角色的启用状态和权限
+     *
+     * @param event 角色变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRoleChanged(RoleChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        reloadRole(event.getRoleId());
+    }
+
+    /**
+     * 从数据库重新加载单个角色的启用状态和权限，角色不存在时从矩阵中移除
+     * <p>
+     * 用于应用其他节点上发生的角色变更
+     * </p>
+     *
+     * @param roleId 角色ID
+     */
+    public synchronized void reloadRole(Long roleId) {
+        if (!loaded) {
+            return;
+        }
+        BitSet mask = (BitSet) enabledRoles.clone();
+        RoleEntity role = roleRepository.findById(roleId).orElse(null);
+        if (role == null) {
+            rolePermissions.remove(roleId);
+            mask.clear(Math.toIntExact(roleId));
+        } else {
+            rolePermissions.put(roleId, loadRolePermissions(roleId));
+            mask.set(Math.toIntExact(roleId), Boolean.TRUE.equals(role.getIsEnabled()));
+        }
+        enabledRoles = mask;
+    }
+
+    /**
+     * 从数据库重新加载单个用户的角色，用于应用其他节点上发生的用户角色和用户状态变更
+     *
+     * @param userId 用户ID
+     */
+    public synchronized void reloadUser(Long userId) {
+        if (!loaded) {
+            return;
+        }
+        BitSet roles = new BitSet();
+        for (UserRoleEntity userRole : userRoleRepository.findByUserId(userId)) {
+            if (Boolean.TRUE.equals(userRole.getIsEnabled())) {
+                roles.set(Math.toIntExact(userRole.getRoleId()));
+            }
+        }
+        if (roles.isEmpty()) {
+            userRoles.remove(userId);
+        } else {
+            userRoles.put(userId, roles);
+        }
+    }
+
+    /**
+     * 权限变更：更新受影响权限的启用状态，权限被删除时同时从各角色中移除
+     *
+     * @param event 权限变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPermissionChanged(PermissionChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        BitSet mask = (BitSet) enabledPermissions.clone();
+        for (Long id : event.getPermissionIds()) {
+            int permissionId = Math.toIntExact(id);
+            PermissionEntity permission = permissionRepository.findById(id).orElse(null);
+            if (permission == null) {
+                mask.clear(permissionId);
+                rolePermissions.replaceAll((roleId, granted) -> {
+                    if (!granted.get(permissionId)) {
+                        return granted;
+                    }
+                    BitSet updated = (BitSet) granted.clone();
+                    updated.clear(permissionId);
+                    return updated;
+                });
+            } else {
+                mask.set(permissionId, Boolean.TRUE.equals(permission.getIsEnabled()));
+            }
+        }
+        enabledPermissions = mask;
+    }
+
+    /**
+     * 首次访问时构建矩阵
+     */
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    /**
+     * 加载角色的已启用权限ID位图
+     *
+     * @param roleId 角色ID
+     * @return 权限ID位图
+     */
+    private BitSet loadRolePermissions(Long roleId) {
+        BitSet permissions = new BitSet();
+        for (RolePermissionEntity rolePermission : rolePermissionRepository.findByRoleId(roleId)) {
+            if (Boolean.TRUE.equals(rolePermission.getIsEnabled())) {
+                permissions.set(Math.toIntExact(rolePermission.getPermissionId()));
+            }
+        }
+        return permissions;
+    }
+}
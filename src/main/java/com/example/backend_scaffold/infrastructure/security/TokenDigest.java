@@ -0,0 +1,31 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.infrastructure.util.EncryptionUtil;
+
+/**
+ * 令牌摘要工具类
+ * <p>
+ * 缓存、黑名单等需要以令牌为键的场景统一使用令牌的SHA-256摘要，避免保存令牌明文
+ * </p>
+ *
+ * @author example
+ */
+public final class TokenDigest {
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private TokenDigest() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 计算令牌摘要
+     *
+     * @param token 令牌
+     * @return 十六进制的SHA-256摘要
+     */
+    public static String of(String token) {
+        return EncryptionUtil.sha256(token);
+    }
+}
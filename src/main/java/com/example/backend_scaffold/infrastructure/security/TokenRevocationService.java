@@ -0,0 +1,249 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.infrastructure.cache.CacheKey;
+import com.example.backend_scaffold.infrastructure.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌撤销服务
+ * <p>
+ * 每个请求先查询本地布隆过滤器，绝大多数未撤销的令牌在O(1)内直接放行；
+ * 只有过滤器判定可能存在的令牌才查询本地撤销表，本地未命中时再由Redis黑名单确认。
+ * 撤销记录在Redis中的存活时间等于令牌的剩余有效期，到期自动清除；
+ * 撤销事件通过Redis发布/订阅通知其他节点，本地过滤器按固定间隔去除已过期条目后重建。
+ * 未启用Redis（cluster.redis.enabled=false）时仅在本节点内生效。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+@Service
+public class TokenRevocationService implements MessageListener {
+
+    /**
+     * 撤销通知频道
+     */
+    public static final String REVOCATION_CHANNEL = "token:revocation";
+
+    /**
+     * 已验证令牌缓存
+     */
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * Redis模板，未启用Redis时为null
+     */
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 消息监听容器，未启用Redis时为null
+     */
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 无法获取过期时间时使用的默认存活时间（毫秒）
+     */
+    private final long defaultTtlMillis;
+
+    /**
+     * 布隆过滤器的预期元素数量
+     */
+    private final long expectedInsertions;
+
+    /**
+     * 布隆过滤器的误判率
+     */
+    private final double falsePositiveRate;
+
+    /**
+     * 本地撤销表：令牌摘要到过期时间戳的映射
+     */
+    private final ConcurrentMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * 本地布隆过滤器
+     */
+    private volatile BloomFilter bloomFilter;
+
+    /**
+     * 构造函数
+     *
+     * @param verifiedTokenCache 已验证令牌缓存
+     * @param redisEnabled       是否启用Redis
+     * @param redisTemplate      Redis模板
+     * @param listenerContainer  消息监听容器
+     * @param defaultTtlMillis   默认存活时间（毫秒）
+     * @param expectedInsertions 布隆过滤器的预期元素数量
+     * @param falsePositiveRate  布隆过滤器的误判率
+     */
+    public TokenRevocationService(
+            VerifiedTokenCache verifiedTokenCache,
+            @Value("${cluster.redis.enabled:false}") boolean redisEnabled,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+            @Value("${jwt.expiration}") long defaultTtlMillis,
+            @Value("${jwt.revocation.expected-insertions:100000}") long expectedInsertions,
+            @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.redisTemplate = redisEnabled ? redisTemplate.getIfAvailable() : null;
+        this.listenerContainer = redisEnabled ? listenerContainer.getIfAvailable() : null;
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * 初始化：订阅撤销通知并从Redis加载尚未过期的黑名单
+     */
+    @PostConstruct
+    public void init() {
+        if (listenerContainer != null) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+        }
+        if (redisTemplate != null) {
+            loadFromRedis();
+        }
+    }
+
+    /**
+     * 撤销令牌
+     *
+     * @param token      JWT令牌
+     * @param expiration 令牌过期时间，为null时使用默认存活时间
+     */
+    public void revoke(String token, Date expiration) {
+        String digest = TokenDigest.of(token);
+        long expiresAt = expiration != null ? expiration.getTime() : System.currentTimeMillis() + defaultTtlMillis;
+        long ttl = expiresAt - System.currentTimeMillis();
+        if (ttl <= 0) {
+            return;
+        }
+
+        markRevoked(digest, expiresAt);
+
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.opsForValue().set(CacheKey.TOKEN_BLACKLIST + digest, String.valueOf(expiresAt),
+                        ttl, TimeUnit.MILLISECONDS);
+                redisTemplate.convertAndSend(REVOCATION_CHANNEL, digest + ":" + expiresAt);
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish token revocation to Redis: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 判断令牌是否已撤销
+     *
+     * @param tokenDigest 令牌摘要，见{@link TokenDigest}
+     * @return 是否已撤销
+     */
+    public boolean isRevoked(String tokenDigest) {
+        if (!bloomFilter.mightContain(tokenDigest)) {
+            return false;
+        }
+
+        Long expiresAt = revokedTokens.get(tokenDigest);
+        if (expiresAt != null) {
+            return expiresAt > System.currentTimeMillis();
+        }
+
+        if (redisTemplate == null) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(CacheKey.TOKEN_BLACKLIST + tokenDigest));
+        } catch (RuntimeException e) {
+            log.warn("Failed to check token blacklist in Redis: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 接收其他节点的撤销通知
+     *
+     * @param message 消息，格式为 摘要:过期时间戳
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator <= 0) {
+            return;
+        }
+        try {
+            markRevoked(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed token revocation message: {}", body);
+        }
+    }
+
+    /**
+     * 去除已过期的撤销记录并重建布隆过滤器
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:60000}")
+    public void rebuild() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revokedTokens.size() * 2L), falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+
+        // 重建期间新增的记录可能未写入新过滤器，补写一次
+        revokedTokens.keySet().forEach(rebuilt::put);
+    }
+
+    /**
+     * 在本地记录撤销并清除已缓存的认证信息
+     *
+     * @param digest    令牌摘要
+     * @param expiresAt 过期时间戳
+     */
+    private void markRevoked(String digest, long expiresAt) {
+        revokedTokens.put(digest, expiresAt);
+        bloomFilter.put(digest);
+        verifiedTokenCache.evict(digest);
+    }
+
+    /**
+     * 从Redis加载尚未过期的黑名单
+     */
+    private void loadFromRedis() {
+        ScanOptions options = ScanOptions.scanOptions().match(CacheKey.TOKEN_BLACKLIST + "*").count(1000).build();
+        int loaded = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                String value = redisTemplate.opsForValue().get(key);
+                if (value != null) {
+                    markRevoked(key.substring(CacheKey.TOKEN_BLACKLIST.length()), Long.parseLong(value));
+                    loaded++;
+                }
+            }
+            log.info("Loaded {} revoked tokens from Redis", loaded);
+        } catch (RuntimeException e) {
+            log.warn("Failed to load token blacklist from Redis: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * 令牌校验结果
+ * <p>
+ * 一次解析同时给出校验结论和声明，校验失败时携带具体的失败类型
+ * </p>
+ *
+ * @author example
+ */
+public final class TokenValidationResult {
+
+    /**
+     * 校验状态
+     */
+    public enum Status {
+
+        /**
+         * 令牌有效
+         */
+        VALID,
+
+        /**
+         * 令牌为空
+         */
+        EMPTY,
+
+        /**
+         * 令牌已过期
+         */
+        EXPIRED,
+
+        /**
+         * 签名无效
+         */
+        INVALID_SIGNATURE,
+
+        /**
+         * 令牌格式错误
+         */
+        MALFORMED,
+
+        /**
+         * 不支持的令牌
+         */
+        UNSUPPORTED
+    }
+
+    private static final TokenValidationResult EMPTY = new TokenValidationResult(Status.EMPTY, null);
+
+    private final Status status;
+
+    private final Claims claims;
+
+    private TokenValidationResult(Status status, Claims claims) {
+        this.status = status;
+        this.claims = claims;
+    }
+
+    /**
+     * 创建校验成功的结果
+     *
+     * @param claims 令牌声明
+     * @return 校验结果
+     */
+    public static TokenValidationResult valid(Claims claims) {
+        return new TokenValidationResult(Status.VALID, claims);
+    }
+
+    /**
+     * 创建校验失败的结果
+     *
+     * @param status 失败状态
+     * @return 校验结果
+     */
+    public static TokenValidationResult failure(Status status) {
+        if (status == Status.VALID) {
+            throw new IllegalArgumentException("Failure status expected");
+        }
+        return status == Status.EMPTY ? EMPTY : new TokenValidationResult(status, null);
+    }
+
+    /**
+     * 是否校验通过
+     *
+     * @return 是否有效
+     */
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+
+    /**
+     * 获取校验状态
+     *
+     * @return 校验状态
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * 获取令牌声明，校验失败时为null
+     *
+     * @return 令牌声明
+     */
+    public Claims getClaims() {
+        return claims;
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.domain.event.PermissionChangedEvent;
+import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
+import com.example.backend_scaffold.domain.model.enums.PermissionType;
+import com.example.backend_scaffold.domain.repository.PermissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * URL权限路由表
+ * <p>
+ * 将所有已启用的API类型权限按URL路径段编译为前缀树，请求到达时按路径段逐级匹配，
+ * 得到访问该URL和方法所需的权限编码，不访问数据库。
+ * URL中的路径段支持四种形式：普通文本精确匹配；包含通配符或变量的部分匹配（如*.csv、v{version}、{id:\d+}），
+ * 按Ant风格只匹配单个路径段；{id}或*匹配任意单个路径段；**匹配零个或多个路径段。
+ * 同一位置上精确匹配优先于部分匹配，部分匹配优先于单段通配，单段通配优先于多段通配，匹配失败时回溯尝试下一种；
+ * 同一位置上的多个部分匹配按其中字面字符数由多到少依次尝试。
+ * 方法为空或*的权限适用于所有HTTP方法。
+ * 权限变更后在事务提交后整体重建，新树构建完成后一次性替换，匹配过程中不会看到构建到一半的树。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+@Component
+public class UrlPermissionRouter {
+
+    /**
+     * 适用于所有HTTP方法的标记
+     */
+    private static final String ANY_METHOD = "*";
+
+    /**
+     * 多段通配符
+     */
+    private static final String MULTI_SEGMENT_WILDCARD = "**";
+
+    /**
+     * 单段通配符
+     */
+    private static final String SINGLE_SEGMENT_WILDCARD = "*";
+
+    /**
+     * 匹配任意单个路径段的变量，如{id}；带正则约束的变量按部分匹配处理
+     */
+    private static final Pattern PLAIN_VARIABLE = Pattern.compile("\\{[^/{}:]+}");
+
+    /**
+     * 单个路径段的Ant风格匹配器
+     */
+    private static final AntPathMatcher SEGMENT_MATCHER = new AntPathMatcher();
+
+    private final PermissionRepository permissionRepository;
+
+    /**
+     * 当前路由树的根节点
+     */
+    private volatile Node root;
+
+    /**
+     * 构造函数
+     *
+     * @param permissionRepository 权限仓储
+     */
+    public UrlPermissionRouter(PermissionRepository permissionRepository) {
+        this.permissionRepository = permissionRepository;
+    }
+
+    /**
+     * 应用启动完成后构建路由树
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        current();
+    }
+
+    /**
+     * 查找访问指定URL所需的权限编码
+     *
+     * @param method HTTP方法
+     * @param path   请求路径，不含上下文路径和查询参数
+     * @return 权限编码列表，拥有其中任意一个即可访问；没有对应的API权限时返回空列表
+     */
+    public List<String> match(String method, String path) {
+        String[] segments = split(path);
+        List<String> codes = match(current(), segments, 0, method.toUpperCase(Locale.ROOT));
+        return codes != null ? codes : Collections.emptyList();
+    }
+
+    /**
+     * 从数据库重建路由树
+     */
+    public synchronized void rebuild() {
+        root = build();
+    }
+
+    /**
+     * 权限变更后重建路由树
+     *
+     * @param event 权限变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionChanged(PermissionChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * 获取当前路由树，首次调用时构建
+     *
+     * @return 根节点
+     */
+    private Node current() {
+        Node node = root;
+        if (node == null) {
+            synchronized (this) {
+                node = root;
+                if (node == null) {
+                    node = build();
+                    root = node;
+                }
+            }
+        }
+        return node;
+    }
+
+    /**
+     * 构建路由树
+     *
+     * @return 根节点
+     */
+    private Node build() {
+        Node node = new Node();
+        int routes = 0;
+        for (PermissionEntity permission : permissionRepository.findByType(PermissionType.API)) {
+            if (!Boolean.TRUE.equals(permission.getIsEnabled()) || !StringUtils.hasText(permission.getUrl())) {
+                continue;
+            }
+            String method = StringUtils.hasText(permission.getMethod())
+                    ? permission.getMethod().trim().toUpperCase(Locale.ROOT)
+                    : ANY_METHOD;
+            node.insert(split(permission.getUrl()), 0)
+                    .codesByMethod.computeIfAbsent(method, key -> new ArrayList<>(1))
+                    .add(permission.getCode());
+            routes++;
+        }
+        node.freeze();
+        log.info("URL permission routes built: routes={}", routes);
+        return node;
+    }
+
+    /**
+     * 从指定节点开始匹配剩余路径段
+     *
+     * @param node     当前节点
+     * @param segments 路径段
+     * @param index    待匹配的路径段下标
+     * @param method   大写的HTTP方法
+     * @return 权限编码列表，未匹配时返回null
+     */
+    private static List<String> match(Node node, String[] segments, int index, String method) {
+        if (index == segments.length) {
+            List<String> codes = node.codes(method);
+            if (codes != null) {
+                return codes;
+            }
+            return node.multiSegment != null ? matchMultiSegment(node.multiSegment, segments, index, method) : null;
+        }
+
+        String segment = segments[index];
+        Node literal = node.literals.get(segment);
+        if (literal != null) {
+            List<String> codes = match(literal, segments, index + 1, method);
+            if (codes != null) {
+                return codes;
+            }
+        }
+        for (PatternChild pattern : node.patterns) {
+            if (SEGMENT_MATCHER.match(pattern.pattern(), segment)) {
+                List<String> codes = match(pattern.node(), segments, index + 1, method);
+                if (codes != null) {
+                    return codes;
+                }
+            }
+        }
+        if (node.singleSegment != null) {
+            List<String> codes = match(node.singleSegment, segments, index + 1, method);
+            if (codes != null) {
+                return codes;
+            }
+        }
+        if (node.multiSegment != null) {
+            return matchMultiSegment(node.multiSegment, segments, index, method);
+        }
+        return null;
+    }
+
+    /**
+     * 多段通配：依次尝试让其吞掉0到全部剩余路径段，优先最短匹配
+     *
+     * @param node     多段通配节点
+     * @param segments 路径段
+     * @param index    待匹配的路径段下标
+     * @param method   大写的HTTP方法
+     * @return 权限编码列表，未匹配时返回null
+     */
+    private static List<String> matchMultiSegment(Node node, String[] segments, int index, String method) {
+        for (int next = index; next <= segments.length; next++) {
+            List<String> codes = match(node, segments, next, method);
+            if (codes != null) {
+                return codes;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 将路径拆分为非空路径段
+     *
+     * @param path 路径
+     * @return 路径段
+     */
+    private static String[] split(String path) {
+        return StringUtils.tokenizeToStringArray(path, "/");
+    }
+
+    /**
+     * 路由树节点，构建完成后不再修改
+     */
+    private static final class Node {
+
+        /**
+         * 精确匹配的子节点
+         */
+        private final Map<String, Node> literals = new HashMap<>();
+
+        /**
+         * 部分匹配的子节点，构建完成后按字面字符数由多到少排列
+         */
+        private final List<PatternChild> patterns = new ArrayList<>(0);
+
+        /**
+         * 单段通配子节点
+         */
+        private Node singleSegment;
+
+        /**
+         * 多段通配子节点
+         */
+        private Node multiSegment;
+
+        /**
+         * 以此节点结尾的URL按HTTP方法对应的权限编码
+         */
+        private final Map<String, List<String>> codesByMethod = new HashMap<>(4);
+
+        /**
+         * 插入剩余路径段，返回末端节点
+         *
+         * @param segments 路径段
+         * @param index    待插入的路径段下标
+         * @return 末端节点
+         */
+        private Node insert(String[] segments, int index) {
+            if (index == segments.length) {
+                return this;
+            }
+            String segment = segments[index];
+            Node child;
+            if (MULTI_SEGMENT_WILDCARD.equals(segment)) {
+                if (multiSegment == null) {
+                    multiSegment = new Node();
+                }
+                child = multiSegment;
+            } else if (SINGLE_SEGMENT_WILDCARD.equals(segment) || PLAIN_VARIABLE.matcher(segment).matches()) {
+                if (singleSegment == null) {
+                    singleSegment = new Node();
+                }
+                child = singleSegment;
+            } else if (SEGMENT_MATCHER.isPattern(segment)) {
+                child = patterns.stream()
+                        .filter(pattern -> pattern.pattern().equals(segment))
+                        .map(PatternChild::node)
+                        .findFirst()
+                        .orElseGet(() -> {
+                            Node node = new Node();
+                            patterns.add(new PatternChild(segment, node));
+                            return node;
+                        });
+            } else {
+                child = literals.computeIfAbsent(segment, key -> new Node());
+            }
+            return child.insert(segments, index + 1);
+        }
+
+        /**
+         * 将本节点及子节点的权限编码列表替换为不可变列表
+         */
+        private void freeze() {
+            codesByMethod.replaceAll((method, codes) -> List.copyOf(codes));
+            literals.values().forEach(Node::freeze);
+            patterns.sort(Comparator.comparingInt(PatternChild::literalLength).reversed());
+            patterns.forEach(pattern -> pattern.node().freeze());
+            if (singleSegment != null) {
+                singleSegment.freeze();
+            }
+            if (multiSegment != null) {
+                multiSegment.freeze();
+            }
+        }
+
+        /**
+         * 获取指定方法所需的权限编码，先按方法精确查找，再查找适用于所有方法的权限
+         *
+         * @param method 大写的HTTP方法
+         * @return 权限编码列表，不存在时返回null
+         */
+        private List<String> codes(String method) {
+            List<String> codes = codesByMethod.get(method);
+            return codes != null ? codes : codesByMethod.get(ANY_METHOD);
+        }
+    }
+
+    /**
+     * 部分匹配的子节点
+     *
+     * @param pattern 路径段模式
+     * @param node    子节点
+     */
+    private record PatternChild(String pattern, Node node) {
+
+        /**
+         * 计算模式中通配符和变量以外的字符数，字符数越多的模式越具体
+         *
+         * @return 字面字符数
+         */
+        private int literalLength() {
+            int length = 0;
+            int depth = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c == '{') {
+                    depth++;
+                } else if (c == '}') {
+                    depth = Math.max(depth - 1, 0);
+                } else if (depth == 0 && c != '*' && c != '?') {
+                    length++;
+                }
+            }
+            return length;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.domain.event.PermissionChangedEvent;
+import com.example.backend_scaffold.infrastructure.cache.CacheDependencyTracker;
+import com.example.backend_scaffold.infrastructure.cache.CacheKey;
+import com.example.backend_scaffold.infrastructure.cache.CacheService;
+import com.example.backend_scaffold.infrastructure.cache.EntityKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 用户权限缓存
+ * <p>
+ * 按用户ID缓存用户的角色和权限编码，认证时无需再查询角色和权限。
+ * 每个条目加载时向{@link CacheDependencyTracker}登记对用户本身及其各个角色的依赖，
+ * 用户角色、用户状态、角色及角色权限变更时由跟踪器在事务提交后只清除受影响用户的条目，无需查询数据库；
+ * 权限本身变更影响面不确定，清空整个缓存。
+ * 清除在{@link RolePermissionMatrix}更新之后、其他依赖本缓存的组件之前执行，
+ * 保证条目不会从旧的矩阵重建，依赖方也不会从旧条目重建。
+ * </p>
+ *
+ * @author example
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserAuthorityCache {
+
+    /**
+     * 缓存名称
+     */
+    public static final String CACHE_NAME = "userAuthorities";
+
+    private final CacheService cacheService;
+    private final CacheDependencyTracker dependencyTracker;
+    private final RolePermissionMatrix rolePermissionMatrix;
+
+    /**
+     * 获取用户的角色和权限编码，未命中时通过加载函数查询
+     *
+     * @param userId 用户ID
+     * @param loader 加载函数
+     * @return 不可变的角色和权限编码列表
+     */
+    public List<String> get(Long userId, Supplier<List<String>> loader) {
+        String key = CacheKey.USER_AUTHORITIES + userId;
+        return cacheService.get(CACHE_NAME, key, () -> {
+            List<String> authorities = List.copyOf(loader.get());
+            dependencyTracker.record(CACHE_NAME, key, dependencies(userId));
+            return authorities;
+        });
+    }
+
+    /**
+     * 清除指定用户的缓存
+     *
+     * @param userId 用户ID
+     */
+    public void evict(Long userId) {
+        cacheService.evict(CACHE_NAME, CacheKey.USER_AUTHORITIES + userId);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        cacheService.clear(CACHE_NAME);
+    }
+
+    /**
+     * 权限变更
+     *
+     * @param event 权限变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionChanged(PermissionChangedEvent event) {
+        clear();
+    }
+
+    /**
+     * 计算用户权限条目依赖的实体：用户本身及其关联的全部角色
+     * <p>
+     * 已禁用的角色同样登记，角色重新启用时才能清除不含该角色的旧条目
+     * </p>
+     *
+     * @param userId 用户ID
+     * @return 依赖列表
+     */
+    private List<EntityKey> dependencies(Long userId) {
+        List<EntityKey> dependencies = new ArrayList<>();
+        dependencies.add(EntityKey.of(CacheKey.USER_ID, userId));
+        rolePermissionMatrix.assignedRoles(userId).stream()
+                .forEach(roleId -> dependencies.add(EntityKey.of(CacheKey.ROLE_ID, (long) roleId)));
+        return dependencies;
+    }
+}
@@ -2,40 +2,71 @@ package com.example.backend_scaffold.infrastructure.security;
 
 import com.example.backend_scaffold.domain.model.entity.UserEntity;
 import com.example.backend_scaffold.domain.repository.UserRepository;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 用户详情服务实现类
  * <p>
- * 实现Spring Security的UserDetailsService接口，用于加载用户信息
+ * 实现Spring Security的UserDetailsService接口，用于加载用户信息；
+ * 同时实现UserDetailsPasswordService接口，登录成功后若密码哈希强度与当前校准强度不同，
+ * 由认证提供者重新哈希并通过该接口保存
  * </p>
  *
  * @author example
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     /**
      * 用户仓储
      */
     private final UserRepository userRepository;
 
+    /**
+     * 权限对象注册表
+     */
+    private final GrantedAuthorityRegistry authorityRegistry;
+
+    /**
+     * 用户权限缓存
+     */
+    private final UserAuthorityCache userAuthorityCache;
+
+    /**
+     * 角色权限矩阵
+     */
+    private final RolePermissionMatrix rolePermissionMatrix;
+
+    /**
+     * 授权版本服务
+     */
+    private final AuthorizationVersionService authorizationVersionService;
+
     /**
      * 构造函数
      *
-     * @param userRepository 用户仓储
+     * @param userRepository              用户仓储
+     * @param authorityRegistry           权限对象注册表
+     * @param userAuthorityCache          用户权限缓存
+     * @param rolePermissionMatrix        角色权限矩阵
+     * @param authorizationVersionService 授权版本服务
      */
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, GrantedAuthorityRegistry authorityRegistry,
+                                  UserAuthorityCache userAuthorityCache, RolePermissionMatrix rolePermissionMatrix,
+                                  AuthorizationVersionService authorizationVersionService) {
         this.userRepository = userRepository;
+        this.authorityRegistry = authorityRegistry;
+        this.userAuthorityCache = userAuthorityCache;
+        this.rolePermissionMatrix = rolePermissionMatrix;
+        this.authorizationVersionService = authorizationVersionService;
     }
 
     /**
@@ -53,6 +84,24 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + username));
     }
 
+    /**
+     * 更新用户密码哈希
+     *
+     * @param user        用户详情
+     * @param newPassword 使用当前强度重新编码的密码哈希
+     * @return 更新后的用户详情
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        return userRepository.findByUsername(user.getUsername())
+                .map(userEntity -> {
+                    userEntity.setPassword(newPassword);
+                    return createUserDetails(userRepository.save(userEntity));
+                })
+                .orElse(user);
+    }
+
     /**
      * 创建用户详情
      *
@@ -60,21 +109,24 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      * @return 用户详情
      */
     private UserDetails createUserDetails(UserEntity userEntity) {
-        // 获取用户角色和权限
-        List<SimpleGrantedAuthority> authorities = userRepository.findUserRolesAndPermissions(userEntity.getId())
-                .stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+        // 获取用户角色和权限，优先使用缓存，未命中时由角色权限矩阵计算
+        // 先读取授权版本再读取权限，读取期间发生的变化会使令牌在下次请求时被识别为过期
+        Long userId = userEntity.getId();
+        long authorizationVersion = authorizationVersionService.version(userId);
+        List<GrantedAuthority> authorities = authorityRegistry.intern(
+                userAuthorityCache.get(userId, () -> rolePermissionMatrix.authorities(userId)));
 
-        // 创建Spring Security的User对象
-        return new User(
+        // 创建携带用户ID、角色ID和权限位图的用户对象
+        return new AuthenticatedUser(
+                userId,
                 userEntity.getUsername(),
                 userEntity.getPassword(),
                 userEntity.isEnabled(),
-                true, // accountNonExpired
-                true, // credentialsNonExpired
                 userEntity.getStatus() != com.example.backend_scaffold.domain.model.enums.UserStatus.LOCKED, // accountNonLocked
-                authorities
+                authorities,
+                rolePermissionMatrix.roles(userId),
+                rolePermissionMatrix.effectivePermissions(userId),
+                authorizationVersion
         );
     }
 }
\ No newline at end of file
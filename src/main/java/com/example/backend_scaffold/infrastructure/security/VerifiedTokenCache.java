@@ -0,0 +1,153 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 已验证令牌缓存
+ * <p>
+ * 以令牌摘要为键缓存已构建的认证信息，同一令牌的重复请求无需再次校验签名和解析权限。
+ * 条目的存活时间不超过令牌自身的过期时间，并可在撤销或登出时主动清除。
+ * 命中率等统计信息通过Micrometer以auth.token.cache为名导出。
+ * </p>
+ *
+ * @author example
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * 缓存名称，用于指标标签
+     */
+    private static final String CACHE_NAME = "auth.token.cache";
+
+    /**
+     * 令牌摘要到缓存条目的映射
+     */
+    private final Cache<String, Entry> cache;
+
+    /**
+     * 单个条目的最长存活时间（毫秒）
+     */
+    private final long maxTtlMillis;
+
+    /**
+     * 构造函数
+     *
+     * @param maximumSize   最大条目数
+     * @param maxTtlMillis  单个条目的最长存活时间（毫秒）
+     * @param meterRegistry 指标注册表
+     */
+    public VerifiedTokenCache(
+            @Value("${jwt.token-cache.maximum-size:10000}") long maximumSize,
+            @Value("${jwt.token-cache.max-ttl:600000}") long maxTtlMillis,
+            MeterRegistry meterRegistry) {
+        this.maxTtlMillis = maxTtlMillis;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 获取已缓存的认证信息
+     *
+     * @param tokenDigest 令牌摘要，见{@link TokenDigest}
+     * @return 认证信息，未命中时返回null
+     */
+    public Authentication get(String tokenDigest) {
+        Entry entry = cache.getIfPresent(tokenDigest);
+        return entry != null ? entry.authentication() : null;
+    }
+
+    /**
+     * 缓存已验证令牌的认证信息
+     *
+     * @param tokenDigest    令牌摘要
+     * @param authentication 认证信息
+     * @param expiration     令牌过期时间
+     */
+    public void put(String tokenDigest, Authentication authentication, Date expiration) {
+        if (expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        cache.put(tokenDigest, new Entry(authentication, expiration.getTime()));
+    }
+
+    /**
+     * 替换已缓存的认证信息，保持原有的过期时间，条目不存在时不做处理
+     *
+     * @param tokenDigest    令牌摘要
+     * @param authentication 认证信息
+     */
+    public void replace(String tokenDigest, Authentication authentication) {
+        cache.asMap().computeIfPresent(tokenDigest, (key, entry) -> new Entry(authentication, entry.expiresAt()));
+    }
+
+    /**
+     * 清除指定令牌的缓存
+     *
+     * @param tokenDigest 令牌摘要
+     */
+    public void evict(String tokenDigest) {
+        cache.invalidate(tokenDigest);
+    }
+
+    /**
+     * 清除指定用户的所有缓存令牌
+     *
+     * @param username 用户名
+     */
+    public void evictUser(String username) {
+        cache.asMap().values().removeIf(entry -> username.equals(entry.authentication().getName()));
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param authentication 认证信息
+     * @param expiresAt      令牌过期时间戳（毫秒）
+     */
+    private record Entry(Authentication authentication, long expiresAt) {
+    }
+
+    /**
+     * 条目过期策略：取令牌剩余有效期与最长存活时间的较小值
+     */
+    private class TokenExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            long remaining = Math.min(entry.expiresAt() - System.currentTimeMillis(), maxTtlMillis);
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.backend_scaffold.interfaces.api;
 
+import com.example.backend_scaffold.application.dto.permission.MenuTree;
+import com.example.backend_scaffold.application.dto.permission.PermissionCheckRequest;
+import com.example.backend_scaffold.application.dto.permission.PermissionCheckResponse;
 import com.example.backend_scaffold.application.dto.permission.PermissionRequest;
 import com.example.backend_scaffold.application.dto.permission.PermissionResponse;
 import com.example.backend_scaffold.interfaces.facade.PermissionFacade;
@@ -8,9 +11,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -49,6 +55,35 @@ public class PermissionController {
         permissionFacade.deletePermission(id);
     }
 
+    @PostMapping("/check")
+    @Operation(summary = "批量检查权限", description = "一次判断当前用户是否拥有多个权限")
+    @PreAuthorize("isAuthenticated()")
+    public PermissionCheckResponse checkPermissions(@Valid @RequestBody PermissionCheckRequest request) {
+        return permissionFacade.checkPermissions(request);
+    }
+
+    @GetMapping("/me/menu")
+    @Operation(summary = "获取当前用户菜单", description = "获取当前用户可见的菜单和按钮权限树，支持If-None-Match条件请求")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<PermissionResponse>> getMyMenu(WebRequest webRequest) {
+        MenuTree menuTree = permissionFacade.getMyMenu();
+        // 实体标签未变化时返回304，不再序列化菜单树
+        if (webRequest.checkNotModified(menuTree.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(menuTree.getEtag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(menuTree.getMenus());
+    }
+
+    @GetMapping("/tree")
+    @Operation(summary = "获取权限树", description = "获取整棵权限树或以指定权限为根的子树")
+    @PreAuthorize("hasAuthority('PERMISSION_READ')")
+    public List<PermissionResponse> getPermissionTree(@RequestParam(required = false) Long rootId) {
+        return permissionFacade.getPermissionTree(rootId);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "获取权限", description = "根据ID获取权限信息")
     @PreAuthorize("hasAuthority('PERMISSION_READ')")
@@ -5,11 +5,17 @@ import com.example.backend_scaffold.application.dto.auth.AuthResponse;
 import com.example.backend_scaffold.application.dto.auth.PasswordChangeRequest;
 import com.example.backend_scaffold.application.dto.auth.RegisterRequest;
 import com.example.backend_scaffold.application.dto.user.UserResponse;
+import com.example.backend_scaffold.application.exception.TooManyRequestsException;
 import com.example.backend_scaffold.application.service.AuthService;
+import com.example.backend_scaffold.infrastructure.security.JwtAuthenticationToken;
+import com.example.backend_scaffold.infrastructure.security.LoginRateLimiter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 /**
  * 认证外观类，作为应用服务的门面
@@ -19,14 +25,21 @@ import org.springframework.stereotype.Component;
 public class AuthFacade {
 
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
 
     /**
      * 用户登录
+     * <p>
+     * 先按用户名和客户端IP限流，超过限制时直接拒绝，不再查询用户或校验密码
+     * </p>
      *
      * @param authRequest 认证请求DTO
      * @return 认证响应DTO，包含用户信息和JWT令牌
      */
     public AuthResponse login(AuthRequest authRequest) {
+        if (!loginRateLimiter.tryAcquire(authRequest.getUsername(), resolveClientIp())) {
+            throw new TooManyRequestsException("Too many login attempts, please try again later");
+        }
         return authService.login(authRequest);
     }
 
@@ -64,10 +77,29 @@ public class AuthFacade {
 
     /**
      * 登出
+     * <p>
+     * 只有通过JWT认证的请求才撤销令牌，匿名请求只清除安全上下文
+     * </p>
      */
     public void logout() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        authService.logout(username);
+        if (!(authentication instanceof JwtAuthenticationToken jwt)) {
+            SecurityContextHolder.clearContext();
+            return;
+        }
+        authService.logout(jwt.getName(), jwt.getToken(), jwt.getExpiration());
+    }
+
+    /**
+     * 获取当前请求的客户端IP
+     *
+     * @return 客户端IP，不在请求上下文中时返回null
+     */
+    private String resolveClientIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
     }
 }
\ No newline at end of file
@@ -1,11 +1,19 @@
 package com.example.backend_scaffold.interfaces.facade;
 
+import com.example.backend_scaffold.application.dto.permission.MenuTree;
+import com.example.backend_scaffold.application.dto.permission.PermissionCheckRequest;
+import com.example.backend_scaffold.application.dto.permission.PermissionCheckResponse;
 import com.example.backend_scaffold.application.dto.permission.PermissionRequest;
 import com.example.backend_scaffold.application.dto.permission.PermissionResponse;
+import com.example.backend_scaffold.application.service.AuthorizationService;
+import com.example.backend_scaffold.application.service.MenuService;
 import com.example.backend_scaffold.application.service.PermissionService;
+import com.example.backend_scaffold.infrastructure.security.AuthorizationIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -18,6 +26,9 @@ import java.util.List;
 public class PermissionFacade {
 
     private final PermissionService permissionService;
+    private final AuthorizationService authorizationService;
+    private final MenuService menuService;
+    private final AuthorizationIndex authorizationIndex;
 
     /**
      * 创建权限
@@ -77,4 +88,35 @@ public class PermissionFacade {
     public List<PermissionResponse> getAllPermissions() {
         return permissionService.getAllPermissions();
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取权限树
+     *
+     * @param rootId 根权限ID，为null时返回整棵权限树
+     * @return 权限树
+     */
+    public List<PermissionResponse> getPermissionTree(Long rootId) {
+        return permissionService.getPermissionTree(rootId);
+    }
+
+    /**
+     * 批量检查当前登录用户的权限
+     *
+     * @param request 批量权限检查请求
+     * @return 批量权限检查响应
+     */
+    public PermissionCheckResponse checkPermissions(PermissionCheckRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authorizationService.checkPermissions(authorizationIndex.userId(authentication), request);
+    }
+
+    /**
+     * 获取当前登录用户的菜单树
+     *
+     * @return 菜单树
+     */
+    public MenuTree getMyMenu() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return menuService.getMenuTree(authorizationIndex.userId(authentication));
+    }
+}
@@ -10,11 +10,19 @@ import com.example.backend_scaffold.application.exception.EntityNotFoundExceptio
 import com.example.backend_scaffold.application.exception.UnauthorizedException;
 import com.example.backend_scaffold.application.mapper.UserMapper;
 import com.example.backend_scaffold.application.service.impl.AuthServiceImpl;
+import com.example.backend_scaffold.domain.model.entity.RefreshTokenEntity;
 import com.example.backend_scaffold.domain.model.entity.UserEntity;
 import com.example.backend_scaffold.domain.model.enums.UserStatus;
+import com.example.backend_scaffold.domain.service.RefreshTokenDomainService;
 import com.example.backend_scaffold.domain.service.UserDomainService;
 import com.example.backend_scaffold.infrastructure.cache.CacheService;
+import com.example.backend_scaffold.infrastructure.security.AuthenticatedUser;
+import com.example.backend_scaffold.infrastructure.security.AuthorizationVersionService;
 import com.example.backend_scaffold.infrastructure.security.JwtTokenProvider;
+import com.example.backend_scaffold.infrastructure.security.TokenDigest;
+import com.example.backend_scaffold.infrastructure.security.TokenRevocationService;
+import com.example.backend_scaffold.infrastructure.security.VerifiedTokenCache;
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -29,12 +37,17 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.LocalDateTime;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -55,6 +68,18 @@ public class AuthServiceTest {
     @Mock
     private CacheService cacheService;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RefreshTokenDomainService refreshTokenDomainService;
+
+    @Mock
+    private AuthorizationVersionService authorizationVersionService;
+
     @Mock
     private Authentication authentication;
 
@@ -107,6 +132,8 @@ public class AuthServiceTest {
         when(authentication.getAuthorities()).thenAnswer(invocation ->
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
         when(jwtTokenProvider.createToken(any(Authentication.class))).thenReturn("jwt-token");
+        when(jwtTokenProvider.createRefreshToken()).thenReturn("refresh-token");
+        when(jwtTokenProvider.getTokenValidityInMilliseconds()).thenReturn(300000L);
         when(userDomainService.findByUsername("testuser")).thenReturn(Optional.of(testUser));
 
         // 执行测试
@@ -116,6 +143,8 @@ public class AuthServiceTest {
         assertNotNull(response);
         assertEquals("jwt-token", response.getToken());
         assertEquals("Bearer", response.getTokenType());
+        assertEquals(300L, response.getExpiresIn());
+        assertEquals("refresh-token", response.getRefreshToken());
         assertEquals(1L, response.getUserId());
         assertEquals("testuser", response.getUsername());
         assertEquals(1, response.getRoles().size());
@@ -125,6 +154,10 @@ public class AuthServiceTest {
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(jwtTokenProvider).createToken(any(Authentication.class));
         verify(userDomainService).findByUsername("testuser");
+        verify(userDomainService).recordLogin(1L);
+        // 只保存刷新令牌的摘要，并开启新的令牌族
+        verify(refreshTokenDomainService).issue(eq(1L), eq("testuser"), eq(TokenDigest.of("refresh-token")),
+                isNull(), any(LocalDateTime.class));
     }
 
     @Test
@@ -141,6 +174,7 @@ public class AuthServiceTest {
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(jwtTokenProvider, never()).createToken(any(Authentication.class));
         verify(userDomainService, never()).findByUsername(anyString());
+        verify(userDomainService, never()).recordLogin(anyLong());
     }
 
     @Test
@@ -296,14 +330,15 @@ public class AuthServiceTest {
     @DisplayName("测试刷新令牌成功")
     void testRefreshTokenSuccess() {
         // 准备模拟数据
-        when(jwtTokenProvider.validateToken("refresh-token")).thenReturn(true);
-        when(jwtTokenProvider.getUsername("refresh-token")).thenReturn("testuser");
-        when(userDomainService.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(userDomainService.getUserRoleIds(1L)).thenReturn(Collections.singletonList(1L));
+        RefreshTokenEntity current = refreshToken(10L, "family-1", null, false);
+        when(refreshTokenDomainService.findByTokenHash(TokenDigest.of("refresh-token"))).thenReturn(Optional.of(current));
+        when(refreshTokenDomainService.rotate(eq(current), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(refreshToken(11L, "family-1", null, false)));
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "testuser", "", true, true,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), new BitSet(), new BitSet(), 1L);
+        when(authorizationVersionService.principal(1L, "testuser")).thenReturn(principal);
         when(jwtTokenProvider.createToken(any(Authentication.class))).thenReturn("new-jwt-token");
-
-        // 设置安全上下文
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        when(jwtTokenProvider.createRefreshToken()).thenReturn("next-refresh-token");
 
         // 执行测试
         AuthResponse response = authService.refreshToken("refresh-token");
@@ -311,51 +346,85 @@ public class AuthServiceTest {
         // 验证结果
         assertNotNull(response);
         assertEquals("new-jwt-token", response.getToken());
+        assertEquals("next-refresh-token", response.getRefreshToken());
         assertEquals("Bearer", response.getTokenType());
         assertEquals(1L, response.getUserId());
         assertEquals("testuser", response.getUsername());
-        assertEquals(1, response.getRoles().size());
-        assertEquals("ROLE_1", response.getRoles().get(0));
+        assertEquals(List.of("ROLE_USER"), response.getRoles());
 
-        // 验证方法调用
-        verify(jwtTokenProvider).validateToken("refresh-token");
-        verify(jwtTokenProvider).getUsername("refresh-token");
-        verify(userDomainService).findByUsername("testuser");
-        verify(userDomainService).getUserRoleIds(1L);
-        verify(jwtTokenProvider).createToken(any(Authentication.class));
+        // 验证轮换当前令牌并签发后继令牌在同一次调用中完成，且无需查询用户和角色
+        verify(refreshTokenDomainService).rotate(eq(current), eq(TokenDigest.of("next-refresh-token")),
+                any(LocalDateTime.class));
+        verify(refreshTokenDomainService, never()).revokeFamily(anyString());
+        verify(userDomainService, never()).findByUsername(anyString());
+        verify(userDomainService, never()).getUserRoleIds(anyLong());
     }
 
     @Test
     @DisplayName("测试刷新令牌失败 - 无效令牌")
     void testRefreshTokenFailureInvalidToken() {
         // 准备模拟数据
-        when(jwtTokenProvider.validateToken("invalid-token")).thenReturn(false);
+        when(refreshTokenDomainService.findByTokenHash(TokenDigest.of("invalid-token"))).thenReturn(Optional.empty());
 
         // 执行测试并验证异常
         assertThrows(UnauthorizedException.class, () -> authService.refreshToken("invalid-token"));
 
         // 验证方法调用
-        verify(jwtTokenProvider).validateToken("invalid-token");
-        verify(jwtTokenProvider, never()).getUsername(anyString());
-        verify(userDomainService, never()).findByUsername(anyString());
+        verify(refreshTokenDomainService, never()).rotate(any(), anyString(), any());
+        verify(jwtTokenProvider, never()).createToken(any(Authentication.class));
     }
 
     @Test
-    @DisplayName("测试刷新令牌失败 - 用户不存在")
-    void testRefreshTokenFailureUserNotFound() {
+    @DisplayName("测试刷新令牌失败 - 令牌已过期")
+    void testRefreshTokenFailureExpired() {
         // 准备模拟数据
-        when(jwtTokenProvider.validateToken("refresh-token")).thenReturn(true);
-        when(jwtTokenProvider.getUsername("refresh-token")).thenReturn("testuser");
-        when(userDomainService.findByUsername("testuser")).thenReturn(Optional.empty());
+        RefreshTokenEntity current = refreshToken(10L, "family-1", null, false);
+        current.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenDomainService.findByTokenHash(TokenDigest.of("refresh-token"))).thenReturn(Optional.of(current));
 
         // 执行测试并验证异常
-        assertThrows(EntityNotFoundException.class, () -> authService.refreshToken("refresh-token"));
+        assertThrows(UnauthorizedException.class, () -> authService.refreshToken("refresh-token"));
 
         // 验证方法调用
-        verify(jwtTokenProvider).validateToken("refresh-token");
-        verify(jwtTokenProvider).getUsername("refresh-token");
-        verify(userDomainService).findByUsername("testuser");
-        verify(userDomainService, never()).getUserRoleIds(anyLong());
+        verify(refreshTokenDomainService, never()).rotate(any(), anyString(), any());
+        verify(refreshTokenDomainService, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    @DisplayName("测试刷新令牌失败 - 重放已轮换的令牌时撤销整个令牌族")
+    void testRefreshTokenReuseRevokesFamily() {
+        // 准备模拟数据
+        RefreshTokenEntity current = refreshToken(10L, "family-1", LocalDateTime.now().minusMinutes(1), false);
+        when(refreshTokenDomainService.findByTokenHash(TokenDigest.of("refresh-token"))).thenReturn(Optional.of(current));
+
+        // 执行测试并验证异常
+        assertThrows(UnauthorizedException.class, () -> authService.refreshToken("refresh-token"));
+
+        // 验证方法调用
+        verify(refreshTokenDomainService).revokeFamily("family-1");
+        verify(refreshTokenDomainService, never()).rotate(any(), anyString(), any());
+        verify(jwtTokenProvider, never()).createToken(any(Authentication.class));
+    }
+
+    @Test
+    @DisplayName("测试刷新令牌失败 - 并发刷新中落败视为重放")
+    void testRefreshTokenConcurrentRotationRevokesFamily() {
+        // 准备模拟数据
+        RefreshTokenEntity current = refreshToken(10L, "family-1", null, false);
+        when(refreshTokenDomainService.findByTokenHash(TokenDigest.of("refresh-token"))).thenReturn(Optional.of(current));
+        when(authorizationVersionService.principal(1L, "testuser")).thenReturn(new AuthenticatedUser(1L, "testuser", "",
+                true, true, List.of(), new BitSet(), new BitSet(), 1L));
+        when(jwtTokenProvider.createRefreshToken()).thenReturn("next-refresh-token");
+        when(refreshTokenDomainService.rotate(eq(current), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+
+        // 执行测试并验证异常
+        assertThrows(UnauthorizedException.class, () -> authService.refreshToken("refresh-token"));
+
+        // 验证方法调用
+        verify(refreshTokenDomainService).revokeFamily("family-1");
+        verify(refreshTokenDomainService, never()).issue(anyLong(), anyString(), anyString(), anyString(),
+                any(LocalDateTime.class));
     }
 
     @Test
@@ -363,11 +432,49 @@ public class AuthServiceTest {
     void testLogout() {
         // 设置安全上下文
         SecurityContextHolder.getContext().setAuthentication(authentication);
+        Date expiration = new Date(System.currentTimeMillis() + 60000);
+        when(userDomainService.findByUsername("testuser")).thenReturn(Optional.of(testUser));
 
         // 执行测试
-        authService.logout("testuser");
+        authService.logout("testuser", "jwt-token", expiration);
 
         // 验证安全上下文已清除
         assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        // 验证已缓存的令牌认证信息被清除
+        verify(verifiedTokenCache).evictUser("testuser");
+
+        // 验证当前令牌被撤销
+        verify(tokenRevocationService).revoke("jwt-token", expiration);
+        // 验证该用户的刷新令牌被撤销
+        verify(refreshTokenDomainService).revokeAll(1L);
+        // 验证使用过滤器已解析的过期时间，不再解析令牌
+        verify(jwtTokenProvider, never()).getExpirationDate(anyString());
+    }
+
+    @Test
+    @DisplayName("测试登出 - 令牌无法解析时按默认存活时间撤销")
+    void testLogoutWithUnparsableToken() {
+        when(jwtTokenProvider.getExpirationDate("jwt-token")).thenThrow(new MalformedJwtException("malformed"));
+        when(userDomainService.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        // 执行测试
+        authService.logout("testuser", "jwt-token", null);
+
+        // 验证当前令牌仍被撤销
+        verify(tokenRevocationService).revoke("jwt-token", null);
+        verify(refreshTokenDomainService).revokeAll(1L);
+    }
+
+    private static RefreshTokenEntity refreshToken(Long id, String familyId, LocalDateTime rotatedAt, boolean revoked) {
+        RefreshTokenEntity refreshToken = new RefreshTokenEntity();
+        refreshToken.setId(id);
+        refreshToken.setUserId(1L);
+        refreshToken.setUsername("testuser");
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setExpiresAt(LocalDateTime.now().plusDays(1));
+        refreshToken.setRotatedAt(rotatedAt);
+        refreshToken.setRevoked(revoked);
+        return refreshToken;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package com.example.backend_scaffold.application.service;
+
+import com.example.backend_scaffold.application.dto.permission.PermissionCheckRequest;
+import com.example.backend_scaffold.application.dto.permission.PermissionCheckResponse;
+import com.example.backend_scaffold.application.service.impl.AuthorizationServiceImpl;
+import com.example.backend_scaffold.infrastructure.security.AuthorityDictionary;
+import com.example.backend_scaffold.infrastructure.security.AuthorizationIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuthorizationServiceTest {
+
+    @Mock
+    private AuthorizationIndex authorizationIndex;
+
+    @Mock
+    private AuthorityDictionary authorityDictionary;
+
+    @Mock
+    private AuthorityDictionary.Snapshot snapshot;
+
+    @InjectMocks
+    private AuthorizationServiceImpl authorizationService;
+
+    @BeforeEach
+    void setUp() {
+        // 用户拥有ID为1和3的权限
+        BitSet granted = new BitSet();
+        granted.set(1);
+        granted.set(3);
+        lenient().when(authorizationIndex.permissions(1L)).thenReturn(granted);
+        lenient().when(authorityDictionary.current()).thenReturn(snapshot);
+        lenient().when(snapshot.permissionId(anyString())).thenReturn(-1);
+        lenient().when(snapshot.permissionId("user:read")).thenReturn(1);
+        lenient().when(snapshot.permissionId("user:delete")).thenReturn(2);
+        lenient().when(snapshot.permissionId("role:read")).thenReturn(3);
+    }
+
+    @Test
+    @DisplayName("测试批量检查权限成功")
+    void testCheckPermissionsSuccess() {
+        // 准备请求：两个权限编码，两个目标类型和操作
+        PermissionCheckRequest request = PermissionCheckRequest.builder()
+                .permissions(List.of("user:read", "user:delete"))
+                .targets(List.of(new PermissionCheckRequest.Target("Role", "READ"),
+                        new PermissionCheckRequest.Target("menu", "unknown")))
+                .build();
+
+        // 执行测试
+        PermissionCheckResponse response = authorizationService.checkPermissions(1L, request);
+
+        // 验证结果
+        assertEquals(List.of("user:read", "user:delete", "role:read", "menu:unknown"),
+                List.copyOf(response.getDecisions().keySet()));
+        assertTrue(response.getDecisions().get("user:read"));
+        assertFalse(response.getDecisions().get("user:delete"));
+        assertTrue(response.getDecisions().get("role:read"));
+        assertFalse(response.getDecisions().get("menu:unknown"));
+
+        BitSet bitmap = AuthorityDictionary.decodeBits(response.getBitmap());
+        assertTrue(bitmap.get(0));
+        assertFalse(bitmap.get(1));
+        assertTrue(bitmap.get(2));
+        assertFalse(bitmap.get(3));
+
+        // 验证用户的权限集合只解析一次
+        verify(authorizationIndex, times(1)).permissions(1L);
+        verify(authorizationIndex, never()).hasPermission(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("测试批量检查权限 - 空请求")
+    void testCheckPermissionsEmptyRequest() {
+        // 执行测试
+        PermissionCheckResponse response = authorizationService.checkPermissions(1L, new PermissionCheckRequest());
+
+        // 验证结果
+        assertTrue(response.getDecisions().isEmpty());
+        assertTrue(AuthorityDictionary.decodeBits(response.getBitmap()).isEmpty());
+    }
+}
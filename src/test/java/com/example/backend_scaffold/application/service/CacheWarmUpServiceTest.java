@@ -0,0 +1,153 @@
+package com.example.backend_scaffold.application.service;
+
+import com.example.backend_scaffold.application.dto.role.RoleResponse;
+import com.example.backend_scaffold.application.service.impl.CacheWarmUpServiceImpl;
+import com.example.backend_scaffold.domain.model.entity.UserEntity;
+import com.example.backend_scaffold.domain.model.enums.UserStatus;
+import com.example.backend_scaffold.domain.repository.UserRepository;
+import com.example.backend_scaffold.domain.service.PermissionHierarchyService;
+import com.example.backend_scaffold.infrastructure.security.AuthorityDictionary;
+import com.example.backend_scaffold.infrastructure.security.RolePermissionMatrix;
+import com.example.backend_scaffold.infrastructure.security.UserAuthorityCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheWarmUpServiceTest {
+
+    @Mock
+    private RoleService roleService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserAuthorityCache userAuthorityCache;
+
+    @Mock
+    private RolePermissionMatrix rolePermissionMatrix;
+
+    @Mock
+    private AuthorityDictionary authorityDictionary;
+
+    @Mock
+    private PermissionHierarchyService permissionHierarchyService;
+
+    @BeforeEach
+    void setUp() {
+        RoleResponse admin = RoleResponse.builder().id(1L).code("ADMIN").build();
+        RoleResponse user = RoleResponse.builder().id(2L).code("USER").build();
+        lenient().when(roleService.getAllRoles()).thenReturn(List.of(admin, user));
+        lenient().when(userRepository.findByStatus(eq(UserStatus.ACTIVE), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(user(7L), user(8L))));
+        lenient().when(userAuthorityCache.get(anyLong(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<List<String>>>getArgument(1).get());
+    }
+
+    private CacheWarmUpServiceImpl service(boolean enabled, Duration timeout) {
+        return new CacheWarmUpServiceImpl(roleService, userRepository, userAuthorityCache, rolePermissionMatrix,
+                authorityDictionary, permissionHierarchyService, enabled, 2, 100, timeout);
+    }
+
+    private static UserEntity user(Long id) {
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        return user;
+    }
+
+    private static void awaitFinished(CacheWarmUpService service) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!service.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(service.isFinished());
+    }
+
+    @Test
+    @DisplayName("测试缓存预热 - 预加载角色、角色权限、权限和活跃用户的权限集合")
+    void testWarmUpLoadsEveryStage() throws InterruptedException {
+        CacheWarmUpServiceImpl service = service(true, Duration.ofSeconds(10));
+        assertFalse(service.isFinished());
+
+        service.warmUp();
+        awaitFinished(service);
+
+        verify(roleService).getRoleById(1L);
+        verify(roleService).getRoleByCode("ADMIN");
+        verify(roleService).getRolePermissions(2L);
+        verify(authorityDictionary).current();
+        verify(permissionHierarchyService).getSubtree(null);
+        verify(rolePermissionMatrix).authorities(7L);
+        verify(rolePermissionMatrix).authorities(8L);
+        verify(userRepository).findByStatus(eq(UserStatus.ACTIVE), argThat((Pageable pageable) ->
+                pageable.getPageSize() == 100
+                        && pageable.getSort().getOrderFor("lastLoginTime").getDirection() == Sort.Direction.DESC));
+        assertEquals("completed", service.getDetails().get("state"));
+        assertEquals(2, service.getDetails().get("roles"));
+        assertEquals(2, service.getDetails().get("userAuthorities"));
+    }
+
+    @Test
+    @DisplayName("测试缓存预热 - 单个条目失败不影响其他条目")
+    void testWarmUpToleratesFailures() throws InterruptedException {
+        when(roleService.getRoleById(1L)).thenThrow(new IllegalStateException("database unavailable"));
+        CacheWarmUpServiceImpl service = service(true, Duration.ofSeconds(10));
+
+        service.warmUp();
+        awaitFinished(service);
+
+        verify(roleService).getRoleById(2L);
+        assertEquals("completed", service.getDetails().get("state"));
+        assertEquals(1, service.getDetails().get("roles"));
+        assertEquals(1, service.getDetails().get("failures"));
+    }
+
+    @Test
+    @DisplayName("测试缓存预热 - 超出时间预算后结束预热")
+    void testWarmUpTimesOut() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(roleService.getAllRoles()).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        CacheWarmUpServiceImpl service = service(true, Duration.ofMillis(50));
+
+        try {
+            service.warmUp();
+            awaitFinished(service);
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals("timed_out", service.getDetails().get("state"));
+    }
+
+    @Test
+    @DisplayName("测试缓存预热 - 未启用时直接结束")
+    void testWarmUpDisabled() {
+        CacheWarmUpServiceImpl service = service(false, Duration.ofSeconds(10));
+
+        service.warmUp();
+
+        assertTrue(service.isFinished());
+        verifyNoInteractions(roleService, userRepository, userAuthorityCache);
+    }
+}
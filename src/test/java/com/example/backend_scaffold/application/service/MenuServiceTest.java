@@ -0,0 +1,151 @@
+package com.example.backend_scaffold.application.service;
+
+import com.example.backend_scaffold.application.dto.permission.MenuTree;
+import com.example.backend_scaffold.application.dto.permission.PermissionResponse;
+import com.example.backend_scaffold.application.mapper.PermissionMapper;
+import com.example.backend_scaffold.application.service.impl.MenuServiceImpl;
+import com.example.backend_scaffold.domain.event.PermissionChangedEvent;
+import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
+import com.example.backend_scaffold.domain.model.enums.PermissionType;
+import com.example.backend_scaffold.domain.service.PermissionDomainService;
+import com.example.backend_scaffold.infrastructure.cache.CacheService;
+import com.example.backend_scaffold.infrastructure.security.AuthorizationIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MenuServiceTest {
+
+    @Mock
+    private AuthorizationIndex authorizationIndex;
+
+    @Mock
+    private PermissionDomainService permissionDomainService;
+
+    @Mock
+    private PermissionMapper permissionMapper;
+
+    @Mock
+    private CacheService cacheService;
+
+    @InjectMocks
+    private MenuServiceImpl menuService;
+
+    private PermissionEntity system;
+    private PermissionEntity userMenu;
+    private PermissionEntity userButton;
+    private PermissionEntity userApi;
+
+    @BeforeEach
+    void setUp() {
+        // 权限树：系统管理(1) -> 用户管理(2) -> 新增按钮(3)、用户接口(4)
+        system = permission(1L, null, PermissionType.MENU);
+        userMenu = permission(2L, 1L, PermissionType.MENU);
+        userButton = permission(3L, 2L, PermissionType.BUTTON);
+        userApi = permission(4L, 2L, PermissionType.API);
+
+        lenient().when(permissionDomainService.getSubtree(null)).thenReturn(List.of(system, userMenu, userButton, userApi));
+        lenient().when(permissionMapper.entityToResponse(any(PermissionEntity.class))).thenAnswer(invocation -> {
+            PermissionEntity entity = invocation.getArgument(0);
+            PermissionResponse response = new PermissionResponse();
+            response.setId(entity.getId());
+            response.setParentId(entity.getParentId());
+            response.setType(entity.getType());
+            return response;
+        });
+        lenient().when(cacheService.get(eq(MenuServiceImpl.CACHE_NAME), anyString(), any(Callable.class)))
+                .thenAnswer(invocation -> ((Callable<?>) invocation.getArgument(2)).call());
+    }
+
+    @Test
+    @DisplayName("测试获取菜单树成功")
+    void testGetMenuTreeSuccess() {
+        // 准备模拟数据：用户拥有全部权限
+        when(authorizationIndex.permissions(1L)).thenReturn(bits(1, 2, 3, 4));
+
+        // 执行测试
+        MenuTree menuTree = menuService.getMenuTree(1L);
+
+        // 验证结果：API权限不出现在菜单树中
+        assertEquals(1, menuTree.getMenus().size());
+        PermissionResponse root = menuTree.getMenus().get(0);
+        assertEquals(1L, root.getId());
+        assertEquals(1, root.getChildren().size());
+        assertEquals(2L, root.getChildren().get(0).getId());
+        assertEquals(List.of(3L), root.getChildren().get(0).getChildren().stream().map(PermissionResponse::getId).toList());
+        assertTrue(menuTree.getEtag().startsWith("\"") && menuTree.getEtag().endsWith("\""));
+    }
+
+    @Test
+    @DisplayName("测试获取菜单树 - 未授予的父菜单被跳过")
+    void testGetMenuTreeSkipsUngrantedParent() {
+        // 准备模拟数据：用户只拥有系统管理和新增按钮
+        when(authorizationIndex.permissions(1L)).thenReturn(bits(1, 3));
+
+        // 执行测试
+        MenuTree menuTree = menuService.getMenuTree(1L);
+
+        // 验证结果：新增按钮挂到最近的已授予祖先下
+        PermissionResponse root = menuTree.getMenus().get(0);
+        assertEquals(1L, root.getId());
+        assertEquals(List.of(3L), root.getChildren().stream().map(PermissionResponse::getId).toList());
+    }
+
+    @Test
+    @DisplayName("测试菜单树实体标签随内容变化")
+    void testGetMenuTreeEtagDependsOnContent() {
+        // 执行测试
+        when(authorizationIndex.permissions(1L)).thenReturn(bits(1, 2, 3));
+        when(authorizationIndex.permissions(2L)).thenReturn(bits(1));
+        when(authorizationIndex.permissions(3L)).thenReturn(bits(1));
+        String adminEtag = menuService.getMenuTree(1L).getEtag();
+        String guestEtag = menuService.getMenuTree(2L).getEtag();
+        String otherEtag = menuService.getMenuTree(3L).getEtag();
+
+        // 验证结果
+        assertNotEquals(adminEtag, guestEtag);
+        assertEquals(guestEtag, otherEtag);
+    }
+
+    @Test
+    @DisplayName("测试权限变更后清空菜单缓存")
+    void testOnPermissionChangedClearsCache() {
+        // 执行测试
+        menuService.onPermissionChanged(new PermissionChangedEvent(1L));
+
+        // 验证方法调用
+        verify(cacheService).clear(MenuServiceImpl.CACHE_NAME);
+    }
+
+    private static PermissionEntity permission(Long id, Long parentId, PermissionType type) {
+        PermissionEntity permission = new PermissionEntity();
+        permission.setId(id);
+        permission.setParentId(parentId);
+        permission.setType(type);
+        permission.setIsEnabled(true);
+        return permission;
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+}
@@ -286,6 +286,50 @@ public class PermissionServiceTest {
         verify(permissionMapper).entitiesToResponseList(permissionEntities);
     }
 
+    @Test
+    @DisplayName("测试查询权限树成功")
+    void testGetPermissionTreeSuccess() {
+        // 准备模拟数据：testPermission为根，child为其子权限
+        PermissionEntity child = new PermissionEntity();
+        child.setId(2L);
+        child.setCode("TEST_PERMISSION_CHILD");
+        child.setParentId(1L);
+        PermissionResponse childResponse = new PermissionResponse();
+        childResponse.setId(2L);
+        childResponse.setCode("TEST_PERMISSION_CHILD");
+        childResponse.setParentId(1L);
+
+        when(permissionDomainService.getSubtree(null)).thenReturn(List.of(testPermission, child));
+        when(permissionMapper.entityToResponse(testPermission)).thenReturn(permissionResponse);
+        when(permissionMapper.entityToResponse(child)).thenReturn(childResponse);
+
+        // 执行测试
+        List<PermissionResponse> responses = permissionService.getPermissionTree(null);
+
+        // 验证结果
+        assertEquals(1, responses.size());
+        assertEquals(1L, responses.get(0).getId());
+        assertEquals(1, responses.get(0).getChildren().size());
+        assertEquals(2L, responses.get(0).getChildren().get(0).getId());
+        assertTrue(responses.get(0).getChildren().get(0).getChildren().isEmpty());
+
+        // 验证方法调用
+        verify(permissionDomainService).getSubtree(null);
+    }
+
+    @Test
+    @DisplayName("测试查询权限树失败 - 根权限不存在")
+    void testGetPermissionTreeFailureRootNotFound() {
+        // 准备模拟数据
+        when(permissionDomainService.getSubtree(99L)).thenReturn(Collections.emptyList());
+
+        // 执行测试并验证异常
+        assertThrows(EntityNotFoundException.class, () -> permissionService.getPermissionTree(99L));
+
+        // 验证方法调用
+        verify(permissionMapper, never()).entityToResponse(any());
+    }
+
     @Test
     @DisplayName("测试删除权限成功")
     void testDeletePermissionSuccess() {
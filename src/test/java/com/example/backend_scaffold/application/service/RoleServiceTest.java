@@ -10,6 +10,10 @@ import com.example.backend_scaffold.application.service.impl.RoleServiceImpl;
 import com.example.backend_scaffold.domain.model.entity.RoleEntity;
 import com.example.backend_scaffold.domain.repository.RoleRepository;
 import com.example.backend_scaffold.domain.service.RoleDomainService;
+import com.example.backend_scaffold.infrastructure.cache.CacheKey;
+import com.example.backend_scaffold.infrastructure.cache.CacheDependencyTracker;
+import com.example.backend_scaffold.infrastructure.cache.CacheService;
+import com.example.backend_scaffold.infrastructure.cache.EntityKey;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -30,6 +34,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -45,6 +50,12 @@ public class RoleServiceTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private CacheDependencyTracker dependencyTracker;
+
+    @Mock
+    private CacheService cacheService;
+
     @InjectMocks
     private RoleServiceImpl roleService;
 
@@ -142,6 +153,30 @@ public class RoleServiceTest {
         verify(roleMapper).updateEntity(any(RoleRequest.class), any(RoleEntity.class));
         verify(roleDomainService).updateRole(any(RoleEntity.class));
         verify(roleMapper).entityToResponse(any(RoleEntity.class));
+
+        // 验证直接删除该角色的缓存条目，包含该角色的列表和分页在事务提交后由角色变更事件清除
+        verify(cacheService).evict("roles", EntityKey.of(CacheKey.ROLE_ID, 1L));
+        verify(cacheService).evict("roles", EntityKey.of(CacheKey.ROLE_CODE, "TEST_ROLE"));
+        verify(cacheService).evict("rolePermissions", EntityKey.of(CacheKey.ROLE_PERMISSIONS, 1L));
+        verify(dependencyTracker, never()).invalidate(any(EntityKey.class), anyString());
+    }
+
+    @Test
+    @DisplayName("测试更新角色编码 - 删除修改前编码的缓存条目")
+    void testUpdateRoleCodeEvictsPreviousCode() {
+        // 准备模拟数据
+        RoleEntity renamedRole = new RoleEntity();
+        renamedRole.setId(1L);
+        renamedRole.setCode("RENAMED_ROLE");
+        when(roleDomainService.findById(1L)).thenReturn(Optional.of(testRole));
+        when(roleMapper.updateEntity(any(RoleRequest.class), any(RoleEntity.class))).thenReturn(renamedRole);
+        when(roleDomainService.updateRole(any(RoleEntity.class))).thenReturn(renamedRole);
+
+        // 执行测试
+        roleService.updateRole(1L, roleRequest);
+
+        // 验证方法调用
+        verify(cacheService).evict("roles", EntityKey.of(CacheKey.ROLE_CODE, "TEST_ROLE"));
     }
 
     @Test
@@ -277,6 +312,7 @@ public class RoleServiceTest {
     @DisplayName("测试删除角色成功")
     void testDeleteRoleSuccess() {
         // 准备模拟数据
+        when(roleDomainService.findById(1L)).thenReturn(Optional.of(testRole));
         doNothing().when(roleDomainService).deleteRole(1L);
 
         // 执行测试
@@ -284,6 +320,9 @@ public class RoleServiceTest {
 
         // 验证方法调用
         verify(roleDomainService).deleteRole(1L);
+        verify(cacheService).evict("roles", EntityKey.of(CacheKey.ROLE_ID, 1L));
+        verify(cacheService).evict("roles", EntityKey.of(CacheKey.ROLE_CODE, "TEST_ROLE"));
+        verify(dependencyTracker).invalidate(EntityKey.of(CacheKey.ROLE_ALL), "role_deleted");
     }
 
     @Test
@@ -325,6 +364,7 @@ public class RoleServiceTest {
         verify(roleDomainService, times(2)).removePermission(eq(1L), anyLong());
         verify(roleDomainService, times(3)).assignPermission(eq(1L), anyLong());
         verify(roleMapper).entityToResponse(testRole);
+        verify(cacheService).evict("rolePermissions", EntityKey.of(CacheKey.ROLE_PERMISSIONS, 1L));
     }
 
     @Test
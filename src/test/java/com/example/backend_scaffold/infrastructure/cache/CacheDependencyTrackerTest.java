@@ -0,0 +1,137 @@
+package com.example.backend_scaffold.infrastructure.cache;
+
+import com.example.backend_scaffold.domain.event.RoleChangedEvent;
+import com.example.backend_scaffold.domain.event.UserRoleChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class CacheDependencyTrackerTest {
+
+    private static final EntityKey ROLE_1 = EntityKey.of(CacheKey.ROLE_ID, 1L);
+    private static final EntityKey ROLE_2 = EntityKey.of(CacheKey.ROLE_ID, 2L);
+    private static final EntityKey USER_7 = EntityKey.of(CacheKey.USER_ID, 7L);
+
+    private CacheService cacheService;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheDependencyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        cacheService = mock(CacheService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new CacheDependencyTracker(cacheService, meterRegistry, false,
+                emptyProvider(), emptyProvider(), 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> emptyProvider() {
+        return mock(ObjectProvider.class);
+    }
+
+    @Test
+    @DisplayName("测试依赖失效 - 只删除依赖该实体的条目")
+    void testInvalidateEvictsOnlyDependents() {
+        tracker.record("roles", EntityKey.of(CacheKey.ROLE_ID, 1L), ROLE_1);
+        tracker.record("roles", EntityKey.of(CacheKey.ROLE_CODE, "ADMIN"), ROLE_1);
+        tracker.record("roles", EntityKey.of(CacheKey.ROLE_ID, 2L), ROLE_2);
+        tracker.record("userAuthorities", "user:authorities:7", List.of(USER_7, ROLE_1));
+
+        tracker.onRoleChanged(new RoleChangedEvent(1L));
+
+        verify(cacheService).evict("roles", EntityKey.of(CacheKey.ROLE_ID, 1L));
+        verify(cacheService).evict("roles", EntityKey.of(CacheKey.ROLE_CODE, "ADMIN"));
+        verify(cacheService).evict("userAuthorities", "user:authorities:7");
+        verify(cacheService, never()).evict("roles", EntityKey.of(CacheKey.ROLE_ID, 2L));
+        verify(cacheService, never()).clear(anyString());
+        assertEquals(0, tracker.dependentCount(ROLE_1));
+        assertEquals(1, tracker.dependentCount(ROLE_2));
+    }
+
+    @Test
+    @DisplayName("测试依赖失效 - 按原因和缓存名称计数")
+    void testEvictionCountersPerCause() {
+        tracker.record("roles", EntityKey.of(CacheKey.ROLE_ID, 1L), ROLE_1);
+        tracker.record("userAuthorities", "user:authorities:7", List.of(USER_7, ROLE_1));
+
+        tracker.onRoleChanged(new RoleChangedEvent(1L));
+        tracker.onUserRoleChanged(new UserRoleChangedEvent(7L, 1L, true));
+
+        assertEquals(1, meterRegistry.counter("cache.evictions.dependent", "cause", "role", "cache", "roles").count());
+        assertEquals(1, meterRegistry.counter("cache.evictions.dependent",
+                "cause", "role", "cache", "userAuthorities").count());
+        assertEquals(1, meterRegistry.counter("cache.evictions.dependent",
+                "cause", "user_role", "cache", "userAuthorities").count());
+    }
+
+    @Test
+    @DisplayName("测试依赖失效 - 没有依赖的实体不删除任何条目")
+    void testInvalidateWithoutDependents() {
+        assertEquals(0, tracker.invalidate(ROLE_1, "role"));
+
+        verifyNoInteractions(cacheService);
+    }
+
+    @Test
+    @DisplayName("测试节点间通知 - 其他节点的失效删除本节点记录的条目")
+    void testRemoteInvalidation() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ObjectProvider<StringRedisTemplate> templateProvider = emptyProvider();
+        when(templateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        CacheDependencyTracker clustered = new CacheDependencyTracker(cacheService, meterRegistry, true,
+                templateProvider, emptyProvider(), 0);
+        clustered.record("roles", EntityKey.of(CacheKey.ROLE_ID, 1L), ROLE_1);
+
+        byte[] body = "other-node:role:role:id:1".getBytes(StandardCharsets.UTF_8);
+        clustered.onMessage(new DefaultMessage(CacheDependencyTracker.DEPENDENCY_CHANNEL.getBytes(), body), null);
+
+        verify(cacheService).evict("roles", EntityKey.of(CacheKey.ROLE_ID, 1L));
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+
+        clustered.invalidate(ROLE_2, "role");
+        verify(redisTemplate).convertAndSend(eq(CacheDependencyTracker.DEPENDENCY_CHANNEL),
+                endsWith(":role:role:id:2"));
+    }
+
+    @Test
+    @DisplayName("测试依赖清除 - 清除已被淘汰的条目的记录，保留仍在缓存中的条目")
+    void testPruneDropsEvictedEntries() throws InterruptedException {
+        tracker.record("roles", EntityKey.of(CacheKey.ROLE_ID, 1L), ROLE_1);
+        tracker.record("userAuthorities", "user:authorities:7", List.of(USER_7, ROLE_1));
+        when(cacheService.containsLocally("roles", EntityKey.of(CacheKey.ROLE_ID, 1L))).thenReturn(true);
+        Thread.sleep(5);
+
+        assertEquals(2, tracker.prune());
+
+        assertEquals(1, tracker.dependentCount(ROLE_1));
+        assertEquals(0, tracker.dependentCount(USER_7));
+        verify(cacheService, never()).evict(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("测试依赖清除 - 不清除刚登记、尚未写入缓存的条目")
+    void testPruneKeepsRecentRecords() {
+        CacheDependencyTracker delayed = new CacheDependencyTracker(cacheService, meterRegistry, false,
+                emptyProvider(), emptyProvider(), 60_000);
+        delayed.record("userAuthorities", "user:authorities:7", List.of(USER_7, ROLE_1));
+
+        assertEquals(0, delayed.prune());
+
+        assertEquals(1, delayed.dependentCount(ROLE_1));
+        verify(cacheService, never()).containsLocally(anyString(), any());
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.backend_scaffold.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheServiceTest {
+
+    private static final String CACHE_NAME = "roles";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CaffeineCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder().expireAfterWrite(10, TimeUnit.MINUTES).ticker(ticker));
+    }
+
+    private void advance(long minutes) {
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(minutes));
+    }
+
+    @Test
+    @DisplayName("测试合并加载 - 并发未命中只调用一次加载函数")
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        CacheService cacheService = new CacheService(cacheManager, meterRegistry, Runnable::run, 0.2);
+        int threads = 8;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> cacheService.get(CACHE_NAME, "role:1", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return "admin";
+            })));
+            loading.await();
+            for (int i = 1; i < threads; i++) {
+                results.add(pool.submit(() -> cacheService.get(CACHE_NAME, "role:1", () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            // 等待所有线程进入等待状态后再放行加载
+            while (meterRegistry.counter("cache.loads.coalesced", "cache", CACHE_NAME).count() < threads - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("admin", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(threads - 1, meterRegistry.counter("cache.loads.coalesced", "cache", CACHE_NAME).count());
+    }
+
+    @Test
+    @DisplayName("测试合并加载 - 加载失败时抛出异常且不缓存结果")
+    void testLoaderFailurePropagates() {
+        CacheService cacheService = new CacheService(cacheManager, meterRegistry, Runnable::run, 0.2);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> cacheService.get(CACHE_NAME, "role:1", () -> {
+                    throw new IllegalStateException("database unavailable");
+                }));
+
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals("admin", cacheService.get(CACHE_NAME, "role:1", () -> "admin"));
+    }
+
+    @Test
+    @DisplayName("测试提前刷新 - 临近过期的条目被读取时在后台重新加载")
+    void testRefreshAheadNearExpiry() {
+        List<Runnable> tasks = new ArrayList<>();
+        CacheService cacheService = new CacheService(cacheManager, meterRegistry, tasks::add, 0.2);
+        AtomicInteger version = new AtomicInteger();
+        cacheService.get(CACHE_NAME, "role:1", () -> "v" + version.incrementAndGet());
+
+        advance(7);
+        assertEquals("v1", cacheService.get(CACHE_NAME, "role:1", () -> "v" + version.incrementAndGet()));
+        assertTrue(tasks.isEmpty());
+
+        advance(2);
+        assertEquals("v1", cacheService.get(CACHE_NAME, "role:1", () -> "v" + version.incrementAndGet()));
+        assertEquals("v1", cacheService.get(CACHE_NAME, "role:1", () -> "v" + version.incrementAndGet()));
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+
+        // 刷新后存活时间重新计算，原定的过期时间之后仍然命中
+        advance(5);
+        assertEquals("v2", cacheService.get(CACHE_NAME, "role:1", () -> "v" + version.incrementAndGet()));
+        assertEquals(1, meterRegistry.counter("cache.refresh.ahead", "cache", CACHE_NAME, "result", "success").count());
+    }
+
+    @Test
+    @DisplayName("测试提前刷新 - 刷新期间条目被删除时丢弃刷新结果")
+    void testRefreshAheadDiscardedAfterEvict() {
+        List<Runnable> tasks = new ArrayList<>();
+        CacheService cacheService = new CacheService(cacheManager, meterRegistry, tasks::add, 0.2);
+        cacheService.get(CACHE_NAME, "role:1", () -> "v1");
+        advance(9);
+        cacheService.get(CACHE_NAME, "role:1", () -> "stale");
+
+        cacheService.evict(CACHE_NAME, "role:1");
+        tasks.remove(0).run();
+
+        assertNull(cacheService.get(CACHE_NAME, "role:1", String.class));
+    }
+
+    @Test
+    @DisplayName("测试提前刷新 - 线程池饱和时返回当前值")
+    void testRefreshAheadRejected() {
+        CacheService cacheService = new CacheService(cacheManager, meterRegistry, task -> {
+            throw new RejectedExecutionException("saturated");
+        }, 0.2);
+        cacheService.get(CACHE_NAME, "role:1", () -> "v1");
+        advance(9);
+
+        assertEquals("v1", cacheService.get(CACHE_NAME, "role:1", () -> "v2"));
+        assertEquals(1, meterRegistry.counter("cache.refresh.ahead", "cache", CACHE_NAME, "result", "rejected").count());
+    }
+
+    @Test
+    @DisplayName("测试本地存在判断 - 过期的条目视为不存在")
+    void testContainsLocally() {
+        CacheService cacheService = new CacheService(cacheManager, meterRegistry, Runnable::run, 0);
+        cacheService.put(CACHE_NAME, "role:id:1", "ADMIN");
+
+        assertTrue(cacheService.containsLocally(CACHE_NAME, "role:id:1"));
+        assertFalse(cacheService.containsLocally(CACHE_NAME, "role:id:2"));
+
+        advance(11);
+        assertFalse(cacheService.containsLocally(CACHE_NAME, "role:id:1"));
+    }
+}
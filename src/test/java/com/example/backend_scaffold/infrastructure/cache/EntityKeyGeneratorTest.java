@@ -0,0 +1,71 @@
+package com.example.backend_scaffold.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityKeyGeneratorTest {
+
+    private final EntityKeyGenerator keyGenerator = new EntityKeyGenerator();
+
+    static class Lookups {
+
+        @CacheKeyDimension(CacheKey.ROLE_ID)
+        public Object byId(Long id) {
+            return null;
+        }
+
+        @CacheKeyDimension(CacheKey.ROLE_CODE)
+        public Object byCode(String code) {
+            return null;
+        }
+
+        @CacheKeyDimension(CacheKey.ROLE_PAGE)
+        public Object page(Pageable pageable) {
+            return null;
+        }
+
+        public Object undeclared(Long id) {
+            return null;
+        }
+    }
+
+    private Object generate(String methodName, Class<?> parameterType, Object param) throws Exception {
+        Method method = Lookups.class.getMethod(methodName, parameterType);
+        return keyGenerator.generate(new Lookups(), method, param);
+    }
+
+    @Test
+    @DisplayName("测试键生成 - 不同维度的相同参数生成不同的键")
+    void testDimensionsDoNotCollide() throws Exception {
+        Object byId = generate("byId", Long.class, 1L);
+        Object byCode = generate("byCode", String.class, "1");
+
+        assertNotEquals(byId, byCode);
+        assertNotEquals(byId.toString(), byCode.toString());
+        assertEquals(EntityKey.of(CacheKey.ROLE_ID, 1L), byId);
+        assertEquals("role:id:1", byId.toString());
+    }
+
+    @Test
+    @DisplayName("测试键生成 - 分页键包含排序")
+    void testPageKeyIncludesSort() throws Exception {
+        Object unsorted = generate("page", Pageable.class, PageRequest.of(0, 10));
+        Object sorted = generate("page", Pageable.class, PageRequest.of(0, 10, Sort.by("name")));
+
+        assertEquals("role:page:0-10", unsorted.toString());
+        assertNotEquals(unsorted, sorted);
+    }
+
+    @Test
+    @DisplayName("测试键生成 - 未声明维度时抛出异常")
+    void testMissingDimension() {
+        assertThrows(IllegalStateException.class, () -> generate("undeclared", Long.class, 1L));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.backend_scaffold.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NegativeLookupCacheTest {
+
+    private NegativeLookupCache negativeLookupCache;
+    private AtomicInteger queries;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder().expireAfterWrite(30, TimeUnit.SECONDS));
+        negativeLookupCache = new NegativeLookupCache(
+                new CacheService(cacheManager, new SimpleMeterRegistry(), Runnable::run, 0));
+        queries = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Optional<String> missing() {
+        queries.incrementAndGet();
+        return Optional.empty();
+    }
+
+    @Test
+    @DisplayName("测试未命中缓存 - 重复查询不存在的值只访问一次数据库")
+    void testRepeatedMissQueriesOnce() {
+        assertTrue(negativeLookupCache.find(CacheKey.USER_NAME, "ghost", this::missing).isEmpty());
+        assertTrue(negativeLookupCache.find(CacheKey.USER_NAME, "Ghost", this::missing).isEmpty());
+        assertFalse(negativeLookupCache.exists(CacheKey.USER_NAME, "ghost", () -> missing().isPresent()));
+
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    @DisplayName("测试未命中缓存 - 存在的实体不缓存，维度之间互不影响")
+    void testHitsAreNotCached() {
+        negativeLookupCache.find(CacheKey.USER_EMAIL, "admin", this::missing);
+
+        assertEquals("admin", negativeLookupCache.find(CacheKey.USER_NAME, "admin", () -> {
+            queries.incrementAndGet();
+            return Optional.of("admin");
+        }).orElseThrow());
+        assertTrue(negativeLookupCache.exists(CacheKey.USER_NAME, "admin", () -> queries.incrementAndGet() > 0));
+        assertEquals(3, queries.get());
+    }
+
+    @Test
+    @DisplayName("测试未命中缓存 - 保存实体后立即可以查到")
+    void testEvictOnSave() {
+        negativeLookupCache.exists(CacheKey.ROLE_CODE, "AUDITOR", () -> missing().isPresent());
+
+        negativeLookupCache.evict(CacheKey.ROLE_CODE, "AUDITOR");
+
+        assertTrue(negativeLookupCache.exists(CacheKey.ROLE_CODE, "AUDITOR", () -> queries.incrementAndGet() > 0));
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    @DisplayName("测试未命中缓存 - 提交前并发写入的未命中条目在事务提交后删除")
+    void testEvictAgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        negativeLookupCache.evict(CacheKey.USER_PHONE, "13800000000", null);
+        // 事务提交前其他请求查询，数据库中还没有该手机号
+        negativeLookupCache.find(CacheKey.USER_PHONE, "13800000000", this::missing);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertTrue(negativeLookupCache.find(CacheKey.USER_PHONE, "13800000000", () -> {
+            queries.incrementAndGet();
+            return Optional.of("user");
+        }).isPresent());
+        assertEquals(2, queries.get());
+    }
+}
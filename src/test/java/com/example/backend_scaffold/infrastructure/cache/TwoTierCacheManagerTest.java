@@ -0,0 +1,219 @@
+package com.example.backend_scaffold.infrastructure.cache;
+
+import com.example.backend_scaffold.application.dto.role.RoleResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TwoTierCacheManagerTest {
+
+    private static final Map<String, String> SPECS = Map.of(
+            "roles", "maximumSize=100,expireAfterWrite=30m",
+            "userAuthorities", "maximumSize=100,expireAfterWrite=1h");
+
+    private InMemoryRedisCacheWriter redis;
+    private List<TwoTierCacheManager> nodes;
+    private TwoTierCacheManager nodeA;
+    private TwoTierCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        redis = new InMemoryRedisCacheWriter();
+        nodes = new ArrayList<>();
+        nodeA = node(redis);
+        nodeB = node(redis);
+    }
+
+    /**
+     * 创建一个节点，节点之间通过进程内的发布/订阅互相通知
+     */
+    private TwoTierCacheManager node(RedisCacheWriter writer) {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        doAnswer(invocation -> {
+            byte[] channel = invocation.<String>getArgument(0).getBytes(StandardCharsets.UTF_8);
+            byte[] body = invocation.<String>getArgument(1).getBytes(StandardCharsets.UTF_8);
+            nodes.forEach(node -> node.onMessage(new DefaultMessage(channel, body), null));
+            return 1L;
+        }).when(template).convertAndSend(anyString(), any());
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        TwoTierCacheManager manager = new TwoTierCacheManager(
+                new SpecCaffeineCacheManager("maximumSize=100", SPECS, new SimpleMeterRegistry(), "cacheManager"),
+                writer, Set.of("userAuthorities"), Duration.ofMinutes(5), template, container);
+        verify(container).addMessageListener(eq(manager), any(Topic.class));
+        nodes.add(manager);
+        return manager;
+    }
+
+    private RoleResponse role(Long id, String name) {
+        RoleResponse role = new RoleResponse();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+
+    @Test
+    @DisplayName("测试二级缓存 - 其他节点加载的值从Redis读取")
+    void testLoadSharedThroughRedis() {
+        AtomicInteger loads = new AtomicInteger();
+        RoleResponse loaded = nodeA.getCache("roles").get(1L, () -> {
+            loads.incrementAndGet();
+            return role(1L, "admin");
+        });
+        RoleResponse shared = nodeB.getCache("roles").get(1L, () -> {
+            loads.incrementAndGet();
+            return role(1L, "other");
+        });
+
+        assertEquals(1, loads.get());
+        assertEquals(loaded, shared);
+        assertEquals(Duration.ofMinutes(30), redis.ttls.get("roles::1"));
+    }
+
+    @Test
+    @DisplayName("测试一级缓存 - 命中时不访问Redis")
+    void testNearCacheHit() {
+        Cache roles = nodeA.getCache("roles");
+        roles.put(1L, role(1L, "admin"));
+        int reads = redis.reads.get();
+
+        assertEquals("admin", roles.get(1L, RoleResponse.class).getName());
+        assertEquals(reads, redis.reads.get());
+    }
+
+    @Test
+    @DisplayName("测试失效通知 - 写入后其他节点的一级缓存失效")
+    void testPutInvalidatesOtherNodes() {
+        nodeA.getCache("roles").put(1L, role(1L, "admin"));
+        assertEquals("admin", nodeB.getCache("roles").get(1L, RoleResponse.class).getName());
+
+        nodeA.getCache("roles").put(1L, role(1L, "administrator"));
+
+        assertEquals("administrator", nodeB.getCache("roles").get(1L, RoleResponse.class).getName());
+        assertEquals("administrator", nodeA.getCache("roles").get(1L, RoleResponse.class).getName());
+    }
+
+    @Test
+    @DisplayName("测试失效通知 - 删除和清空同时作用于两级缓存和其他节点")
+    void testEvictAndClearInvalidateOtherNodes() {
+        nodeA.getCache("roles").put(1L, role(1L, "admin"));
+        nodeA.getCache("roles").put(2L, role(2L, "user"));
+        nodeB.getCache("roles").get(1L);
+        nodeB.getCache("roles").get(2L);
+
+        nodeA.getCache("roles").evict(1L);
+        assertNull(nodeB.getCache("roles").get(1L));
+        assertNotNull(nodeB.getCache("roles").get(2L));
+
+        nodeB.getCache("roles").clear();
+        assertNull(nodeA.getCache("roles").get(2L));
+        assertTrue(redis.entries.isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试仅本地缓存 - 不写入Redis但仍通知其他节点")
+    void testLocalOnlyCache() {
+        nodeA.getCache("userAuthorities").put("user:authorities:1", List.of("user:read"));
+        assertTrue(redis.entries.isEmpty());
+        assertNotNull(nodeA.getCache("userAuthorities").get("user:authorities:1"));
+        assertNull(nodeB.getCache("userAuthorities").get("user:authorities:1"));
+
+        nodeB.getCache("userAuthorities").evict("user:authorities:1");
+
+        assertNull(nodeA.getCache("userAuthorities").get("user:authorities:1"));
+    }
+
+    @Test
+    @DisplayName("测试Redis不可用 - 退化为一级缓存")
+    void testRedisUnavailable() {
+        RedisCacheWriter broken = mock(RedisCacheWriter.class);
+        doThrow(new IllegalStateException("connection refused")).when(broken).get(anyString(), any());
+        doThrow(new IllegalStateException("connection refused")).when(broken)
+                .put(anyString(), any(), any(), any());
+        Cache roles = node(broken).getCache("roles");
+
+        RoleResponse loaded = roles.get(1L, () -> role(1L, "admin"));
+
+        assertEquals("admin", loaded.getName());
+        assertSame(loaded, roles.get(1L, RoleResponse.class));
+    }
+
+    /**
+     * 内存中的Redis缓存读写器，代替真实的Redis
+     */
+    private static final class InMemoryRedisCacheWriter implements RedisCacheWriter {
+
+        private final Map<String, byte[]> entries = new ConcurrentHashMap<>();
+        private final Map<String, Duration> ttls = new ConcurrentHashMap<>();
+        private final AtomicInteger reads = new AtomicInteger();
+
+        private static String key(byte[] key) {
+            return new String(key, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void put(String name, byte[] key, byte[] value, Duration ttl) {
+            entries.put(key(key), value);
+            ttls.put(key(key), ttl);
+        }
+
+        @Override
+        public byte[] get(String name, byte[] key) {
+            reads.incrementAndGet();
+            return entries.get(key(key));
+        }
+
+        @Override
+        public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+            return entries.putIfAbsent(key(key), value);
+        }
+
+        @Override
+        public void remove(String name, byte[] key) {
+            entries.remove(key(key));
+        }
+
+        @Override
+        public void clean(String name, byte[] pattern) {
+            String prefix = key(pattern).replace("*", "");
+            entries.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+
+        @Override
+        public void clearStatistics(String name) {
+        }
+
+        @Override
+        public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector collector) {
+            return this;
+        }
+
+        @Override
+        public CacheStatistics getCacheStatistics(String cacheName) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
+import com.example.backend_scaffold.domain.model.entity.UserEntity;
+import com.example.backend_scaffold.domain.model.enums.PermissionType;
+import com.example.backend_scaffold.domain.repository.PermissionRepository;
+import com.example.backend_scaffold.domain.repository.RoleRepository;
+import com.example.backend_scaffold.domain.repository.UserRepository;
+import com.example.backend_scaffold.domain.repository.UserRoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AuthorizationIndexTest {
+
+    private UserRepository userRepository;
+    private RolePermissionMatrix rolePermissionMatrix;
+    private AuthorizationIndex authorizationIndex;
+
+    @BeforeEach
+    void setUp() {
+        PermissionEntity permission = new PermissionEntity();
+        permission.setId(1L);
+        permission.setCode("user:read");
+        permission.setType(PermissionType.API);
+        PermissionRepository permissionRepository = mock(PermissionRepository.class);
+        when(permissionRepository.findAll()).thenReturn(List.of(permission));
+        AuthorityDictionary dictionary = new AuthorityDictionary(permissionRepository, mock(RoleRepository.class));
+
+        userRepository = mock(UserRepository.class);
+        rolePermissionMatrix = mock(RolePermissionMatrix.class);
+        BitSet granted = new BitSet();
+        granted.set(1);
+        when(rolePermissionMatrix.effectivePermissions(7L)).thenReturn(granted);
+        when(rolePermissionMatrix.effectivePermissions(8L)).thenReturn(new BitSet());
+        authorizationIndex = new AuthorizationIndex(userRepository, mock(UserRoleRepository.class),
+                rolePermissionMatrix, dictionary, 1000);
+    }
+
+    @Test
+    @DisplayName("测试用户改名 - 旧用户名被他人注册后不继承原用户的权限")
+    void testRenamedUsernameNotInherited() {
+        // alice（ID 7）持有令牌并完成一次权限检查
+        UsernamePasswordAuthenticationToken alice = authentication(7L, "alice");
+        assertTrue(authorizationIndex.hasPermission(authorizationIndex.userId(alice), "user:read"));
+
+        // alice改名后，新用户（ID 8）注册了用户名alice
+        UsernamePasswordAuthenticationToken newcomer = authentication(8L, "alice");
+        assertFalse(authorizationIndex.hasPermission(authorizationIndex.userId(newcomer), "user:read"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("测试用户ID解析 - 不含用户ID的旧令牌按用户名查询")
+    void testLegacyTokenResolvedByUsername() {
+        UserEntity user = new UserEntity();
+        user.setId(7L);
+        user.setUsername("alice");
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+
+        assertEquals(7L, authorizationIndex.userId(new UsernamePasswordAuthenticationToken("alice", null, List.of())));
+        assertNull(authorizationIndex.userId(new UsernamePasswordAuthenticationToken("bob", null, List.of())));
+        assertFalse(authorizationIndex.hasPermission(null, "user:read"));
+    }
+
+    private UsernamePasswordAuthenticationToken authentication(Long id, String username) {
+        AuthenticatedUser principal = new AuthenticatedUser(id, username, "", true, true, List.of(),
+                new BitSet(), new BitSet(), 0);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
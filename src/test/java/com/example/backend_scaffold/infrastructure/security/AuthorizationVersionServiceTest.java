@@ -0,0 +1,165 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
+import com.example.backend_scaffold.domain.model.enums.PermissionType;
+import com.example.backend_scaffold.domain.repository.PermissionRepository;
+import com.example.backend_scaffold.domain.repository.RoleRepository;
+import com.example.backend_scaffold.domain.repository.UserRepository;
+import com.example.backend_scaffold.domain.repository.UserRoleRepository;
+import com.example.backend_scaffold.domain.service.PermissionHierarchyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class AuthorizationVersionServiceTest {
+
+    private RolePermissionMatrix rolePermissionMatrix;
+    private AuthorityDictionary authorityDictionary;
+    private UserAuthorityCache userAuthorityCache;
+    private AuthorizationIndex authorizationIndex;
+    private UrlPermissionRouter urlPermissionRouter;
+    private PermissionHierarchyService permissionHierarchyService;
+    private StringRedisTemplate redisTemplate;
+    private AuthorizationVersionService versionService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        rolePermissionMatrix = mock(RolePermissionMatrix.class);
+        authorityDictionary = mock(AuthorityDictionary.class);
+        userAuthorityCache = mock(UserAuthorityCache.class);
+        authorizationIndex = mock(AuthorizationIndex.class);
+        urlPermissionRouter = mock(UrlPermissionRouter.class);
+        permissionHierarchyService = mock(PermissionHierarchyService.class);
+        redisTemplate = mock(StringRedisTemplate.class);
+        ObjectProvider<StringRedisTemplate> templateProvider = mock(ObjectProvider.class);
+        when(templateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        versionService = new AuthorizationVersionService(rolePermissionMatrix, new GrantedAuthorityRegistry(1000),
+                authorityDictionary, userAuthorityCache, authorizationIndex, urlPermissionRouter,
+                permissionHierarchyService, true, templateProvider, mock(ObjectProvider.class));
+        when(rolePermissionMatrix.roles(anyLong())).thenReturn(new BitSet());
+        when(rolePermissionMatrix.effectivePermissions(anyLong())).thenReturn(new BitSet());
+    }
+
+    private void receive(String body) {
+        versionService.onMessage(new DefaultMessage(AuthorizationVersionService.VERSION_CHANNEL.getBytes(),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    @Test
+    @DisplayName("测试节点间通知 - 先重新加载本地矩阵再推进用户版本")
+    void testRemoteUserChangeReloadsMatrixFirst() {
+        long remoteVersion = versionService.version(7L) + 100;
+
+        receive("other-node:u:7:" + remoteVersion);
+
+        InOrder inOrder = inOrder(rolePermissionMatrix, userAuthorityCache);
+        inOrder.verify(rolePermissionMatrix).reloadUser(7L);
+        inOrder.verify(userAuthorityCache).evict(7L);
+        verify(authorizationIndex).evict(7L);
+        assertEquals(remoteVersion, versionService.version(7L));
+        assertEquals(remoteVersion, versionService.principal(7L, "alice").getAuthorizationVersion());
+    }
+
+    @Test
+    @DisplayName("测试节点间通知 - 角色变化重新加载角色并删除持有该角色的用户的权限缓存")
+    void testRemoteRoleChangeReloadsRole() {
+        when(rolePermissionMatrix.usersWithRole(3L)).thenReturn(List.of(7L, 8L));
+        long remoteVersion = versionService.version(7L) + 100;
+
+        receive("other-node:r:3:" + remoteVersion);
+
+        InOrder inOrder = inOrder(authorityDictionary, rolePermissionMatrix, userAuthorityCache);
+        inOrder.verify(authorityDictionary).refresh();
+        inOrder.verify(rolePermissionMatrix).reloadRole(3L);
+        inOrder.verify(userAuthorityCache).evict(7L);
+        verify(userAuthorityCache).evict(8L);
+        verify(authorizationIndex).evict(7L);
+        verify(authorizationIndex).evict(8L);
+        assertEquals(remoteVersion, versionService.version(8L));
+        assertEquals(remoteVersion, versionService.roleVersion(3L));
+    }
+
+    @Test
+    @DisplayName("测试节点间通知 - 全局变化重建矩阵和权限字典")
+    void testRemoteGlobalChangeRebuilds() {
+        long remoteVersion = versionService.version(null) + 100;
+
+        receive("other-node:g:0:" + remoteVersion);
+
+        verify(authorityDictionary).refresh();
+        verify(rolePermissionMatrix).rebuild();
+        verify(userAuthorityCache).clear();
+        verify(authorizationIndex).clear();
+        verify(urlPermissionRouter).rebuild();
+        verify(permissionHierarchyService).rebuild();
+        assertEquals(remoteVersion, versionService.version(9L));
+    }
+
+    @Test
+    @DisplayName("测试节点间通知 - 忽略本节点发出的通知")
+    void testOwnMessageIgnored() {
+        versionService.bumpUser(7L);
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(AuthorizationVersionService.VERSION_CHANNEL), body.capture());
+
+        receive(body.getValue());
+
+        verify(rolePermissionMatrix, never()).reloadUser(anyLong());
+        verify(redisTemplate, times(1)).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("测试节点间通知 - 全局变化后授权索引和URL路由表反映其他节点的修改")
+    @SuppressWarnings("unchecked")
+    void testRemoteGlobalChangeRefreshesIndexAndRouter() {
+        PermissionEntity permission = new PermissionEntity();
+        permission.setId(1L);
+        permission.setCode("user:read");
+        permission.setType(PermissionType.API);
+        permission.setMethod("GET");
+        permission.setUrl("/api/users/{id}");
+        PermissionRepository permissionRepository = mock(PermissionRepository.class);
+        when(permissionRepository.findAll()).thenReturn(List.of(permission));
+        when(permissionRepository.findByType(PermissionType.API)).thenReturn(List.of(permission));
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        BitSet granted = new BitSet();
+        granted.set(1);
+        when(rolePermissionMatrix.effectivePermissions(7L)).thenReturn(granted);
+
+        AuthorityDictionary dictionary = new AuthorityDictionary(permissionRepository, roleRepository);
+        AuthorizationIndex index = new AuthorizationIndex(mock(UserRepository.class), mock(UserRoleRepository.class),
+                rolePermissionMatrix, dictionary, 1000);
+        UrlPermissionRouter router = new UrlPermissionRouter(permissionRepository);
+        AuthorizationVersionService clustered = new AuthorizationVersionService(rolePermissionMatrix,
+                new GrantedAuthorityRegistry(1000), dictionary, userAuthorityCache, index, router,
+                permissionHierarchyService, true, mock(ObjectProvider.class), mock(ObjectProvider.class));
+        assertTrue(index.hasPermission(7L, "user:read"));
+        assertEquals(List.of("user:read"), router.match("GET", "/api/users/1"));
+
+        // 其他节点修改了权限的URL，并收回了alice的权限
+        permission.setUrl("/api/accounts/{id}");
+        when(rolePermissionMatrix.effectivePermissions(7L)).thenReturn(new BitSet());
+        clustered.onMessage(new DefaultMessage(AuthorizationVersionService.VERSION_CHANNEL.getBytes(),
+                ("other-node:g:0:" + (clustered.version(null) + 100)).getBytes(StandardCharsets.UTF_8)), null);
+
+        assertFalse(index.hasPermission(7L, "user:read"));
+        assertTrue(router.match("GET", "/api/users/1").isEmpty());
+        assertEquals(List.of("user:read"), router.match("GET", "/api/accounts/1"));
+    }
+}
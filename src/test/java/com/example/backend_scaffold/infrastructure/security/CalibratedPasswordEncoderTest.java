@@ -0,0 +1,46 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalibratedPasswordEncoderTest {
+
+    private final CalibratedPasswordEncoder encoder =
+            new CalibratedPasswordEncoder(PasswordEncoderCalibration.fixed(5));
+
+    private static String hash(int strength) {
+        return new BCryptPasswordEncoder(strength).encode("secret");
+    }
+
+    @Test
+    @DisplayName("测试哈希升级 - 强度低于校准强度时需要升级")
+    void testUpgradeWeakerHash() {
+        assertTrue(encoder.upgradeEncoding(hash(4)));
+    }
+
+    @Test
+    @DisplayName("测试哈希升级 - 强度等于或高于校准强度时保持不变")
+    void testKeepEqualOrStrongerHash() {
+        assertFalse(encoder.upgradeEncoding(hash(5)));
+        assertFalse(encoder.upgradeEncoding(hash(6)));
+    }
+
+    @Test
+    @DisplayName("测试哈希升级 - 非BCrypt哈希或空值不升级")
+    void testIgnoreUnknownFormats() {
+        assertFalse(encoder.upgradeEncoding(null));
+        assertFalse(encoder.upgradeEncoding(""));
+        assertFalse(encoder.upgradeEncoding("{noop}secret"));
+    }
+
+    @Test
+    @DisplayName("测试密码校验 - 按哈希中的强度校验，新哈希使用校准强度")
+    void testMatchesAnyStrength() {
+        assertTrue(encoder.matches("secret", hash(6)));
+        assertFalse(encoder.matches("wrong", hash(4)));
+        assertTrue(encoder.encode("secret").startsWith("$2a$05$"));
+    }
+}
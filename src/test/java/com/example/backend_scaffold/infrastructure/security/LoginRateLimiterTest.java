@@ -0,0 +1,115 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.infrastructure.cache.CacheKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class LoginRateLimiterTest {
+
+    private static final long ONE_HOUR = 3_600_000;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        redisTemplate = mock(StringRedisTemplate.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private LoginRateLimiter limiter(boolean enabled, int usernameCapacity, int ipCapacity, boolean redisEnabled) {
+        ObjectProvider<StringRedisTemplate> templateProvider = mock(ObjectProvider.class);
+        when(templateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        return new LoginRateLimiter(enabled, usernameCapacity, ONE_HOUR, ipCapacity, ONE_HOUR, 4, 100,
+                redisEnabled, templateProvider, meterRegistry);
+    }
+
+    private double throttled(String key) {
+        return meterRegistry.counter("auth.login.throttled", "key", key).count();
+    }
+
+    @Test
+    @DisplayName("测试登录限流 - 大小写和首尾空白不同的用户名共用一个桶")
+    void testUsernameNormalized() {
+        LoginRateLimiter limiter = limiter(true, 2, 100, false);
+
+        assertTrue(limiter.tryAcquire("Alice", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire(" alice ", "10.0.0.2"));
+        assertFalse(limiter.tryAcquire("ALICE", "10.0.0.3"));
+        assertTrue(limiter.tryAcquire("bob", "10.0.0.3"));
+        assertEquals(1, throttled("username"));
+    }
+
+    @Test
+    @DisplayName("测试登录限流 - 用户名维度拒绝时不消耗IP令牌")
+    void testUsernameRejectionKeepsIpToken() {
+        LoginRateLimiter limiter = limiter(true, 1, 3, false);
+
+        assertTrue(limiter.tryAcquire("alice", "10.0.0.1"));
+        for (int i = 0; i < 5; i++) {
+            assertFalse(limiter.tryAcquire("alice", "10.0.0.1"));
+        }
+
+        // 同一IP仍有两次机会
+        assertTrue(limiter.tryAcquire("bob", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("carol", "10.0.0.1"));
+        assertFalse(limiter.tryAcquire("dave", "10.0.0.1"));
+        assertEquals(5, throttled("username"));
+        assertEquals(1, throttled("ip"));
+    }
+
+    @Test
+    @DisplayName("测试登录限流 - IP维度拒绝时不检查用户名")
+    void testIpRejection() {
+        LoginRateLimiter limiter = limiter(true, 1, 1, false);
+
+        assertTrue(limiter.tryAcquire("alice", "10.0.0.1"));
+        assertFalse(limiter.tryAcquire("bob", "10.0.0.1"));
+
+        // bob的用户名令牌未被消耗
+        assertTrue(limiter.tryAcquire("bob", "10.0.0.2"));
+        assertEquals(1, throttled("ip"));
+        assertEquals(0, throttled("username"));
+    }
+
+    @Test
+    @DisplayName("测试登录限流 - 用户名维度拒绝时归还Redis中的IP计数")
+    void testUsernameRejectionReleasesRedisIpCount() {
+        LoginRateLimiter limiter = limiter(true, 1, 100, true);
+        String ipKey = CacheKey.LOGIN_ATTEMPT + "ip:10.0.0.1";
+        String usernameKey = CacheKey.LOGIN_ATTEMPT + "user:alice";
+        when(redisTemplate.execute(eq(LoginRateLimiter.INCREMENT_SCRIPT), eq(List.of(ipKey)), any()))
+                .thenReturn(1L, 2L);
+        when(redisTemplate.execute(eq(LoginRateLimiter.INCREMENT_SCRIPT), eq(List.of(usernameKey)), any()))
+                .thenReturn(1L);
+
+        assertTrue(limiter.tryAcquire("Alice", "10.0.0.1"));
+        assertFalse(limiter.tryAcquire("alice", "10.0.0.1"));
+
+        // 计数和过期时间由同一脚本设置，窗口长度作为参数传入
+        verify(redisTemplate, times(1)).execute(LoginRateLimiter.INCREMENT_SCRIPT, List.of(usernameKey), "3600000");
+        verify(redisTemplate).execute(LoginRateLimiter.RELEASE_SCRIPT, List.of(ipKey));
+        verify(redisTemplate, never()).expire(anyString(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("测试登录限流 - 未启用时始终放行")
+    void testDisabled() {
+        LoginRateLimiter limiter = limiter(false, 1, 1, true);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("alice", "10.0.0.1"));
+        }
+        verifyNoInteractions(redisTemplate);
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.application.config.JpaAuditingConfig;
+import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
+import com.example.backend_scaffold.domain.model.entity.RoleEntity;
+import com.example.backend_scaffold.domain.model.entity.UserEntity;
+import com.example.backend_scaffold.domain.model.enums.PermissionType;
+import com.example.backend_scaffold.domain.model.enums.UserStatus;
+import com.example.backend_scaffold.domain.repository.PermissionRepository;
+import com.example.backend_scaffold.domain.repository.UserRepository;
+import com.example.backend_scaffold.domain.service.RoleDomainService;
+import com.example.backend_scaffold.domain.service.UserDomainService;
+import com.example.backend_scaffold.domain.service.impl.RoleDomainServiceImpl;
+import com.example.backend_scaffold.domain.service.impl.UserDomainServiceImpl;
+import com.example.backend_scaffold.infrastructure.cache.CacheService;
+import com.example.backend_scaffold.infrastructure.cache.NegativeLookupCache;
+import com.example.backend_scaffold.infrastructure.persistence.mapper.PermissionJpaMapper;
+import com.example.backend_scaffold.infrastructure.persistence.mapper.RoleJpaMapper;
+import com.example.backend_scaffold.infrastructure.persistence.mapper.RolePermissionJpaMapper;
+import com.example.backend_scaffold.infrastructure.persistence.mapper.UserJpaMapper;
+import com.example.backend_scaffold.infrastructure.persistence.mapper.UserRoleJpaMapper;
+import com.example.backend_scaffold.infrastructure.persistence.repository.PermissionJpaRepository;
+import com.example.backend_scaffold.infrastructure.persistence.repository.RoleJpaRepository;
+import com.example.backend_scaffold.infrastructure.persistence.repository.RolePermissionJpaRepository;
+import com.example.backend_scaffold.infrastructure.persistence.repository.UserJpaRepository;
+import com.example.backend_scaffold.infrastructure.persistence.repository.UserRoleJpaRepository;
+import com.example.backend_scaffold.infrastructure.persistence.repository_impl.PermissionRepositoryImpl;
+import com.example.backend_scaffold.infrastructure.persistence.repository_impl.RolePermissionRepositoryImpl;
+import com.example.backend_scaffold.infrastructure.persistence.repository_impl.RoleRepositoryImpl;
+import com.example.backend_scaffold.infrastructure.persistence.repository_impl.UserRepositoryImpl;
+import com.example.backend_scaffold.infrastructure.persistence.repository_impl.UserRoleRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 角色权限矩阵测试
+ * <p>
+ * 使用H2数据库，领域服务的事务真实提交，矩阵通过事务提交后的领域事件增量更新，
+ * 每个用例都与从数据库整体重建的结果比较
+ * </p>
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({RolePermissionMatrixTest.Config.class, JpaAuditingConfig.class,
+        RoleDomainServiceImpl.class, UserDomainServiceImpl.class,
+        RoleRepositoryImpl.class, PermissionRepositoryImpl.class, UserRepositoryImpl.class,
+        RolePermissionRepositoryImpl.class, UserRoleRepositoryImpl.class,
+        RoleJpaMapper.class, PermissionJpaMapper.class, UserJpaMapper.class,
+        RolePermissionJpaMapper.class, UserRoleJpaMapper.class,
+        RolePermissionMatrix.class, AuthorityDictionary.class})
+public class RolePermissionMatrixTest {
+
+    @TestConfiguration
+    @EnableJpaAuditing(auditorAwareRef = "auditorProvider")
+    static class Config {
+
+        @Bean
+        NegativeLookupCache negativeLookupCache() {
+            return new NegativeLookupCache(new CacheService(new ConcurrentMapCacheManager(),
+                    new SimpleMeterRegistry(), Runnable::run, 0));
+        }
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return NoOpPasswordEncoder.getInstance();
+        }
+    }
+
+    @Autowired
+    private RolePermissionMatrix matrix;
+
+    @Autowired
+    private RoleDomainService roleDomainService;
+
+    @Autowired
+    private UserDomainService userDomainService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private RolePermissionJpaRepository rolePermissionJpaRepository;
+
+    @Autowired
+    private UserRoleJpaRepository userRoleJpaRepository;
+
+    @Autowired
+    private RoleJpaRepository roleJpaRepository;
+
+    @Autowired
+    private PermissionJpaRepository permissionJpaRepository;
+
+    @Autowired
+    private UserJpaRepository userJpaRepository;
+
+    private Long userId;
+    private Long readId;
+    private Long writeId;
+
+    @BeforeEach
+    void setUp() {
+        userId = user("alice");
+        readId = permission("user:read");
+        writeId = permission("user:write");
+        // 矩阵在用例数据准备好之后构建，之后的变更只通过领域事件增量更新
+        matrix.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rolePermissionJpaRepository.deleteAll();
+        userRoleJpaRepository.deleteAll();
+        roleJpaRepository.deleteAll();
+        permissionJpaRepository.deleteAll();
+        userJpaRepository.deleteAll();
+    }
+
+    private Long user(String username) {
+        UserEntity user = new UserEntity();
+        user.setUsername(username);
+        user.setPassword("secret");
+        user.setStatus(UserStatus.ACTIVE);
+        return userRepository.save(user).getId();
+    }
+
+    private Long permission(String code) {
+        PermissionEntity permission = new PermissionEntity();
+        permission.setName(code);
+        permission.setCode(code);
+        permission.setType(PermissionType.API);
+        return permissionRepository.save(permission).getId();
+    }
+
+    private Long role(String code) {
+        RoleEntity role = new RoleEntity();
+        role.setName(code);
+        role.setCode(code);
+        return roleDomainService.createRole(role).getId();
+    }
+
+    /**
+     * 增量维护的结果应与整体重建一致
+     */
+    private void assertMatchesRebuild() {
+        List<String> incremental = matrix.authorities(userId);
+        BitSet roles = matrix.roles(userId);
+        matrix.rebuild();
+        assertEquals(roles, matrix.roles(userId));
+        assertEquals(incremental, matrix.authorities(userId));
+    }
+
+    @Test
+    @DisplayName("测试增量维护 - 运行时新建的角色分配给用户后立即生效")
+    void testRoleCreatedAtRuntime() {
+        Long auditorId = role("AUDITOR");
+        roleDomainService.assignPermission(auditorId, readId);
+        userDomainService.assignRole(userId, auditorId);
+
+        assertEquals(List.of("user:read", "ROLE_AUDITOR"), matrix.authorities(userId));
+        assertMatchesRebuild();
+    }
+
+    @Test
+    @DisplayName("测试增量维护 - 分配和移除角色权限")
+    void testAssignAndRemovePermission() {
+        Long editorId = role("EDITOR");
+        userDomainService.assignRole(userId, editorId);
+        roleDomainService.assignPermission(editorId, readId);
+        roleDomainService.assignPermission(editorId, writeId);
+        assertEquals(List.of("user:read", "user:write", "ROLE_EDITOR"), matrix.authorities(userId));
+
+        roleDomainService.removePermission(editorId, writeId);
+
+        assertEquals(List.of("user:read", "ROLE_EDITOR"), matrix.authorities(userId));
+        assertMatchesRebuild();
+    }
+
+    @Test
+    @DisplayName("测试增量维护 - 移除用户角色")
+    void testRemoveRole() {
+        Long editorId = role("EDITOR");
+        roleDomainService.assignPermission(editorId, readId);
+        userDomainService.assignRole(userId, editorId);
+
+        userDomainService.removeRole(userId, editorId);
+
+        assertTrue(matrix.authorities(userId).isEmpty());
+        assertTrue(matrix.usersWithRole(editorId).isEmpty());
+        assertMatchesRebuild();
+    }
+
+    @Test
+    @DisplayName("测试增量维护 - 禁用角色后权限失效，重新启用后恢复")
+    void testDisableAndEnableRole() {
+        Long editorId = role("EDITOR");
+        roleDomainService.assignPermission(editorId, readId);
+        userDomainService.assignRole(userId, editorId);
+
+        roleDomainService.disableRole(editorId);
+        assertTrue(matrix.authorities(userId).isEmpty());
+        assertEquals(List.of(userId), matrix.usersWithRole(editorId));
+        assertTrue(matrix.assignedRoles(userId).get(editorId.intValue()));
+        assertMatchesRebuild();
+
+        roleDomainService.enableRole(editorId);
+        assertEquals(List.of("user:read", "ROLE_EDITOR"), matrix.authorities(userId));
+        assertMatchesRebuild();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.infrastructure.cache.CacheKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+public class TokenRevocationServiceTest {
+
+    private VerifiedTokenCache verifiedTokenCache;
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        verifiedTokenCache = mock(VerifiedTokenCache.class);
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    private TokenRevocationService service(boolean redisEnabled) {
+        return service(redisEnabled, 1_000, 0.001);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TokenRevocationService service(boolean redisEnabled, long expectedInsertions, double falsePositiveRate) {
+        ObjectProvider<StringRedisTemplate> templateProvider = mock(ObjectProvider.class);
+        when(templateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        return new TokenRevocationService(verifiedTokenCache, redisEnabled, templateProvider,
+                mock(ObjectProvider.class), 60_000, expectedInsertions, falsePositiveRate);
+    }
+
+    private static Date inMillis(long millis) {
+        return new Date(System.currentTimeMillis() + millis);
+    }
+
+    @Test
+    @DisplayName("测试令牌撤销 - 撤销后判定为已撤销并清除已缓存的认证信息")
+    void testRevoke() {
+        TokenRevocationService service = service(true);
+        String digest = TokenDigest.of("jwt-token");
+        assertFalse(service.isRevoked(digest));
+
+        service.revoke("jwt-token", inMillis(60_000));
+
+        assertTrue(service.isRevoked(digest));
+        assertFalse(service.isRevoked(TokenDigest.of("other-token")));
+        verify(verifiedTokenCache).evict(digest);
+        // 本地过滤器已判定结果，无需查询Redis
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    @DisplayName("测试令牌撤销 - 已过期的令牌无需撤销")
+    void testRevokeExpiredToken() {
+        TokenRevocationService service = service(true);
+
+        service.revoke("jwt-token", inMillis(-1_000));
+
+        assertFalse(service.isRevoked(TokenDigest.of("jwt-token")));
+        verifyNoInteractions(redisTemplate, verifiedTokenCache);
+    }
+
+    @Test
+    @DisplayName("测试令牌撤销 - 过期时间未知时按默认存活时间写入Redis并通知其他节点")
+    void testRevokeWithDefaultTtl() {
+        TokenRevocationService service = service(true);
+        String digest = TokenDigest.of("jwt-token");
+
+        service.revoke("jwt-token", null);
+
+        ArgumentCaptor<Long> ttl = ArgumentCaptor.forClass(Long.class);
+        verify(valueOperations).set(eq(CacheKey.TOKEN_BLACKLIST + digest), anyString(), ttl.capture(),
+                eq(TimeUnit.MILLISECONDS));
+        assertTrue(ttl.getValue() > 0 && ttl.getValue() <= 60_000);
+        verify(redisTemplate).convertAndSend(eq(TokenRevocationService.REVOCATION_CHANNEL),
+                startsWith(digest + ":"));
+        assertTrue(service.isRevoked(digest));
+    }
+
+    @Test
+    @DisplayName("测试令牌撤销 - 布隆过滤器判定可能存在而本地未命中时由Redis黑名单确认")
+    void testRedisConfirmsBloomFilterHits() {
+        // 过滤器很小，撤销少量令牌后几乎所有位都被置位，任何摘要都判定为可能存在
+        TokenRevocationService service = service(true, 1, 0.5);
+        for (int i = 0; i < 50; i++) {
+            service.revoke("jwt-token-" + i, inMillis(60_000));
+        }
+        String digest = TokenDigest.of("unknown-token");
+        when(redisTemplate.hasKey(CacheKey.TOKEN_BLACKLIST + digest)).thenReturn(true, false);
+
+        assertTrue(service.isRevoked(digest));
+        assertFalse(service.isRevoked(digest));
+
+        when(redisTemplate.hasKey(anyString())).thenThrow(new IllegalStateException("redis down"));
+        assertFalse(service.isRevoked(digest));
+    }
+
+    @Test
+    @DisplayName("测试令牌撤销 - 接收其他节点的撤销通知")
+    void testOnMessage() {
+        TokenRevocationService service = service(true);
+        String digest = TokenDigest.of("jwt-token");
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        service.onMessage(new DefaultMessage(TokenRevocationService.REVOCATION_CHANNEL.getBytes(),
+                (digest + ":" + expiresAt).getBytes(StandardCharsets.UTF_8)), null);
+        service.onMessage(new DefaultMessage(TokenRevocationService.REVOCATION_CHANNEL.getBytes(),
+                "malformed:not-a-number".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertTrue(service.isRevoked(digest));
+        verify(verifiedTokenCache).evict(digest);
+        verify(valueOperations, never()).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    @DisplayName("测试令牌撤销 - 重建时去除已过期的记录")
+    void testRebuildDropsExpiredEntries() throws InterruptedException {
+        TokenRevocationService service = service(false);
+        String shortLived = TokenDigest.of("short-lived");
+        String longLived = TokenDigest.of("long-lived");
+        service.revoke("short-lived", inMillis(20));
+        service.revoke("long-lived", inMillis(60_000));
+
+        Thread.sleep(40);
+        service.rebuild();
+
+        assertFalse(service.isRevoked(shortLived));
+        assertTrue(service.isRevoked(longLived));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.domain.model.entity.PermissionEntity;
+import com.example.backend_scaffold.domain.model.enums.PermissionType;
+import com.example.backend_scaffold.domain.repository.PermissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UrlPermissionRouterTest {
+
+    private final List<PermissionEntity> permissions = new ArrayList<>();
+    private UrlPermissionRouter router;
+
+    @BeforeEach
+    void setUp() {
+        PermissionRepository permissionRepository = mock(PermissionRepository.class);
+        when(permissionRepository.findByType(PermissionType.API)).thenReturn(permissions);
+        router = new UrlPermissionRouter(permissionRepository);
+    }
+
+    private void route(String code, String method, String url) {
+        PermissionEntity permission = new PermissionEntity();
+        permission.setCode(code);
+        permission.setMethod(method);
+        permission.setUrl(url);
+        permission.setType(PermissionType.API);
+        permissions.add(permission);
+    }
+
+    @Test
+    @DisplayName("测试URL匹配 - 精确匹配优先于单段通配，单段通配优先于多段通配")
+    void testPrecedence() {
+        route("user:any", "GET", "/api/users/**");
+        route("user:read", "GET", "/api/users/{id}");
+        route("user:self", "GET", "/api/users/me");
+
+        assertEquals(List.of("user:self"), router.match("GET", "/api/users/me"));
+        assertEquals(List.of("user:read"), router.match("GET", "/api/users/42"));
+        assertEquals(List.of("user:any"), router.match("GET", "/api/users/42/roles"));
+        assertEquals(List.of("user:any"), router.match("GET", "/api/users"));
+    }
+
+    @Test
+    @DisplayName("测试URL匹配 - 精确匹配的分支失败时回溯到通配分支")
+    void testBacktracking() {
+        route("user:settings", "GET", "/api/users/me/settings");
+        route("user:roles", "GET", "/api/users/{id}/roles");
+
+        assertEquals(List.of("user:roles"), router.match("GET", "/api/users/me/roles"));
+        assertEquals(List.of("user:settings"), router.match("GET", "/api/users/me/settings"));
+        assertTrue(router.match("GET", "/api/users/me/unknown").isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试URL匹配 - 多段通配匹配零个或多个路径段并回溯")
+    void testMultiSegmentBacktracking() {
+        route("report:export", "GET", "/api/**/export");
+
+        assertEquals(List.of("report:export"), router.match("GET", "/api/export"));
+        assertEquals(List.of("report:export"), router.match("GET", "/api/a/b/export"));
+        assertEquals(List.of("report:export"), router.match("GET", "/api/export/export"));
+        assertTrue(router.match("GET", "/api/a/b").isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试URL匹配 - 没有对应方法时使用适用于所有方法的权限")
+    void testMethodFallback() {
+        route("role:read", "GET", "/api/roles");
+        route("role:manage", null, "/api/roles");
+        route("menu:manage", "*", "/api/menus");
+
+        assertEquals(List.of("role:read"), router.match("get", "/api/roles"));
+        assertEquals(List.of("role:manage"), router.match("POST", "/api/roles"));
+        assertEquals(List.of("menu:manage"), router.match("DELETE", "/api/menus"));
+        assertTrue(router.match("GET", "/api/permissions").isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试URL匹配 - 方法不匹配时回溯尝试其他分支")
+    void testMethodMismatchBacktracks() {
+        route("user:update", "PUT", "/api/users/me");
+        route("user:read", "GET", "/api/users/{id}");
+
+        assertEquals(List.of("user:read"), router.match("GET", "/api/users/me"));
+        assertEquals(List.of("user:update"), router.match("PUT", "/api/users/me"));
+    }
+
+    @Test
+    @DisplayName("测试URL匹配 - 路径段中的部分通配和带约束的变量只匹配符合模式的路径段")
+    void testPartialSegmentPatterns() {
+        route("file:read", "GET", "/api/files/{name}");
+        route("file:csv", "GET", "/api/files/*.csv");
+        route("file:report", "GET", "/api/files/report-*.csv");
+        route("order:read", "GET", "/api/orders/{id:\\d+}");
+        route("api:versioned", "GET", "/api/v{version}/status");
+
+        assertEquals(List.of("file:report"), router.match("GET", "/api/files/report-2024.csv"));
+        assertEquals(List.of("file:csv"), router.match("GET", "/api/files/users.csv"));
+        assertEquals(List.of("file:read"), router.match("GET", "/api/files/users.txt"));
+        assertEquals(List.of("order:read"), router.match("GET", "/api/orders/12"));
+        assertTrue(router.match("GET", "/api/orders/abc").isEmpty());
+        assertEquals(List.of("api:versioned"), router.match("GET", "/api/v2/status"));
+        assertTrue(router.match("GET", "/api/2/status").isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试URL匹配 - 忽略已禁用和没有URL的权限，重建后生效")
+    void testRebuild() {
+        route("user:read", "GET", "/api/users/{id}");
+        route("user:write", "PUT", null);
+        permissions.get(0).setIsEnabled(false);
+
+        assertTrue(router.match("GET", "/api/users/1").isEmpty());
+
+        permissions.get(0).setIsEnabled(true);
+        router.rebuild();
+        assertEquals(List.of("user:read"), router.match("GET", "/api/users/1"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.backend_scaffold.infrastructure.security;
+
+import com.example.backend_scaffold.domain.event.RoleChangedEvent;
+import com.example.backend_scaffold.infrastructure.cache.CacheDependencyTracker;
+import com.example.backend_scaffold.infrastructure.cache.CacheKey;
+import com.example.backend_scaffold.infrastructure.cache.CacheService;
+import com.example.backend_scaffold.infrastructure.cache.EntityKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserAuthorityCacheTest {
+
+    private RolePermissionMatrix rolePermissionMatrix;
+    private CacheDependencyTracker dependencyTracker;
+    private UserAuthorityCache userAuthorityCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CacheService cacheService = new CacheService(new ConcurrentMapCacheManager(), meterRegistry, Runnable::run, 0);
+        rolePermissionMatrix = mock(RolePermissionMatrix.class);
+        dependencyTracker = new CacheDependencyTracker(cacheService, meterRegistry, false,
+                mock(ObjectProvider.class), mock(ObjectProvider.class), 60_000);
+        userAuthorityCache = new UserAuthorityCache(cacheService, dependencyTracker, rolePermissionMatrix);
+    }
+
+    @Test
+    @DisplayName("测试依赖登记 - 已禁用的角色同样登记，重新启用时清除旧条目")
+    void testDisabledRoleRecordedAsDependency() {
+        BitSet assigned = new BitSet();
+        assigned.set(3);
+        when(rolePermissionMatrix.assignedRoles(7L)).thenReturn(assigned);
+        AtomicInteger loads = new AtomicInteger();
+
+        // 角色3已禁用，加载结果不含该角色
+        assertEquals(List.of(), userAuthorityCache.get(7L, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        }));
+        assertEquals(1, dependencyTracker.dependentCount(EntityKey.of(CacheKey.ROLE_ID, 3L)));
+
+        // 重新启用角色3后条目被清除，下次读取重新加载
+        dependencyTracker.onRoleChanged(new RoleChangedEvent(3L));
+        assertEquals(List.of("ROLE_AUDITOR"), userAuthorityCache.get(7L, () -> {
+            loads.incrementAndGet();
+            return List.of("ROLE_AUDITOR");
+        }));
+        assertEquals(2, loads.get());
+        verify(rolePermissionMatrix, never()).roles(7L);
+    }
+}
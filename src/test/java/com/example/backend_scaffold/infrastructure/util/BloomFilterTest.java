@@ -0,0 +1,57 @@
+package com.example.backend_scaffold.infrastructure.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @Test
+    @DisplayName("测试布隆过滤器 - 已添加的元素一定判定为可能存在")
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("token-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("token-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("测试布隆过滤器 - 误判率接近期望值")
+    void testFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("token-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // 期望约1000次，留出足够余量避免偶然波动
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("测试布隆过滤器 - 空过滤器判定任何元素都不存在")
+    void testEmptyFilter() {
+        BloomFilter filter = new BloomFilter(0, 0.001);
+
+        assertFalse(filter.mightContain("token"));
+        assertFalse(filter.mightContain(""));
+    }
+
+    @Test
+    @DisplayName("测试布隆过滤器 - 误判率超出范围时拒绝创建")
+    void testInvalidFalsePositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}